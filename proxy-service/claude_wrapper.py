@@ -7,7 +7,7 @@ import time
 from typing import Optional
 
 import anyio
-from claude_agent_sdk import query, ClaudeAgentOptions
+from claude_agent_sdk import query, ClaudeAgentOptions, ClaudeSDKClient
 from claude_agent_sdk import (
     AssistantMessage,
     TextBlock,
@@ -100,6 +100,49 @@ def format_tool_input(tool_name: str, tool_input: dict) -> str:
         return f"{tool_name} (input)"
 
 
+def _handle_message(message, task_id: str, logger: logging.Logger, start_time: float,
+                    output_parts: list, tool_calls: list) -> None:
+    """
+    处理 SDK 返回的单条消息：收集文本输出、记录工具调用和执行结果
+    """
+    # 记录收到的消息类型
+    message_type = type(message).__name__
+    logger.debug(f"[{task_id}] 收到消息: {message_type}")
+
+    # 处理不同类型的消息
+    if isinstance(message, AssistantMessage):
+        for block in message.content:
+            if isinstance(block, TextBlock):
+                # 文本输出
+                output_parts.append(block.text)
+                logger.debug(f"[{task_id}] 文本块: {len(block.text)} 字符")
+            elif isinstance(block, ToolUseBlock):
+                # 工具调用
+                tool_info = {
+                    "name": block.name,
+                    "input": block.input,  # 保存原始字典用于格式化
+                }
+                tool_calls.append(tool_info)
+                # 实时记录格式化的工具描述
+                tool_desc = format_tool_input(block.name, block.input)
+                logger.info(f"[{task_id}] 工具调用: {tool_desc}")
+
+    elif isinstance(message, ResultMessage):
+        # 最终结果消息
+        elapsed = time.time() - start_time
+        logger.info(f"[{task_id}] 执行完成")
+        logger.info(f"[{task_id}] 耗时: {elapsed:.1f}s")
+        logger.info(f"[{task_id}] 总轮数: {message.num_turns}")
+        if hasattr(message, 'total_cost_usd') and message.total_cost_usd:
+            logger.info(f"[{task_id}] 成本: ${message.total_cost_usd:.4f}")
+        if message.is_error:
+            logger.warning(f"[{task_id}] 标记为错误")
+
+    elif isinstance(message, ToolResultBlock):
+        # 工具执行结果
+        logger.debug(f"[{task_id}] 工具结果: {len(str(message.content))} 字符")
+
+
 async def query_claude(
     prompt: str,
     logger: logging.Logger,
@@ -156,42 +199,7 @@ async def query_claude(
         # 使用 anyio 的超时机制
         with anyio.fail_after(timeout):
             async for message in query(prompt=prompt, options=options):
-                # 记录收到的消息类型
-                message_type = type(message).__name__
-                logger.debug(f"[{task_id}] 收到消息: {message_type}")
-
-                # 处理不同类型的消息
-                if isinstance(message, AssistantMessage):
-                    for block in message.content:
-                        if isinstance(block, TextBlock):
-                            # 文本输出
-                            output_parts.append(block.text)
-                            logger.debug(f"[{task_id}] 文本块: {len(block.text)} 字符")
-                        elif isinstance(block, ToolUseBlock):
-                            # 工具调用
-                            tool_info = {
-                                "name": block.name,
-                                "input": block.input,  # 保存原始字典用于格式化
-                            }
-                            tool_calls.append(tool_info)
-                            # 实时记录格式化的工具描述
-                            tool_desc = format_tool_input(block.name, block.input)
-                            logger.info(f"[{task_id}] 工具调用: {tool_desc}")
-
-                elif isinstance(message, ResultMessage):
-                    # 最终结果消息
-                    elapsed = time.time() - start_time
-                    logger.info(f"[{task_id}] 执行完成")
-                    logger.info(f"[{task_id}] 耗时: {elapsed:.1f}s")
-                    logger.info(f"[{task_id}] 总轮数: {message.num_turns}")
-                    if hasattr(message, 'total_cost_usd') and message.total_cost_usd:
-                        logger.info(f"[{task_id}] 成本: ${message.total_cost_usd:.4f}")
-                    if message.is_error:
-                        logger.warning(f"[{task_id}] 标记为错误")
-
-                elif isinstance(message, ToolResultBlock):
-                    # 工具执行结果
-                    logger.debug(f"[{task_id}] 工具结果: {len(str(message.content))} 字符")
+                _handle_message(message, task_id, logger, start_time, output_parts, tool_calls)
 
         # 汇总日志
         if tool_calls:
@@ -235,3 +243,81 @@ async def query_claude(
         logger.error(f"[{task_id}] 未知错误: {type(e).__name__}: {e}, 耗时 {elapsed:.1f}s")
         logger.error("=" * 50)
         raise
+
+
+class ClaudeSession:
+    """
+    在同一个 Claude Code 会话中连续执行多个查询
+    批量分析时复用会话，省去每篇文章启动 CLI 进程的开销；共享的上下文（如产品信息）通过 system_prompt 只传一次
+
+    用法:
+        async with ClaudeSession(logger, system_prompt=...) as session:
+            text = await session.ask(prompt, timeout=600, task_name="政策分析")
+    """
+
+    def __init__(
+        self,
+        logger: logging.Logger,
+        system_prompt: Optional[str] = None,
+        allowed_tools: Optional[list[str]] = None,
+        working_dir: str = "/home/captain/projects/EagleEye2",
+        max_turns: int = 50,
+    ):
+        self.logger = logger
+        self.options = ClaudeAgentOptions(
+            system_prompt=system_prompt,
+            allowed_tools=allowed_tools or ["Read", "Write", "Bash", "Glob", "Grep"],
+            max_turns=max_turns,
+            cwd=working_dir,
+            permission_mode="bypassPermissions",  # 自动接受所有操作
+        )
+        self.client: Optional[ClaudeSDKClient] = None
+        self.query_count = 0
+
+    async def __aenter__(self) -> "ClaudeSession":
+        self.client = ClaudeSDKClient(options=self.options)
+        await self.client.connect()
+        self.logger.info("Claude 会话已建立")
+        return self
+
+    async def __aexit__(self, exc_type, exc, tb) -> None:
+        await self.close()
+
+    async def close(self) -> None:
+        if self.client is not None:
+            try:
+                await self.client.disconnect()
+            except Exception as e:
+                self.logger.warning(f"关闭 Claude 会话失败: {e}")
+            self.client = None
+            self.logger.info(f"Claude 会话已关闭，共执行 {self.query_count} 次查询")
+
+    async def ask(self, prompt: str, timeout: int = 600, task_name: str = "通用任务") -> str:
+        """
+        在当前会话中执行一次查询，返回文本输出
+
+        Raises:
+            TimeoutError: 超时（此后会话状态不确定，调用方应关闭会话后重建）
+        """
+        start_time = time.time()
+        self.query_count += 1
+        task_id = f"claude_session_{int(start_time)}_{self.query_count}"
+
+        self.logger.info(f"[{task_id}] 任务类型: {task_name}")
+        self.logger.info(f"[{task_id}] Prompt 长度: {len(prompt)} 字符")
+
+        output_parts = []
+        tool_calls = []
+        try:
+            with anyio.fail_after(timeout):
+                await self.client.query(prompt)
+                async for message in self.client.receive_response():
+                    _handle_message(message, task_id, self.logger, start_time, output_parts, tool_calls)
+        except TimeoutError as e:
+            elapsed = time.time() - start_time
+            self.logger.error(f"[{task_id}] 超时: 已耗时 {elapsed:.1f}s, 限制 {timeout}s")
+            raise TimeoutError(f"Claude SDK query timeout after {timeout}s") from e
+
+        full_output = "".join(output_parts)
+        self.logger.info(f"[{task_id}] 输出总长度: {len(full_output)} 字符，工具调用 {len(tool_calls)} 次")
+        return full_output
@@ -3,7 +3,7 @@ EagleEye2 代理服务
 路由请求到 MCP 服务器或 Claude Code CLI
 """
 from fastapi import FastAPI, HTTPException, Request
-from fastapi.responses import JSONResponse
+from fastapi.responses import JSONResponse, StreamingResponse
 from pydantic import BaseModel
 import asyncio
 import subprocess
@@ -13,11 +13,11 @@ import signal
 import logging
 import time
 from datetime import datetime
-from typing import Optional
+from typing import List, Optional
 from pathlib import Path
 
 # 导入 Claude Agent SDK 包装器
-from claude_wrapper import query_claude
+from claude_wrapper import query_claude, ClaudeSession
 
 app = FastAPI(title="EagleEye2 Proxy", version="1.0.0")
 
@@ -26,6 +26,8 @@ MCP_HTTP_URL = os.getenv("MCP_HTTP_URL", "http://localhost:3000/mcp")
 CRAWL_OUTPUT_DIR = os.getenv("CRAWL_OUTPUT_DIR", "/home/captain/projects/EagleEye2/crawl_files")
 CRAWL_TIMEOUT = int(os.getenv("CRAWL_TIMEOUT", "600"))  # 默认10分钟超时
 ANALYSIS_TIMEOUT = int(os.getenv("ANALYSIS_TIMEOUT", "600"))  # 默认10分钟超时
+# 批量分析时同一个 Claude 会话最多连续分析的文章数，超过后重建会话，避免对话历史无限增长
+BATCH_SESSION_MAX_ARTICLES = int(os.getenv("BATCH_SESSION_MAX_ARTICLES", "5"))
 
 # 日志目录
 LOG_DIR = Path("/home/captain/projects/EagleEye2/logs")
@@ -48,6 +50,45 @@ claude_logger.addHandler(claude_handler)
 proxy_logger.info("Proxy Service 启动（使用 Claude Agent SDK）")
 
 
+# 输出格式要求（单篇与批量分析共用）
+OUTPUT_RULES = """【输出格式要求 - 必须严格遵守】
+1. 只返回纯 JSON 对象，格式：{"key": "value"}
+2. 绝对不要使用任何 markdown 标记，包括：
+   - ❌ 不要用 ```json 或 ``` 包裹
+   - ❌ 不要用 **粗体** 或其他格式
+   - ❌ 不要添加任何解释文字
+3. 输出必须从 { 开始，以 } 结束
+4. 中文引号必须转义或使用英文引号"""
+
+POLICY_RESULT_FORMAT = """{
+  "policyType": "政策类型",
+  "importance": "重要程度（高|中|低）",
+  "relevance": "与产品的相关度（高|中|低）",
+  "areas": ["领域1", "领域2"],
+  "summary": "政策摘要",
+  "keyPoints": ["关键条款1", "关键条款2"],
+  "impactAnalysis": "影响分析",
+  "suggestions": [
+    {"suggestion": "建议内容", "reason": "原因"}
+  ]
+}"""
+
+COMPETITOR_RESULT_FORMAT = """{
+  "company": "竞品公司/机构名称",
+  "type": "动态类型（产品更新/营销活动/财报数据/APP更新/利率调整/合作动态/政策响应）",
+  "importance": "重要程度（高|中|低）",
+  "relevance": "与我方产品的相关度（高|中|低）",
+  "tags": ["标签1", "标签2"],
+  "summary": "动态摘要",
+  "keyPoints": ["关键要点1（必须是原文语句）", "关键要点2"],
+  "marketImpact": "市场影响分析",
+  "competitiveAnalysis": "竞争态势分析",
+  "ourSuggestions": [
+    {"suggestion": "建议内容", "reason": "原因"}
+  ]
+}"""
+
+
 class CrawlRequest(BaseModel):
     listUrl: str
     sourceName: str
@@ -66,6 +107,53 @@ class CompetitorAnalysisRequest(BaseModel):
     userProducts: Optional[str] = None  # 用户产品列表的 JSON 字符串（可选）
 
 
+class BatchArticle(BaseModel):
+    id: Optional[str] = None  # 调用方的文章标识（原样返回）
+    content: str  # 文章的 Markdown 内容
+
+
+class PolicyBatchRequest(BaseModel):
+    articles: List[BatchArticle]
+    products: Optional[str] = None  # 所有文章共用的产品列表 JSON 字符串（可选）
+
+
+class CompetitorBatchRequest(BaseModel):
+    articles: List[BatchArticle]
+    userProducts: Optional[str] = None  # 所有文章共用的产品列表 JSON 字符串（可选）
+
+
+def _extract_title(content: str) -> str:
+    """
+    提取文章标题（用于日志）
+    """
+    content_lines = content.strip().split('\n')
+    for line in content_lines[:5]:
+        line = line.strip()
+        if line.startswith('#') or (line and not line.startswith('**') and len(line) < 100):
+            # 移除 # 标记获取标题
+            title = line.lstrip('#').strip()
+            if title and len(title) > 2 and len(title) < 150:
+                return title
+    return "未知标题"
+
+
+def _parse_analysis_json(result_text: str) -> dict:
+    """
+    解析分析结果 JSON；直接解析失败时提取第一个 { 到最后一个 } 之间的部分
+
+    Raises:
+        ValueError: 无法解析为 JSON 对象
+    """
+    try:
+        return json.loads(result_text)
+    except json.JSONDecodeError:
+        start_idx = result_text.find("{")
+        end_idx = result_text.rfind("}") + 1
+        if start_idx >= 0 and end_idx > start_idx:
+            return json.loads(result_text[start_idx:end_idx])
+        raise ValueError(f"无法找到 JSON 结构: {result_text[:200]}")
+
+
 @app.get("/")
 async def root():
     return {"service": "EagleEye2 Proxy", "version": "1.0.0"}
@@ -110,16 +198,7 @@ async def analyze_policy(req: Request):
         claude_logger.info(f"有产品信息: {'是' if products else '否'}")
 
         # 提取文章标题用于日志
-        article_title = "未知标题"
-        content_lines = content.strip().split('\n')
-        for line in content_lines[:5]:
-            line = line.strip()
-            if line.startswith('#') or (line and not line.startswith('**') and len(line) < 100):
-                # 移除 # 标记获取标题
-                title = line.lstrip('#').strip()
-                if title and len(title) > 2 and len(title) < 150:
-                    article_title = title
-                    break
+        article_title = _extract_title(content)
         claude_logger.info(f"文章标题: {article_title[:80]}")
 
         # 构建产品上下文（如果有）
@@ -135,14 +214,7 @@ async def analyze_policy(req: Request):
         # 构建完整的 prompt（强化 JSON 格式要求）
         prompt = f"""请分析以下政策文章。
 
-【输出格式要求 - 必须严格遵守】
-1. 只返回纯 JSON 对象，格式：{{"key": "value"}}
-2. 绝对不要使用任何 markdown 标记，包括：
-   - ❌ 不要用 ```json 或 ``` 包裹
-   - ❌ 不要用 **粗体** 或其他格式
-   - ❌ 不要添加任何解释文字
-3. 输出必须从 {{ 开始，以 }} 结束
-4. 中文引号必须转义或使用英文引号
+{OUTPUT_RULES}
 
 {products_context}
 
@@ -150,18 +222,7 @@ async def analyze_policy(req: Request):
 {content}
 
 请直接返回 JSON（不要有任何额外内容）：
-{{
-  "policyType": "政策类型",
-  "importance": "重要程度（高|中|低）",
-  "relevance": "与产品的相关度（高|中|低）",
-  "areas": ["领域1", "领域2"],
-  "summary": "政策摘要",
-  "keyPoints": ["关键条款1", "关键条款2"],
-  "impactAnalysis": "影响分析",
-  "suggestions": [
-    {{"suggestion": "建议内容", "reason": "原因"}}
-  ]
-}}
+{POLICY_RESULT_FORMAT}
 """
 
         start_time = time.time()
@@ -233,16 +294,7 @@ async def analyze_competitor(req: Request):
         claude_logger.info(f"有产品信息: {'是' if user_products else '否'}")
 
         # 提取文章标题用于日志
-        article_title = "未知标题"
-        content_lines = content.strip().split('\n')
-        for line in content_lines[:5]:
-            line = line.strip()
-            if line.startswith('#') or (line and not line.startswith('**') and len(line) < 100):
-                # 移除 # 标记获取标题
-                title = line.lstrip('#').strip()
-                if title and len(title) > 2 and len(title) < 150:
-                    article_title = title
-                    break
+        article_title = _extract_title(content)
         claude_logger.info(f"文章标题: {article_title[:80]}")
 
         # 构建产品上下文（如果有）
@@ -258,14 +310,7 @@ async def analyze_competitor(req: Request):
         # 构建完整的 prompt（强化 JSON 格式要求）
         prompt = f"""请分析以下竞品文章。
 
-【输出格式要求 - 必须严格遵守】
-1. 只返回纯 JSON 对象，格式：{{"key": "value"}}
-2. 绝对不要使用任何 markdown 标记，包括：
-   - ❌ 不要用 ```json 或 ``` 包裹
-   - ❌ 不要用 **粗体** 或其他格式
-   - ❌ 不要添加任何解释文字
-3. 输出必须从 {{ 开始，以 }} 结束
-4. 中文引号必须转义或使用英文引号
+{OUTPUT_RULES}
 
 {products_context}
 
@@ -273,20 +318,7 @@ async def analyze_competitor(req: Request):
 {content}
 
 请直接返回 JSON（不要有任何额外内容）：
-{{
-  "company": "竞品公司/机构名称",
-  "type": "动态类型（产品更新/营销活动/财报数据/APP更新/利率调整/合作动态/政策响应）",
-  "importance": "重要程度（高|中|低）",
-  "relevance": "与我方产品的相关度（高|中|低）",
-  "tags": ["标签1", "标签2"],
-  "summary": "动态摘要",
-  "keyPoints": ["关键要点1（必须是原文语句）", "关键要点2"],
-  "marketImpact": "市场影响分析",
-  "competitiveAnalysis": "竞争态势分析",
-  "ourSuggestions": [
-    {{"suggestion": "建议内容", "reason": "原因"}}
-  ]
-}}
+{COMPETITOR_RESULT_FORMAT}
 """
 
         start_time = time.time()
@@ -349,6 +381,113 @@ async def analyze_competitor(req: Request):
 
 
 
+@app.post("/analyze-policy/batch")
+async def analyze_policy_batch(req: PolicyBatchRequest):
+    """
+    批量分析政策文章：所有文章共用一份产品上下文，在同一个 Claude 会话中逐篇分析，
+    每完成一篇输出一行 NDJSON：{"index": 0, "id": "...", "result": {...}} 或 {"index": 0, "id": "...", "error": "..."}
+    """
+    products_context = ""
+    if req.products:
+        products_context = f"""
+## 用户产品信息
+以下是用户的产品信息，请分析政策与这些产品的相关度：
+{req.products}
+"""
+    system_prompt = f"""你是政策分析助手。用户会逐篇发送政策文章，每篇文章都要独立分析，不要参考之前的文章。
+
+{OUTPUT_RULES}
+{products_context}
+每篇文章直接返回如下 JSON（不要有任何额外内容）：
+{POLICY_RESULT_FORMAT}
+"""
+    return _stream_batch_analysis("政策分析", req.articles, system_prompt, "政策文章内容")
+
+
+@app.post("/analyze-competitor/batch")
+async def analyze_competitor_batch(req: CompetitorBatchRequest):
+    """
+    批量分析竞品文章：所有文章共用一份产品上下文，在同一个 Claude 会话中逐篇分析，
+    每完成一篇输出一行 NDJSON：{"index": 0, "id": "...", "result": {...}} 或 {"index": 0, "id": "...", "error": "..."}
+    """
+    products_context = ""
+    if req.userProducts:
+        products_context = f"""
+## 用户产品信息
+以下是用户的产品信息，请分析竞品动态与我方产品的相关度：
+{req.userProducts}
+"""
+    system_prompt = f"""你是竞品分析助手。用户会逐篇发送竞品文章，每篇文章都要独立分析，不要参考之前的文章。
+
+{OUTPUT_RULES}
+{products_context}
+每篇文章直接返回如下 JSON（不要有任何额外内容）：
+{COMPETITOR_RESULT_FORMAT}
+"""
+    return _stream_batch_analysis("竞品分析", req.articles, system_prompt, "竞品文章内容")
+
+
+def _stream_batch_analysis(task_type: str, articles: List[BatchArticle], system_prompt: str,
+                           content_heading: str) -> StreamingResponse:
+    """
+    逐篇分析并以 NDJSON 流式返回结果；单篇失败只影响该篇。
+    会话超时或出错后重建，连续分析 BATCH_SESSION_MAX_ARTICLES 篇后也重建
+    """
+    proxy_logger.info(f"收到批量{task_type}请求: {len(articles)} 篇")
+
+    async def generate():
+        claude_logger.info("=" * 50)
+        claude_logger.info(f"开始批量{task_type}任务: {len(articles)} 篇")
+        batch_start = time.time()
+        session: Optional[ClaudeSession] = None
+        try:
+            for index, article in enumerate(articles):
+                line = {"index": index, "id": article.id}
+                article_title = _extract_title(article.content)
+                start_time = time.time()
+                try:
+                    if session is not None and session.query_count >= BATCH_SESSION_MAX_ARTICLES:
+                        await session.close()
+                        session = None
+                    if session is None:
+                        session = await ClaudeSession(
+                            logger=claude_logger,
+                            system_prompt=system_prompt,
+                            working_dir="/home/captain/projects/EagleEye2",
+                        ).__aenter__()
+
+                    prompt = f"""## {content_heading}
+{article.content}
+
+请直接返回 JSON（不要有任何额外内容）："""
+                    result_text = await session.ask(
+                        prompt,
+                        timeout=ANALYSIS_TIMEOUT,
+                        task_name=f"批量{task_type}: {article_title[:50]}",
+                    )
+                    line["result"] = _parse_analysis_json(result_text)
+                    claude_logger.info(f"批量{task_type} [{index + 1}/{len(articles)}] 完成，耗时: {time.time() - start_time:.1f}s")
+                except ValueError as e:
+                    claude_logger.error(f"批量{task_type} [{index + 1}/{len(articles)}] JSON 解析失败: {e}")
+                    line["error"] = f"JSON parse error: {e}"
+                except Exception as e:
+                    # 超时或会话异常后会话状态不确定，下一篇重建会话
+                    claude_logger.error(f"批量{task_type} [{index + 1}/{len(articles)}] 失败: {type(e).__name__}: {e}")
+                    line["error"] = (f"Analysis timeout after {ANALYSIS_TIMEOUT} seconds"
+                                     if isinstance(e, TimeoutError) else str(e))
+                    if session is not None:
+                        await session.close()
+                        session = None
+                yield json.dumps(line, ensure_ascii=False) + "\n"
+        finally:
+            if session is not None:
+                await session.close()
+            claude_logger.info(f"批量{task_type}结束，总耗时: {time.time() - batch_start:.1f}s")
+            claude_logger.info("=" * 50)
+
+    return StreamingResponse(generate(), media_type="application/x-ndjson")
+
+
 async def _crawl_with_skill(req: CrawlRequest):
     """使用 Claude Agent SDK + Skill（替代原来的 CLI subprocess 调用）"""
     from datetime import datetime
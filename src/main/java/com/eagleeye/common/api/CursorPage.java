@@ -0,0 +1,33 @@
+package com.eagleeye.common.api;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页数据封装类
+ * 按 (排序列, ID) 定位下一页，不使用 OFFSET，任意深度的翻页代价相同；总数默认不统计。
+ */
+@Data
+public class CursorPage<T> {
+    /**
+     * 每页数量
+     */
+    private Long pageSize;
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore;
+    /**
+     * 下一页游标（原样传回即可，没有下一页时为空）
+     */
+    private String nextCursor;
+    /**
+     * 总记录数（只在请求第一页且 withTotal=true 时统计，其余情况为空）
+     */
+    private Long total;
+    /**
+     * 分页数据
+     */
+    private List<T> list;
+}
@@ -0,0 +1,124 @@
+package com.eagleeye.common.api;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 键集分页游标：上一页最后一条记录的 (排序时间, ID)
+ * 列表按 排序时间 DESC, ID DESC 排序（MySQL 降序时 NULL 排在最后），下一页条件为
+ * 排序时间 < t OR (排序时间 = t AND ID < id) OR 排序时间 IS NULL；上一条的排序时间为 NULL 时为 排序时间 IS NULL AND ID < id。
+ * 对外编码为 URL 安全的 Base64 字符串，客户端不需要也不应该解析。
+ */
+public final class KeysetCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 每页最大条数
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final LocalDateTime sortValue;
+    private final Long id;
+
+    public KeysetCursor(LocalDateTime sortValue, Long id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    /**
+     * 解析游标
+     *
+     * @param token 游标字符串，为空表示第一页
+     * @return 游标；第一页返回 null
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8)
+                    .split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            LocalDateTime sortValue = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new KeysetCursor(sortValue, Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException 是 IllegalArgumentException 的子类
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + (sortValue != null ? sortValue.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 限定查询条件为游标之后的记录
+     */
+    public <T> void applyTo(LambdaQueryWrapper<T> wrapper, SFunction<T, LocalDateTime> sortColumn, SFunction<T, Long> idColumn) {
+        if (sortValue == null) {
+            wrapper.and(w -> w.isNull(sortColumn).lt(idColumn, id));
+        } else {
+            wrapper.and(w -> w.lt(sortColumn, sortValue)
+                    .or(o -> o.eq(sortColumn, sortValue).lt(idColumn, id))
+                    .or()
+                    .isNull(sortColumn));
+        }
+    }
+
+    /**
+     * 按游标分页的排序和条数（多取一条用于判断是否还有下一页）
+     */
+    public static <T> void orderAndLimit(LambdaQueryWrapper<T> wrapper, SFunction<T, LocalDateTime> sortColumn,
+                                         SFunction<T, Long> idColumn, int pageSize) {
+        wrapper.orderByDesc(sortColumn).orderByDesc(idColumn).last("LIMIT " + (pageSize + 1));
+    }
+
+    /**
+     * 每页条数限定在 1 ~ MAX_PAGE_SIZE
+     */
+    public static int normalizePageSize(Integer pageSize) {
+        return pageSize == null || pageSize <= 0 ? 10 : Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 由多取一条的查询结果组装游标分页（截去多取的一条，用本页最后一条生成下一页游标）
+     *
+     * @param rows 查询结果（最多 pageSize + 1 条）
+     * @param pageSize 每页条数
+     * @param sortValueOf 取记录的排序时间
+     * @param idOf 取记录的ID
+     * @return 本页记录已截断的游标分页，list 需由调用方转换后设置
+     */
+    public static <E, V> CursorPage<V> toPage(List<E> rows, int pageSize,
+                                              Function<E, LocalDateTime> sortValueOf,
+                                              Function<E, Long> idOf) {
+        CursorPage<V> page = new CursorPage<>();
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.subList(pageSize, rows.size()).clear();
+        }
+        page.setPageSize((long) pageSize);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            E last = rows.get(rows.size() - 1);
+            page.setNextCursor(new KeysetCursor(sortValueOf.apply(last), idOf.apply(last)).encode());
+        }
+        return page;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eagleeye.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -16,14 +17,30 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
 
+    /**
+     * 批次分析线程池
+     * 每个任务占用一个线程读取批次清单并分发文章，实际分析在政策 / 竞品分析线程池中执行
+     */
+    @Bean("batchAnalysisExecutor")
+    public Executor batchAnalysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("batch-analysis-");
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * 政策分析专用线程池
+     * 核心线程数不低于批次内文章分析并发度，避免并行分析时任务堆积在队列中
      */
     @Bean("policyAnalysisExecutor")
-    public Executor policyAnalysisExecutor() {
+    public Executor policyAnalysisExecutor(@Value("${eagleeye.analysis.policy.concurrency:4}") int concurrency) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
+        executor.setCorePoolSize(Math.max(2, concurrency));
+        executor.setMaxPoolSize(Math.max(5, concurrency));
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("policy-analysis-");
         executor.initialize();
@@ -32,12 +49,13 @@ public class AsyncConfig {
 
     /**
      * 竞品分析专用线程池
+     * 核心线程数不低于批次内文章分析并发度，避免并行分析时任务堆积在队列中
      */
     @Bean("competitorAnalysisExecutor")
-    public Executor competitorAnalysisExecutor() {
+    public Executor competitorAnalysisExecutor(@Value("${eagleeye.analysis.competitor.concurrency:4}") int concurrency) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
+        executor.setCorePoolSize(Math.max(2, concurrency));
+        executor.setMaxPoolSize(Math.max(5, concurrency));
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("competitor-analysis-");
         executor.initialize();
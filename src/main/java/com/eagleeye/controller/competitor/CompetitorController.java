@@ -2,6 +2,7 @@ package com.eagleeye.controller.competitor;
 
 import com.eagleeye.common.api.CommonPage;
 import com.eagleeye.common.api.CommonResult;
+import com.eagleeye.common.api.CursorPage;
 import com.eagleeye.model.dto.CompetitorQueryDTO;
 import com.eagleeye.model.vo.CompetitorDetailVO;
 import com.eagleeye.model.vo.CompetitorVO;
@@ -13,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * 竞品动态控制器
  */
@@ -31,6 +34,28 @@ public class CompetitorController {
         return CommonResult.success(result);
     }
     
+    @Operation(summary = "竞品动态列表（游标分页）", description = "按抓取时间倒序的游标分页，筛选参数与竞品动态列表相同；cursor 传上一页返回的 nextCursor，withTotal=true 时第一页返回总数")
+    @GetMapping("/scroll")
+    public CommonResult<CursorPage<CompetitorVO>> scrollCompetitors(@Validated CompetitorQueryDTO queryDTO) {
+        try {
+            return CommonResult.success(competitorService.scrollCompetitors(queryDTO));
+        } catch (IllegalArgumentException e) {
+            return CommonResult.failed(e.getMessage());
+        }
+    }
+    
+    @Operation(summary = "竞品动态计数", description = "统计符合筛选条件的竞品动态数，筛选参数与竞品动态列表相同")
+    @GetMapping("/count")
+    public CommonResult<Long> countCompetitors(@Validated CompetitorQueryDTO queryDTO) {
+        return CommonResult.success(competitorService.count(queryDTO));
+    }
+    
+    @Operation(summary = "竞品标签分面", description = "统计符合筛选条件的竞品动态中每个标签的动态数，筛选参数与竞品动态列表相同（标签筛选不生效）")
+    @GetMapping("/facets/tags")
+    public CommonResult<Map<String, Long>> countCompetitorTags(@Validated CompetitorQueryDTO queryDTO) {
+        return CommonResult.success(competitorService.countTags(queryDTO));
+    }
+    
     @Operation(summary = "竞品详情", description = "获取竞品详细信息，包含原文和分析内容")
     @GetMapping("/{id}")
     public CommonResult<CompetitorDetailVO> getCompetitorDetail(
@@ -6,6 +6,7 @@ import com.eagleeye.common.api.CommonResult;
 import com.eagleeye.model.dto.CrawlerConfigCreateDTO;
 import com.eagleeye.model.dto.CrawlerConfigQueryDTO;
 import com.eagleeye.model.dto.CrawlerConfigUpdateDTO;
+import com.eagleeye.model.vo.CrawlExecutorStatusVO;
 import com.eagleeye.model.vo.CrawlerConfigDetailVO;
 import com.eagleeye.model.vo.CrawlerConfigVO;
 import com.eagleeye.service.crawler.CrawlerConfigAdminService;
@@ -52,6 +53,12 @@ public class CrawlerConfigAdminController {
     }
 
 
+    @ApiOperation("查看爬虫任务执行器状态（运行中与排队中的任务）")
+    @GetMapping("/executor/jobs")
+    public CommonResult<CrawlExecutorStatusVO> getExecutorStatus() {
+        return CommonResult.success(crawlerConfigAdminService.getExecutorStatus());
+    }
+
     @ApiOperation("获取爬虫配置详情")
     @GetMapping("/{configId}")
     public CommonResult<CrawlerConfigDetailVO> getConfigDetail(
@@ -3,11 +3,14 @@ package com.eagleeye.controller.crawler;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.eagleeye.common.api.CommonPage;
 import com.eagleeye.common.api.CommonResult;
+import com.eagleeye.common.api.CursorPage;
 import com.eagleeye.model.dto.TaskLogQueryDTO;
+import com.eagleeye.model.vo.AnalysisCacheStatsVO;
 import com.eagleeye.model.vo.CrawlerTaskLogVO;
+import com.eagleeye.service.analysis.AnalysisCheckpointService;
+import com.eagleeye.service.analysis.AnalysisResultCache;
+import com.eagleeye.service.analysis.BatchAnalysisService;
 import com.eagleeye.service.crawler.CrawlerTaskLogService;
-import com.eagleeye.service.policy.PolicyAnalysisService;
-import com.eagleeye.service.competitor.CompetitorAnalysisService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -40,10 +44,10 @@ public class CrawlerTaskLogController {
     private CrawlerTaskLogService crawlerTaskLogService;
 
     @Resource
-    private PolicyAnalysisService policyAnalysisService;
+    private BatchAnalysisService batchAnalysisService;
 
     @Resource
-    private CompetitorAnalysisService competitorAnalysisService;
+    private AnalysisResultCache analysisResultCache;
 
     @ApiOperation("分页查询爬虫任务日志")
     @GetMapping
@@ -88,6 +92,36 @@ public class CrawlerTaskLogController {
         }
     }
 
+    @ApiOperation("游标分页查询爬虫任务日志（按结束时间倒序）")
+    @GetMapping("/scroll")
+    public CommonResult<CursorPage<CrawlerTaskLogVO>> scrollTaskLogs(
+            @ApiParam("任务执行状态") @RequestParam(required = false) String status,
+            @ApiParam("配置ID") @RequestParam(required = false) Long configId,
+            @ApiParam("开始时间") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+            @ApiParam("结束时间") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+            @ApiParam("上一页返回的 nextCursor，为空时查询第一页") @RequestParam(required = false) String cursor,
+            @ApiParam("每页记录数") @RequestParam(defaultValue = "10") Integer pageSize,
+            @ApiParam("第一页是否统计总数") @RequestParam(defaultValue = "false") Boolean withTotal) {
+
+        try {
+            TaskLogQueryDTO queryDTO = new TaskLogQueryDTO();
+            queryDTO.setStatus(status);
+            queryDTO.setConfigId(configId);
+            queryDTO.setStartTime(startTime);
+            queryDTO.setEndTime(endTime);
+            queryDTO.setCursor(cursor);
+            queryDTO.setPageSize(pageSize);
+            queryDTO.setWithTotal(withTotal);
+
+            return CommonResult.success(crawlerTaskLogService.scrollTaskLogs(queryDTO));
+        } catch (IllegalArgumentException e) {
+            return CommonResult.failed(e.getMessage());
+        } catch (Exception e) {
+            log.error("游标分页查询爬虫任务日志失败", e);
+            return CommonResult.failed("获取爬虫任务日志列表失败: " + e.getMessage());
+        }
+    }
+
     @ApiOperation("根据任务ID查询任务状态")
     @GetMapping("/{taskId}/status")
     public CommonResult<CrawlerTaskLogVO> getTaskStatus(
@@ -142,7 +176,8 @@ public class CrawlerTaskLogController {
             Long userId = getCurrentUserId();
 
             // 异步触发分析
-            policyAnalysisService.analyzePoliciesAsync(taskLog.getLogId(), userId);
+            batchAnalysisService.submit(taskLog.getLogId(), userId, BatchAnalysisService.Mode.ANALYZE,
+                    Collections.singleton(AnalysisCheckpointService.CATEGORY_POLICY), false);
 
             log.info("政策分析任务已触发: taskId={}, userId={}", taskId, userId);
             return CommonResult.success("分析任务已启动");
@@ -184,7 +219,8 @@ public class CrawlerTaskLogController {
             Long userId = getCurrentUserId();
 
             // 异步触发竞品分析
-            competitorAnalysisService.analyzeCompetitorsAsync(taskLog.getLogId(), userId);
+            batchAnalysisService.submit(taskLog.getLogId(), userId, BatchAnalysisService.Mode.ANALYZE,
+                    Collections.singleton(AnalysisCheckpointService.CATEGORY_COMPETITOR), false);
 
             log.info("竞品分析任务已触发: taskId={}, userId={}", taskId, userId);
             return CommonResult.success("竞品分析任务已启动");
@@ -225,9 +261,9 @@ public class CrawlerTaskLogController {
             // 获取当前用户ID
             Long userId = getCurrentUserId();
 
-            // 异步触发智能分析（同时调用政策和竞品分析）
-            policyAnalysisService.analyzePoliciesAsync(taskLog.getLogId(), userId);
-            competitorAnalysisService.analyzeCompetitorsAsync(taskLog.getLogId(), userId);
+            // 异步触发智能分析（读取一次批次清单，政策和竞品文章分发到各自的分析管道）
+            batchAnalysisService.submit(taskLog.getLogId(), userId, BatchAnalysisService.Mode.ANALYZE,
+                    BatchAnalysisService.ALL_CATEGORIES, false);
 
             log.info("智能分析任务已触发: taskId={}, userId={}", taskId, userId);
             return CommonResult.success("智能分析任务已启动");
@@ -241,10 +277,11 @@ public class CrawlerTaskLogController {
     @ApiOperation("再分析 - 删除旧记录后重新分析")
     @PostMapping("/{taskId}/re-analyze")
     public CommonResult<String> reAnalyzeTask(
-            @ApiParam("任务ID") @PathVariable String taskId) {
+            @ApiParam("任务ID") @PathVariable String taskId,
+            @ApiParam("是否跳过分析结果缓存，强制重新调用 AI 分析") @RequestParam(defaultValue = "false") boolean force) {
 
         try {
-            log.info("接收到再分析请求: taskId={}", taskId);
+            log.info("接收到再分析请求: taskId={}, force={}", taskId, force);
 
             // 通过 taskId 查找 logId
             CrawlerTaskLogVO taskLog = crawlerTaskLogService.getByTaskId(taskId);
@@ -269,8 +306,8 @@ public class CrawlerTaskLogController {
             Long userId = getCurrentUserId();
 
             // 异步触发再分析（删除旧记录后重新分析）
-            policyAnalysisService.reAnalyzePoliciesAsync(taskLog.getLogId(), userId);
-            competitorAnalysisService.reAnalyzeCompetitorsAsync(taskLog.getLogId(), userId);
+            batchAnalysisService.submit(taskLog.getLogId(), userId, BatchAnalysisService.Mode.RE_ANALYZE,
+                    BatchAnalysisService.ALL_CATEGORIES, force);
 
             log.info("再分析任务已触发: taskId={}, userId={}", taskId, userId);
             return CommonResult.success("再分析任务已启动（将删除旧记录后重新分析）");
@@ -281,6 +318,55 @@ public class CrawlerTaskLogController {
         }
     }
 
+    @ApiOperation("续跑分析 - 只分析中断或失败的批次中未完成的文章")
+    @PostMapping("/{taskId}/resume-analysis")
+    public CommonResult<String> resumeAnalysis(
+            @ApiParam("任务ID") @PathVariable String taskId) {
+
+        try {
+            log.info("接收到续跑分析请求: taskId={}", taskId);
+
+            // 通过 taskId 查找 logId
+            CrawlerTaskLogVO taskLog = crawlerTaskLogService.getByTaskId(taskId);
+            if (taskLog == null) {
+                log.warn("任务不存在: taskId={}", taskId);
+                return CommonResult.failed("任务不存在: taskId=" + taskId);
+            }
+
+            // 检查任务状态，只有成功的任务才能分析
+            if (!"success".equals(taskLog.getStatus())) {
+                log.warn("任务状态不是成功，无法分析: taskId={}, status={}", taskId, taskLog.getStatus());
+                return CommonResult.failed("任务状态不是成功，无法分析: status=" + taskLog.getStatus());
+            }
+
+            // analyzing 状态可能是进程中断后的残留，只有确实仍在执行时才拒绝
+            if (batchAnalysisService.isRunning(taskLog.getLogId())) {
+                log.warn("任务正在分析中: taskId={}", taskId);
+                return CommonResult.failed("任务正在分析中");
+            }
+
+            // 获取当前用户ID
+            Long userId = getCurrentUserId();
+
+            // 异步续跑（跳过断点中已完成的文章）
+            batchAnalysisService.submit(taskLog.getLogId(), userId, BatchAnalysisService.Mode.RESUME,
+                    BatchAnalysisService.ALL_CATEGORIES, false);
+
+            log.info("续跑分析任务已触发: taskId={}, userId={}", taskId, userId);
+            return CommonResult.success("续跑分析任务已启动（已完成的文章将跳过）");
+
+        } catch (Exception e) {
+            log.error("触发续跑分析失败: taskId={}", taskId, e);
+            return CommonResult.failed("触发续跑分析失败: " + e.getMessage());
+        }
+    }
+
+    @ApiOperation("获取 AI 分析结果缓存统计")
+    @GetMapping("/analysis-cache/stats")
+    public CommonResult<AnalysisCacheStatsVO> getAnalysisCacheStats() {
+        return CommonResult.success(analysisResultCache.getStats());
+    }
+
     @ApiOperation("基于任务重新爬取（更新原任务）")
     @PostMapping("/{taskId}/re-crawl")
     public CommonResult<Map<String, String>> reCrawl(
@@ -1,10 +1,13 @@
 package com.eagleeye.controller.dashboard;
 
 import com.eagleeye.common.api.CommonResult;
+import com.eagleeye.model.vo.DashboardCacheStatsVO;
 import com.eagleeye.model.vo.dashboard.DashboardStatsVO;
 import com.eagleeye.model.vo.dashboard.PolicySummaryVO;
 import com.eagleeye.model.vo.dashboard.CompetitorSummaryVO;
 import com.eagleeye.model.vo.dashboard.RequirementSummaryVO;
+import com.eagleeye.service.dashboard.DashboardRollupService;
+import com.eagleeye.service.dashboard.DashboardResponseCache;
 import com.eagleeye.service.dashboard.DashboardService;
 
 import io.swagger.annotations.Api;
@@ -13,6 +16,8 @@ import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * 仪表盘控制器
  */
@@ -24,13 +29,20 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    @Autowired
+    private DashboardResponseCache dashboardResponseCache;
+
     /**
      * 获取仪表盘统计数据
      */
     @ApiOperation("获取仪表盘统计数据")
     @GetMapping("/stats")
     public CommonResult<DashboardStatsVO> getDashboardStats() {
-        DashboardStatsVO statsVO = dashboardService.getDashboardStats();
+        DashboardStatsVO statsVO = dashboardResponseCache.get(DashboardResponseCache.REGION_STATS, "all",
+                DashboardStatsVO.class, dashboardService::getDashboardStats);
         return CommonResult.success(statsVO);
     }
 
@@ -41,7 +53,8 @@ public class DashboardController {
     @GetMapping("/policy-summary")
     public CommonResult<PolicySummaryVO> getPolicySummary(
             @ApiParam(value = "限制条数", defaultValue = "5") @RequestParam(value = "limit", required = false) Integer limit) {
-        PolicySummaryVO summaryVO = dashboardService.getPolicySummary(limit);
+        PolicySummaryVO summaryVO = dashboardResponseCache.get(DashboardResponseCache.REGION_POLICY_SUMMARY, String.valueOf(limit),
+                PolicySummaryVO.class, () -> dashboardService.getPolicySummary(limit));
         return CommonResult.success(summaryVO);
     }
 
@@ -52,7 +65,8 @@ public class DashboardController {
     @GetMapping("/competitor-summary")
     public CommonResult<CompetitorSummaryVO> getCompetitorSummary(
             @ApiParam(value = "限制条数", defaultValue = "5") @RequestParam(value = "limit", required = false) Integer limit) {
-        CompetitorSummaryVO summaryVO = dashboardService.getCompetitorSummary(limit);
+        CompetitorSummaryVO summaryVO = dashboardResponseCache.get(DashboardResponseCache.REGION_COMPETITOR_SUMMARY, String.valueOf(limit),
+                CompetitorSummaryVO.class, () -> dashboardService.getCompetitorSummary(limit));
         return CommonResult.success(summaryVO);
     }
 
@@ -63,7 +77,26 @@ public class DashboardController {
     @GetMapping("/requirement-summary")
     public CommonResult<RequirementSummaryVO> getRequirementSummary(
             @ApiParam(value = "限制条数", defaultValue = "5") @RequestParam(value = "limit", required = false) Integer limit) {
-        RequirementSummaryVO summaryVO = dashboardService.getRequirementSummary(limit);
+        RequirementSummaryVO summaryVO = dashboardResponseCache.get(DashboardResponseCache.REGION_REQUIREMENT_SUMMARY, String.valueOf(limit),
+                RequirementSummaryVO.class, () -> dashboardService.getRequirementSummary(limit));
         return CommonResult.success(summaryVO);
     }
-} 
\ No newline at end of file
+
+    /**
+     * 全量重建仪表盘汇总表（汇总数据出现偏差时手动修正）
+     */
+    @ApiOperation("重建仪表盘汇总数据")
+    @PostMapping("/rollup/rebuild")
+    public CommonResult<Map<String, Integer>> rebuildRollup() {
+        return CommonResult.success(dashboardRollupService.rebuild());
+    }
+
+    /**
+     * 获取仪表盘响应缓存统计（命中率、加载耗时）
+     */
+    @ApiOperation("获取仪表盘缓存统计")
+    @GetMapping("/cache/stats")
+    public CommonResult<DashboardCacheStatsVO> getCacheStats() {
+        return CommonResult.success(dashboardResponseCache.getStats());
+    }
+}
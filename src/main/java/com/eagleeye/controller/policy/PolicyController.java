@@ -2,6 +2,7 @@ package com.eagleeye.controller.policy;
 
 import com.eagleeye.common.api.CommonPage;
 import com.eagleeye.common.api.CommonResult;
+import com.eagleeye.common.api.CursorPage;
 import com.eagleeye.model.dto.PolicyQueryDTO;
 import com.eagleeye.model.vo.PolicyDetailVO;
 import com.eagleeye.model.vo.PolicyVO;
@@ -13,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * 政策监控控制器
  */
@@ -31,6 +34,28 @@ public class PolicyController {
         return CommonResult.success(result);
     }
     
+    @Operation(summary = "政策列表（游标分页）", description = "按发布时间倒序的游标分页，筛选参数与政策列表相同；cursor 传上一页返回的 nextCursor，withTotal=true 时第一页返回总数")
+    @GetMapping("/scroll")
+    public CommonResult<CursorPage<PolicyVO>> scrollPolicies(@Validated PolicyQueryDTO queryDTO) {
+        try {
+            return CommonResult.success(policyService.scrollPolicies(queryDTO));
+        } catch (IllegalArgumentException e) {
+            return CommonResult.failed(e.getMessage());
+        }
+    }
+    
+    @Operation(summary = "政策计数", description = "统计符合筛选条件的政策数，筛选参数与政策列表相同")
+    @GetMapping("/count")
+    public CommonResult<Long> countPolicies(@Validated PolicyQueryDTO queryDTO) {
+        return CommonResult.success(policyService.count(queryDTO));
+    }
+    
+    @Operation(summary = "政策领域分面", description = "统计符合筛选条件的政策中每个相关领域的政策数，筛选参数与政策列表相同（领域筛选不生效）")
+    @GetMapping("/facets/areas")
+    public CommonResult<Map<String, Long>> countPolicyAreas(@Validated PolicyQueryDTO queryDTO) {
+        return CommonResult.success(policyService.countAreas(queryDTO));
+    }
+    
     @Operation(summary = "政策详情", description = "获取政策详细信息，包含原文和分析内容")
     @GetMapping("/{id}")
     public CommonResult<PolicyDetailVO> getPolicyDetail(
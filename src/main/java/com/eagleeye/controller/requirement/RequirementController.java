@@ -60,6 +60,21 @@ public class RequirementController {
         return CommonResult.success(CommonPage.restPage(page));
     }
 
+    @ApiOperation("统计需求数（筛选条件与需求列表相同）")
+    @GetMapping("/count")
+    public CommonResult<Long> countRequirements(
+            @ApiParam("查询关键词") @RequestParam(value = "keyword", required = false) String keyword,
+            @ApiParam("状态筛选") @RequestParam(value = "status", required = false) String status,
+            @ApiParam("优先级筛选") @RequestParam(value = "priority", required = false) String priority,
+            @ApiParam("来源类型筛选") @RequestParam(value = "sourceType", required = false) String sourceType) {
+        RequirementQueryDTO queryDTO = new RequirementQueryDTO();
+        queryDTO.setKeyword(keyword);
+        queryDTO.setStatus(status);
+        queryDTO.setPriority(priority);
+        queryDTO.setSourceType(sourceType);
+        return CommonResult.success(requirementService.count(queryDTO));
+    }
+
     @ApiOperation("获取需求详情")
     @GetMapping("/{id}")
     public CommonResult<RequirementDetailVO> getRequirementDetail(
@@ -0,0 +1,66 @@
+package com.eagleeye.controller.search;
+
+import com.eagleeye.common.api.CommonResult;
+import com.eagleeye.model.vo.SearchResultVO;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.eagleeye.service.search.SearchService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 全文检索控制器
+ */
+@RestController
+@Api(tags = "全文检索")
+@RequestMapping("/v1/search")
+public class SearchController {
+
+    @Autowired
+    private ContentSearchIndex contentSearchIndex;
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * 统一检索：政策、竞品动态、需求按相关度合并排序，返回各类型命中数和高亮摘要
+     */
+    @ApiOperation("统一检索")
+    @GetMapping
+    public CommonResult<SearchResultVO> search(
+            @ApiParam("关键词（至少两个字符）") @RequestParam String keyword,
+            @ApiParam("数据类型：policy / competitor / requirement，为空时检索全部") @RequestParam(required = false) List<String> types,
+            @ApiParam("返回条数，默认 20，最大 100") @RequestParam(required = false) Integer limit) {
+        if (!ContentSearchIndex.isSearchable(keyword)) {
+            return CommonResult.failed("关键词至少需要两个字符");
+        }
+        if (types != null && !ContentSearchIndex.TYPES.containsAll(types)) {
+            return CommonResult.failed("不支持的数据类型: " + types);
+        }
+        SearchResultVO result = searchService.search(keyword, types, limit);
+        if (result == null) {
+            return CommonResult.failed("全文索引暂不可用，请稍后重试");
+        }
+        return CommonResult.success(result);
+    }
+
+    /**
+     * 按数据库重建全文索引（索引与数据出现偏差时手动修正）；重建在后台执行，完成前关键词查询回退到 LIKE
+     */
+    @ApiOperation("重建全文索引")
+    @PostMapping("/index/rebuild")
+    public CommonResult<Void> rebuildIndex() {
+        if (!contentSearchIndex.rebuildAsync()) {
+            return CommonResult.failed("全文索引不可用或正在重建");
+        }
+        return CommonResult.success(null, "全文索引重建已开始");
+    }
+}
@@ -0,0 +1,39 @@
+package com.eagleeye.model.dto;
+
+import lombok.Data;
+
+/**
+ * 批次清单（metadata.json）中的一篇文章
+ *
+ * @author eagleeye
+ */
+@Data
+public class BatchArticle {
+
+    /**
+     * 文章分类 (policy|competitor)
+     */
+    private final String category;
+
+    /**
+     * Markdown 文件绝对路径
+     */
+    private final String filePath;
+
+    /**
+     * 文章原始 URL（可能为空）
+     */
+    private final String url;
+
+    /**
+     * 批次级别的来源
+     */
+    private final String source;
+
+    /**
+     * 断点中的文章标识：优先使用 URL，没有 URL 时使用文件路径
+     */
+    public String checkpointKey() {
+        return url != null && !url.isEmpty() ? url : filePath;
+    }
+}
@@ -29,6 +29,9 @@ public class CrawlerConfigCreateDTO {
     @ApiModelProperty(value = "触发计划 (Cron 表达式)", example = "0 0 * * * ?")
     private String triggerSchedule;
 
+    @ApiModelProperty(value = "执行优先级 (数值越大越先执行)", example = "0")
+    private Integer priority = 0; // Default value
+
     @ApiModelProperty(value = "提取策略类型 (\'css\', \'llm\') - 仅传统服务需要", example = "css")
     private String extractionStrategyType;
 
@@ -58,4 +58,14 @@ public class PolicyQueryDTO {
      * 每页记录数
      */
     private Integer pageSize = 10;
+
+    /**
+     * 游标分页：上一页返回的 nextCursor，为空时查询第一页
+     */
+    private String cursor;
+
+    /**
+     * 游标分页：第一页是否统计总数
+     */
+    private Boolean withTotal = false;
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.eagleeye.model.dto;
+
+import lombok.Data;
+
+/**
+ * 分组统计结果（一个分组值及其记录数）
+ *
+ * @author eagleeye
+ */
+@Data
+public class StatCount {
+
+    /**
+     * 分组值（字段值或 yyyy-MM-dd 日期），字段为空时为 null
+     */
+    private String name;
+
+    /**
+     * 记录数
+     */
+    private Long count;
+}
@@ -0,0 +1,39 @@
+package com.eagleeye.model.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 仪表盘汇总计数的一次增减
+ *
+ * @author eagleeye
+ */
+@Data
+public class StatDelta {
+
+    /**
+     * 实体 (policy|competitor|requirement)
+     */
+    private final String entity;
+
+    /**
+     * 维度
+     */
+    private final String dimension;
+
+    /**
+     * 维度值（NULL 记为空串）
+     */
+    private final String dimValue;
+
+    /**
+     * 统计日期（NULL 记为 1000-01-01）
+     */
+    private final LocalDate statDate;
+
+    /**
+     * 增减数
+     */
+    private final int delta;
+}
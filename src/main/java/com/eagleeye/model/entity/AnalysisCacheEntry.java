@@ -0,0 +1,53 @@
+package com.eagleeye.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 分析结果缓存实体类
+ * 以内容哈希为键保存 proxy-service 返回的分析结果
+ */
+@Data
+@TableName("analysis_result_cache")
+public class AnalysisCacheEntry {
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 缓存键（分析器 + 分析器版本 + Markdown 内容 + 产品上下文的 SHA-256）
+     */
+    private String cacheKey;
+
+    /**
+     * 分析器：policy-政策，competitor-竞品
+     */
+    private String analyzer;
+
+    /**
+     * 分析器版本
+     */
+    private String analyzerVersion;
+
+    /**
+     * 分析结果 JSON
+     */
+    private String resultJson;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
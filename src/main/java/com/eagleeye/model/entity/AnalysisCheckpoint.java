@@ -0,0 +1,58 @@
+package com.eagleeye.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批次分析断点实体类
+ * 记录某个任务中每篇文章的分析状态，用于中断后续跑
+ */
+@Data
+@TableName("analysis_checkpoint")
+public class AnalysisCheckpoint {
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 爬虫任务日志ID
+     */
+    private Long taskLogId;
+
+    /**
+     * 文章分类：policy-政策，competitor-竞品
+     */
+    private String category;
+
+    /**
+     * 文章标识（文章 URL，无 URL 时为文件路径）
+     */
+    private String articleKey;
+
+    /**
+     * 处理状态：completed-已完成，failed-失败
+     */
+    private String status;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
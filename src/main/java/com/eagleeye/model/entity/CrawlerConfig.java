@@ -55,6 +55,11 @@ public class CrawlerConfig implements Serializable {
      */
     private String triggerSchedule;
 
+    /**
+     * 执行优先级 (数值越大越先执行, 默认0)
+     */
+    private Integer priority;
+
     /**
      * 提取策略类型 (\'css\', \'llm\')
      */
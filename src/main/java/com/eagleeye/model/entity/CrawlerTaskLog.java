@@ -38,6 +38,11 @@ public class CrawlerTaskLog implements Serializable {
      */
     private Long configId;
 
+    /**
+     * 父任务日志ID (多 URL 拆分出的子任务指向父任务，顶层任务为空)
+     */
+    private Long parentLogId;
+
     /**
      * 本次任务抓取的主要目标URL
      */
@@ -0,0 +1,49 @@
+package com.eagleeye.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 政策相关领域实体类（policy_info.areas 的规范化存储，用于按领域筛选和分面计数）
+ */
+@Data
+@TableName("policy_area")
+public class PolicyArea {
+    
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * 政策ID
+     */
+    private Long policyId;
+    
+    /**
+     * 相关领域
+     */
+    private String area;
+    
+    /**
+     * 是否删除：0-未删除，1-已删除
+     */
+    @TableLogic
+    private Boolean isDeleted;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+    
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,40 @@
+package com.eagleeye.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+@Data
+@ApiModel("AI 分析结果缓存统计")
+public class AnalysisCacheStatsVO {
+
+    @ApiModelProperty("是否启用缓存")
+    private Boolean enabled;
+
+    @ApiModelProperty("内存缓存容量（条）")
+    private Integer memoryCapacity;
+
+    @ApiModelProperty("内存缓存当前条数")
+    private Integer memorySize;
+
+    @ApiModelProperty("内存命中次数")
+    private Long memoryHits;
+
+    @ApiModelProperty("数据库命中次数")
+    private Long dbHits;
+
+    @ApiModelProperty("未命中次数")
+    private Long misses;
+
+    @ApiModelProperty("跳过缓存次数（强制重新分析）")
+    private Long bypasses;
+
+    @ApiModelProperty("写入缓存次数")
+    private Long writes;
+
+    @ApiModelProperty("缓存读写失败次数")
+    private Long errors;
+
+    @ApiModelProperty("命中率（命中次数 / 查询次数，不含跳过）")
+    private Double hitRate;
+}
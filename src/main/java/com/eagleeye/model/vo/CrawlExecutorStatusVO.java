@@ -0,0 +1,78 @@
+package com.eagleeye.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@ApiModel("爬虫任务执行器状态")
+public class CrawlExecutorStatusVO {
+
+    @ApiModelProperty("工作线程数")
+    private Integer workerCount;
+
+    @ApiModelProperty("等待队列容量")
+    private Integer queueCapacity;
+
+    @ApiModelProperty("单个域名最大并发数")
+    private Integer perDomainLimit;
+
+    @ApiModelProperty("当前排队任务数")
+    private Integer queueDepth;
+
+    @ApiModelProperty("累计提交任务数")
+    private Long submittedCount;
+
+    @ApiModelProperty("累计完成任务数")
+    private Long completedCount;
+
+    @ApiModelProperty("累计异常任务数")
+    private Long failedCount;
+
+    @ApiModelProperty("累计拒绝任务数（队列已满）")
+    private Long rejectedCount;
+
+    @ApiModelProperty("平均排队等待时长(毫秒)")
+    private Long avgWaitMillis;
+
+    @ApiModelProperty("最大排队等待时长(毫秒)")
+    private Long maxWaitMillis;
+
+    @ApiModelProperty("执行中的任务")
+    private List<JobVO> runningJobs;
+
+    @ApiModelProperty("排队中的任务（按执行顺序）")
+    private List<JobVO> queuedJobs;
+
+    @Data
+    @ApiModel("爬虫任务执行器中的任务")
+    public static class JobVO {
+
+        @ApiModelProperty("任务ID")
+        private String taskId;
+
+        @ApiModelProperty("配置ID")
+        private Long configId;
+
+        @ApiModelProperty("目标URL")
+        private String targetUrl;
+
+        @ApiModelProperty("所属域名标识")
+        private String domain;
+
+        @ApiModelProperty("优先级（越大越先执行）")
+        private Integer priority;
+
+        @ApiModelProperty("提交时间")
+        private LocalDateTime submitTime;
+
+        @ApiModelProperty("开始执行时间（排队中为空）")
+        private LocalDateTime startTime;
+
+        @ApiModelProperty("排队等待时长(毫秒)")
+        private Long waitMillis;
+    }
+}
@@ -30,6 +30,9 @@ public class CrawlerConfigDetailVO {
     @ApiModelProperty("触发计划 (Cron 表达式)")
     private String triggerSchedule;
 
+    @ApiModelProperty("执行优先级 (数值越大越先执行)")
+    private Integer priority;
+
     @ApiModelProperty("提取策略类型 (\'css\', \'llm\')")
     private String extractionStrategyType;
 
@@ -6,6 +6,7 @@ import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 爬虫任务执行日志视图对象
@@ -25,6 +26,9 @@ public class CrawlerTaskLogVO {
     @ApiModelProperty("关联的爬虫配置ID")
     private Long configId;
 
+    @ApiModelProperty("父任务日志ID (子任务才有值)")
+    private Long parentLogId;
+
     @ApiModelProperty("关联的爬虫配置名称")
     private String configName; // 需要Service层填充
 
@@ -60,4 +64,7 @@ public class CrawlerTaskLogVO {
     @ApiModelProperty("分析结果 JSON")
     private String analysisResult;
 
+    @ApiModelProperty("子任务列表 (多 URL 配置拆分出的子任务，仅查询单个任务时填充)")
+    private List<CrawlerTaskLogVO> children;
+
 } 
\ No newline at end of file
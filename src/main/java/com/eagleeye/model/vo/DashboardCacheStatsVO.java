@@ -0,0 +1,43 @@
+package com.eagleeye.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+@Data
+@ApiModel("仪表盘响应缓存统计")
+public class DashboardCacheStatsVO {
+
+    @ApiModelProperty("是否启用缓存")
+    private Boolean enabled;
+
+    @ApiModelProperty("命中次数")
+    private Long hits;
+
+    @ApiModelProperty("未命中次数")
+    private Long misses;
+
+    @ApiModelProperty("合并到进行中加载的未命中次数（未重复查询数据库）")
+    private Long sharedLoads;
+
+    @ApiModelProperty("加载次数（实际查询数据库）")
+    private Long loads;
+
+    @ApiModelProperty("加载失败次数")
+    private Long loadErrors;
+
+    @ApiModelProperty("平均加载耗时(毫秒)")
+    private Double avgLoadMillis;
+
+    @ApiModelProperty("最大加载耗时(毫秒)")
+    private Long maxLoadMillis;
+
+    @ApiModelProperty("数据变更失效次数")
+    private Long invalidations;
+
+    @ApiModelProperty("Redis 读写失败次数（失败时直接查询数据库）")
+    private Long redisErrors;
+
+    @ApiModelProperty("命中率（命中次数 / 查询次数）")
+    private Double hitRate;
+}
@@ -0,0 +1,25 @@
+package com.eagleeye.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+@Data
+@ApiModel("统一检索命中")
+public class SearchHitVO {
+
+    @ApiModelProperty("数据类型：policy / competitor / requirement")
+    private String type;
+
+    @ApiModelProperty("数据ID")
+    private Long id;
+
+    @ApiModelProperty("标题（HTML 转义，命中的关键词用 <em> 标记）")
+    private String title;
+
+    @ApiModelProperty("正文摘要（HTML 转义，命中的关键词用 <em> 标记）")
+    private String snippet;
+
+    @ApiModelProperty("相关度得分")
+    private Float score;
+}
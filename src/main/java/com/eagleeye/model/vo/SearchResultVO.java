@@ -0,0 +1,28 @@
+package com.eagleeye.model.vo;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ApiModel("统一检索结果")
+public class SearchResultVO {
+
+    @ApiModelProperty("关键词")
+    private String keyword;
+
+    @ApiModelProperty("总命中数")
+    private Long total;
+
+    @ApiModelProperty("各数据类型的命中数")
+    private Map<String, Long> counts;
+
+    @ApiModelProperty("按相关度排序的命中（各类型合并）")
+    private List<SearchHitVO> hits;
+
+    @ApiModelProperty("检索耗时（毫秒）")
+    private Double tookMillis;
+}
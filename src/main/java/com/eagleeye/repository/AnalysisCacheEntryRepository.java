@@ -0,0 +1,12 @@
+package com.eagleeye.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.eagleeye.model.entity.AnalysisCacheEntry;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * AI 分析结果缓存数据访问接口
+ */
+@Mapper
+public interface AnalysisCacheEntryRepository extends BaseMapper<AnalysisCacheEntry> {
+}
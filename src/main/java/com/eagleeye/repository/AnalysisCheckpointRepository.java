@@ -0,0 +1,20 @@
+package com.eagleeye.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.eagleeye.model.entity.AnalysisCheckpoint;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 批次分析断点数据访问接口
+ */
+@Mapper
+public interface AnalysisCheckpointRepository extends BaseMapper<AnalysisCheckpoint> {
+
+    /**
+     * 按 (taskLogId, category, articleKey) 插入或覆盖断点（INSERT ... ON DUPLICATE KEY UPDATE）
+     *
+     * @param checkpoint 断点
+     * @return 影响行数（插入为 1，覆盖为 2，内容未变为 0）
+     */
+    int upsert(AnalysisCheckpoint checkpoint);
+}
@@ -9,4 +9,12 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface CompetitorAnalysisRepository extends BaseMapper<CompetitorAnalysis> {
-} 
\ No newline at end of file
+
+    /**
+     * 按 (competitorId, sortOrder) 插入或覆盖分析结果（INSERT ... ON DUPLICATE KEY UPDATE）
+     *
+     * @param analysis 分析结果
+     * @return 影响行数（插入为 1，覆盖为 2，内容未变为 0）
+     */
+    int upsert(CompetitorAnalysis analysis);
+}
@@ -8,5 +8,5 @@ import org.apache.ibatis.annotations.Mapper;
  * 竞品信息数据访问接口
  */
 @Mapper
-public interface CompetitorRepository extends BaseMapper<CompetitorInfo> {
+public interface CompetitorRepository extends BaseMapper<CompetitorInfo>, ConditionalCountMapper<CompetitorInfo> {
 } 
\ No newline at end of file
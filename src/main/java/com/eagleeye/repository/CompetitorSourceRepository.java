@@ -1,12 +1,51 @@
 package com.eagleeye.repository;
 
+import cn.hutool.core.collection.ListUtil;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.eagleeye.model.entity.CompetitorSource;
 import org.apache.ibatis.annotations.Mapper;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 竞品资源数据访问接口
  */
 @Mapper
 public interface CompetitorSourceRepository extends BaseMapper<CompetitorSource> {
-} 
\ No newline at end of file
+
+    /**
+     * 按资源 URL 批量查询关联的竞品ID（每 IN_BATCH_SIZE 个 URL 一条 IN 查询）
+     *
+     * @param urls 资源 URL
+     * @return 竞品ID（去重）
+     */
+    default Set<Long> selectCompetitorIdsByUrls(Collection<String> urls) {
+        Set<Long> competitorIds = new LinkedHashSet<>();
+        for (List<String> part : ListUtil.partition(PolicyRepository.distinctUrls(urls), PolicyRepository.IN_BATCH_SIZE)) {
+            selectList(Wrappers.lambdaQuery(CompetitorSource.class)
+                    .select(CompetitorSource::getCompetitorId)
+                    .in(CompetitorSource::getUrl, part))
+                    .forEach(source -> competitorIds.add(source.getCompetitorId()));
+        }
+        return competitorIds;
+    }
+
+    /**
+     * 按资源 URL 查询关联的竞品ID（同一 URL 关联多个竞品时取最新写入的一条）
+     *
+     * @param url 资源 URL
+     * @return 竞品ID，不存在时返回 null
+     */
+    default Long selectCompetitorIdByUrl(String url) {
+        CompetitorSource source = selectOne(Wrappers.lambdaQuery(CompetitorSource.class)
+                .select(CompetitorSource::getCompetitorId)
+                .eq(CompetitorSource::getUrl, url)
+                .orderByDesc(CompetitorSource::getId)
+                .last("LIMIT 1"));
+        return source != null ? source.getCompetitorId() : null;
+    }
+}
@@ -1,12 +1,26 @@
 package com.eagleeye.repository;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.eagleeye.model.dto.StatCount;
+import com.eagleeye.model.entity.CompetitorInfo;
 import com.eagleeye.model.entity.CompetitorTag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 竞品标签数据访问接口
  */
 @Mapper
 public interface CompetitorTagRepository extends BaseMapper<CompetitorTag> {
-} 
\ No newline at end of file
+
+    /**
+     * 统计符合条件的竞品动态中每个标签的动态数（一条 GROUP BY 语句，按动态数倒序）
+     *
+     * @param competitorWrapper 竞品动态筛选条件（competitor_info 上的条件，不含排序），没有条件时统计全部动态
+     */
+    List<StatCount> countCompetitorsByTag(@Param(Constants.WRAPPER) Wrapper<CompetitorInfo> competitorWrapper);
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.eagleeye.repository;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多条件计数
+ * 每个查询条件对应一个 SUM(CASE WHEN 条件 THEN 1 ELSE 0 END) 列，一条语句、一次扫描得出全部计数；
+ * 实现该接口的 Repository 需在自己的 XML 中提供 countMany 语句（如 mapper/PolicyRepository.xml）
+ *
+ * @param <T> 实体类型
+ */
+public interface ConditionalCountMapper<T> {
+
+    /**
+     * 按多个查询条件分别计数（只统计未删除的记录），结果列依次为 c0、c1…
+     * 查询条件只能包含 WHERE 部分，不能带排序或 last
+     *
+     * @param wrappers 查询条件，至少一个；没有条件的 wrapper 统计全部记录
+     */
+    Map<String, Object> countMany(@Param("wrappers") List<? extends Wrapper<T>> wrappers);
+
+    /**
+     * 按多个查询条件分别计数
+     *
+     * @param wrappers 查询条件
+     * @return 与 wrappers 顺序一致的计数
+     */
+    default List<Long> countEach(List<? extends Wrapper<T>> wrappers) {
+        if (wrappers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Object> row = countMany(wrappers);
+        List<Long> counts = new ArrayList<>(wrappers.size());
+        for (int i = 0; i < wrappers.size(); i++) {
+            Object count = row != null ? row.get("c" + i) : null;
+            counts.add(count instanceof Number ? ((Number) count).longValue() : 0L);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,48 @@
+package com.eagleeye.repository;
+
+import com.eagleeye.model.dto.StatDelta;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 仪表盘按日汇总表数据访问接口（SQL 见 mapper/DashboardRollupRepository.xml）
+ */
+@Mapper
+public interface DashboardRollupRepository {
+
+    /**
+     * 批量增减计数（一条多行 INSERT ... ON DUPLICATE KEY UPDATE）
+     *
+     * @param deltas 计数增减，调用方负责合并同键并排序
+     */
+    int applyDeltas(@Param("deltas") List<StatDelta> deltas);
+
+    /**
+     * 删除实体的全部汇总行
+     *
+     * @param entity 实体
+     */
+    int deleteByEntity(@Param("entity") String entity);
+
+    /**
+     * 按 policy_info 重新计算政策汇总行
+     */
+    int rebuildPolicy();
+
+    /**
+     * 按 competitor_info 重新计算竞品汇总行
+     */
+    int rebuildCompetitor();
+
+    /**
+     * 按 requirement 重新计算需求汇总行
+     */
+    int rebuildRequirement();
+
+    /**
+     * 汇总行数
+     */
+    long countRows();
+}
@@ -0,0 +1,95 @@
+package com.eagleeye.repository;
+
+import com.eagleeye.model.dto.StatCount;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 仪表盘统计数据访问接口
+ * 维度分布和日期趋势读取按日汇总表 dashboard_daily_stat（由 DashboardRollupService 增量维护），
+ * 相关领域 / 标签分布仍按关键词查询原表（SQL 见 mapper/DashboardStatsRepository.xml），只统计未删除的记录
+ */
+@Mapper
+public interface DashboardStatsRepository {
+
+    /**
+     * 按重要程度统计政策数
+     */
+    List<StatCount> countPoliciesByImportance();
+
+    /**
+     * 按政策类型统计政策数
+     */
+    List<StatCount> countPoliciesByType();
+
+    /**
+     * 按发布机构统计政策数
+     */
+    List<StatCount> countPoliciesBySource();
+
+    /**
+     * 统计相关领域（policy_area）包含各关键词的政策数
+     *
+     * @param areas 领域关键词
+     */
+    List<StatCount> countPoliciesByAreas(@Param("areas") List<String> areas);
+
+    /**
+     * 按发布日期统计政策数
+     *
+     * @param start 开始时间（含）
+     * @param end 结束时间（不含）
+     */
+    List<StatCount> countPoliciesByPublishDate(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 按公司统计竞品动态数
+     */
+    List<StatCount> countCompetitorsByCompany();
+
+    /**
+     * 按动态类型统计竞品动态数
+     */
+    List<StatCount> countCompetitorsByType();
+
+    /**
+     * 统计标签（competitor_tag）包含各关键词的竞品动态数
+     *
+     * @param tags 标签关键词
+     */
+    List<StatCount> countCompetitorsByTags(@Param("tags") List<String> tags);
+
+    /**
+     * 按抓取日期统计竞品动态数
+     *
+     * @param start 开始时间（含）
+     * @param end 结束时间（不含）
+     */
+    List<StatCount> countCompetitorsByCaptureDate(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 按优先级统计需求数
+     */
+    List<StatCount> countRequirementsByPriority();
+
+    /**
+     * 按状态统计需求数
+     */
+    List<StatCount> countRequirementsByStatus();
+
+    /**
+     * 按来源类型统计需求数
+     */
+    List<StatCount> countRequirementsBySourceType();
+
+    /**
+     * 按创建日期统计需求数
+     *
+     * @param start 开始时间（含）
+     * @param end 结束时间（不含）
+     */
+    List<StatCount> countRequirementsByCreateDate(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
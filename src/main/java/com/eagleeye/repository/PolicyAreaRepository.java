@@ -0,0 +1,26 @@
+package com.eagleeye.repository;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.eagleeye.model.dto.StatCount;
+import com.eagleeye.model.entity.PolicyArea;
+import com.eagleeye.model.entity.PolicyInfo;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 政策相关领域数据访问接口
+ */
+@Mapper
+public interface PolicyAreaRepository extends BaseMapper<PolicyArea> {
+
+    /**
+     * 统计符合条件的政策中每个相关领域的政策数（一条 GROUP BY 语句，按政策数倒序）
+     *
+     * @param policyWrapper 政策筛选条件（policy_info 上的条件，不含排序），没有条件时统计全部政策
+     */
+    List<StatCount> countPoliciesByArea(@Param(Constants.WRAPPER) Wrapper<PolicyInfo> policyWrapper);
+}
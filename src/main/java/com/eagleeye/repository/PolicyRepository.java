@@ -1,13 +1,72 @@
 package com.eagleeye.repository;
 
+import cn.hutool.core.collection.ListUtil;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.eagleeye.model.entity.PolicyInfo;
 import org.apache.ibatis.annotations.Mapper;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * 政策信息数据访问接口
  */
 @Mapper
-public interface PolicyRepository extends BaseMapper<PolicyInfo> {
-    
-} 
\ No newline at end of file
+public interface PolicyRepository extends BaseMapper<PolicyInfo>, ConditionalCountMapper<PolicyInfo> {
+
+    /**
+     * 单条 IN 查询最多携带的参数个数
+     */
+    int IN_BATCH_SIZE = 500;
+
+    /**
+     * 批量探测已入库的原文链接（每 IN_BATCH_SIZE 个 URL 一条 IN 查询）
+     *
+     * @param sourceUrls 原文链接
+     * @return 已存在的原文链接
+     */
+    default Set<String> selectExistingSourceUrls(Collection<String> sourceUrls) {
+        Set<String> existing = new HashSet<>();
+        for (List<String> part : ListUtil.partition(distinctUrls(sourceUrls), IN_BATCH_SIZE)) {
+            selectList(Wrappers.lambdaQuery(PolicyInfo.class)
+                    .select(PolicyInfo::getSourceUrl)
+                    .in(PolicyInfo::getSourceUrl, part))
+                    .forEach(policy -> existing.add(policy.getSourceUrl()));
+        }
+        return existing;
+    }
+
+    /**
+     * 按原文链接批量查询政策（只查询 ID、统计维度和发布时间列，不含正文）
+     *
+     * @param sourceUrls 原文链接
+     * @return 政策
+     */
+    default List<PolicyInfo> selectSummariesBySourceUrls(Collection<String> sourceUrls) {
+        List<PolicyInfo> policies = new ArrayList<>();
+        for (List<String> part : ListUtil.partition(distinctUrls(sourceUrls), IN_BATCH_SIZE)) {
+            policies.addAll(selectList(Wrappers.lambdaQuery(PolicyInfo.class)
+                    .select(PolicyInfo::getId, PolicyInfo::getPolicyType, PolicyInfo::getSource,
+                            PolicyInfo::getImportance, PolicyInfo::getPublishTime)
+                    .in(PolicyInfo::getSourceUrl, part)));
+        }
+        return policies;
+    }
+
+    /**
+     * 去掉空值和重复的 URL
+     */
+    static List<String> distinctUrls(Collection<String> urls) {
+        return new ArrayList<>(urls.stream()
+                .filter(Objects::nonNull)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+}
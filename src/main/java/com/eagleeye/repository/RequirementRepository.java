@@ -8,5 +8,5 @@ import org.apache.ibatis.annotations.Mapper;
  * 需求数据访问接口
  */
 @Mapper
-public interface RequirementRepository extends BaseMapper<Requirement> {
+public interface RequirementRepository extends BaseMapper<Requirement>, ConditionalCountMapper<Requirement> {
 } 
\ No newline at end of file
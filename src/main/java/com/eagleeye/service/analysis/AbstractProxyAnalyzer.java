@@ -0,0 +1,351 @@
+package com.eagleeye.service.analysis;
+
+import com.eagleeye.service.proxy.ProxyServiceClient;
+import com.eagleeye.service.proxy.ProxyServiceException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 基于 proxy-service 的文章分析器基类
+ * 封装单篇异步分析、NDJSON 批量分析、结果缓存与异常转换，政策分析器和竞品分析器只提供接口、版本和结果类型
+ *
+ * @param <T> 分析结果类型
+ * @author eagleeye
+ */
+public abstract class AbstractProxyAnalyzer<T> {
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ProxyServiceClient proxyServiceClient;
+    private final AnalysisResultCache resultCache;
+    private final Class<T> resultType;
+    private final JavaType batchLineType;
+
+    /**
+     * 日志和错误信息中的分析类别，如"政策"、"竞品"
+     */
+    private final String label;
+
+    /**
+     * 分析结果缓存中的分析器标识
+     */
+    private final String cacheAnalyzer;
+
+    /**
+     * 分析器版本：修改 skill 或 prompt 后递增，使旧的缓存结果失效
+     */
+    private final String analyzerVersion;
+
+    private final ProxyServiceClient.Endpoint endpoint;
+    private final ProxyServiceClient.Endpoint batchEndpoint;
+
+    /**
+     * 请求体中产品上下文的字段名（各 proxy-service 接口约定不同）
+     */
+    private final String productsField;
+
+    protected AbstractProxyAnalyzer(ProxyServiceClient proxyServiceClient, AnalysisResultCache resultCache,
+                                    Class<T> resultType, String label, String cacheAnalyzer, String analyzerVersion,
+                                    ProxyServiceClient.Endpoint endpoint, ProxyServiceClient.Endpoint batchEndpoint,
+                                    String productsField) {
+        this.proxyServiceClient = proxyServiceClient;
+        this.resultCache = resultCache;
+        this.resultType = resultType;
+        this.batchLineType = TypeFactory.defaultInstance().constructParametricType(BatchLine.class, resultType);
+        this.label = label;
+        this.cacheAnalyzer = cacheAnalyzer;
+        this.analyzerVersion = analyzerVersion;
+        this.endpoint = endpoint;
+        this.batchEndpoint = batchEndpoint;
+        this.productsField = productsField;
+    }
+
+    /**
+     * 单篇分析成功后记录结果摘要
+     */
+    protected abstract void logResult(T result);
+
+    /**
+     * 分析文章
+     *
+     * @param markdownContent 文章的 Markdown 内容
+     * @return 分析结果
+     * @throws RuntimeException 分析失败时抛出异常
+     */
+    public T analyze(String markdownContent) {
+        return analyze(markdownContent, null);
+    }
+
+    /**
+     * 分析文章（带产品上下文）
+     *
+     * @param markdownContent 文章的 Markdown 内容
+     * @param products 用户产品列表的 JSON 字符串格式
+     * @return 分析结果
+     * @throws RuntimeException 分析失败时抛出异常
+     */
+    public T analyze(String markdownContent, String products) {
+        return analyze(markdownContent, products, false);
+    }
+
+    /**
+     * 分析文章（带产品上下文），可跳过结果缓存
+     *
+     * @param markdownContent 文章的 Markdown 内容
+     * @param products 用户产品列表的 JSON 字符串格式
+     * @param bypassCache 是否跳过缓存强制调用 AI 分析（新结果仍会写入缓存）
+     * @return 分析结果
+     * @throws RuntimeException 分析失败时抛出异常
+     */
+    public T analyze(String markdownContent, String products, boolean bypassCache) {
+        return ProxyServiceClient.join(analyzeAsync(markdownContent, products, bypassCache));
+    }
+
+    /**
+     * 异步分析文章（带产品上下文）
+     * 基于共享的非阻塞 HTTP 客户端，等待响应期间不占用线程，可同时发起多个分析请求
+     *
+     * @param markdownContent 文章的 Markdown 内容
+     * @param products 用户产品列表的 JSON 字符串格式
+     * @return 分析结果的 CompletableFuture；失败时以 RuntimeException 异常完成
+     */
+    public CompletableFuture<T> analyzeAsync(String markdownContent, String products) {
+        return analyzeAsync(markdownContent, products, false);
+    }
+
+    /**
+     * 异步分析文章（带产品上下文），可跳过结果缓存
+     * 内容、产品上下文和分析器版本都未变化时直接返回缓存的结果，不调用 proxy-service
+     *
+     * @param markdownContent 文章的 Markdown 内容
+     * @param products 用户产品列表的 JSON 字符串格式
+     * @param bypassCache 是否跳过缓存强制调用 AI 分析（新结果仍会写入缓存）
+     * @return 分析结果的 CompletableFuture；失败时以 RuntimeException 异常完成
+     */
+    public CompletableFuture<T> analyzeAsync(String markdownContent, String products, boolean bypassCache) {
+        String cacheKey = cacheKeyOf(markdownContent, products);
+        T cached = lookupCache(cacheKey, bypassCache);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        log.debug("开始分析{}文章，内容长度: {}", label, markdownContent != null ? markdownContent.length() : 0);
+
+        // 构建请求体
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("content", markdownContent);
+        request.put(productsField, products);
+
+        return proxyServiceClient.postAsync(endpoint, request, resultType)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        throw translateError(error);
+                    }
+                    if (result != null) {
+                        logResult(result);
+                    } else {
+                        log.warn("{}分析返回结果为空", label);
+                    }
+                    if (result != null && cacheKey != null) {
+                        resultCache.put(cacheKey, cacheAnalyzer, analyzerVersion, result);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * 批量分析文章（所有文章共用一份产品上下文），每篇结果到达时立即回调
+     * 命中缓存的文章不再发送；其余文章通过 proxy-service 批量接口在一个请求中分析，结果以 NDJSON 逐篇返回。
+     * 整个请求失败（连接失败、HTTP 错误、流中断）时，尚未返回结果的文章都回调 onError。
+     *
+     * @param markdownContents 文章的 Markdown 内容列表
+     * @param products 用户产品列表的 JSON 字符串格式
+     * @param bypassCache 是否跳过缓存强制调用 AI 分析（新结果仍会写入缓存）
+     * @param listener 逐篇结果回调（下标对应 markdownContents），在调用线程中执行
+     */
+    public void analyzeBatch(List<String> markdownContents, String products, boolean bypassCache,
+                             BatchResultListener<T> listener) {
+        String[] cacheKeys = new String[markdownContents.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < markdownContents.size(); i++) {
+            cacheKeys[i] = cacheKeyOf(markdownContents.get(i), products);
+            T cached = lookupCache(cacheKeys[i], bypassCache);
+            if (cached != null) {
+                listener.onResult(i, cached);
+            } else {
+                pending.add(i);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        log.info("开始批量分析{}文章: 共 {} 篇，需调用 AI 分析 {} 篇", label, markdownContents.size(), pending.size());
+        List<BatchItem> items = new ArrayList<>();
+        for (Integer index : pending) {
+            items.add(new BatchItem(String.valueOf(index), markdownContents.get(index)));
+        }
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("articles", items);
+        request.put(productsField, products);
+
+        boolean[] reported = new boolean[markdownContents.size()];
+        try {
+            proxyServiceClient.<BatchLine<T>>postNdjson(batchEndpoint, request, batchLineType, line -> {
+                if (line.getIndex() == null || line.getIndex() < 0 || line.getIndex() >= pending.size()) {
+                    log.warn("批量{}分析返回了未知的文章下标: {}", label, line.getIndex());
+                    return;
+                }
+                int index = pending.get(line.getIndex());
+                reported[index] = true;
+                if (line.getError() != null) {
+                    log.warn("批量{}分析单篇失败: index={}, error={}", label, index, line.getError());
+                    listener.onError(index, new RuntimeException(label + "分析失败: " + line.getError()));
+                    return;
+                }
+                if (line.getResult() == null) {
+                    listener.onError(index, new RuntimeException(label + "分析返回结果为空"));
+                    return;
+                }
+                if (cacheKeys[index] != null) {
+                    resultCache.put(cacheKeys[index], cacheAnalyzer, analyzerVersion, line.getResult());
+                }
+                listener.onResult(index, line.getResult());
+            });
+        } catch (RuntimeException e) {
+            RuntimeException error = translateError(e);
+            for (Integer index : pending) {
+                if (!reported[index]) {
+                    reported[index] = true;
+                    listener.onError(index, error);
+                }
+            }
+            return;
+        }
+        for (Integer index : pending) {
+            if (!reported[index]) {
+                listener.onError(index, new RuntimeException(label + "分析未返回该文章的结果"));
+            }
+        }
+    }
+
+    /**
+     * 计算缓存键（未启用缓存时返回 null）
+     */
+    private String cacheKeyOf(String markdownContent, String products) {
+        return resultCache.isEnabled()
+                ? resultCache.keyOf(cacheAnalyzer, analyzerVersion, markdownContent, products)
+                : null;
+    }
+
+    /**
+     * 查询缓存；跳过缓存时只记录一次跳过
+     */
+    private T lookupCache(String cacheKey, boolean bypassCache) {
+        if (cacheKey == null) {
+            return null;
+        }
+        if (bypassCache) {
+            resultCache.recordBypass();
+            return null;
+        }
+        T cached = resultCache.get(cacheKey, resultType);
+        if (cached != null) {
+            log.debug("{}分析命中缓存: key={}", label, cacheKey);
+        }
+        return cached;
+    }
+
+    /**
+     * 将 proxy-service 调用异常转换为带有明确提示信息的 RuntimeException
+     */
+    private RuntimeException translateError(Throwable error) {
+        Throwable cause = ProxyServiceClient.unwrap(error);
+        if (cause instanceof ProxyServiceException) {
+            ProxyServiceException e = (ProxyServiceException) cause;
+            log.error("代理服务返回错误: status={}, body={}", e.getStatusCode(), e.getResponseBody(), e);
+            return new RuntimeException(label + "分析失败: " + e.getResponseBody(), e);
+        }
+        if (ProxyServiceClient.isConnectFailure(cause)) {
+            log.error("无法连接到代理服务", cause);
+            return new RuntimeException("无法连接到代理服务，请确认 proxy-service 已启动", cause);
+        }
+        if (ProxyServiceClient.isTimeout(cause)) {
+            log.error("{}分析超时", label, cause);
+            return new RuntimeException(label + "分析超时: " + cause.getMessage(), cause);
+        }
+        log.error("{}分析发生未知错误", label, cause);
+        return new RuntimeException(label + "分析失败: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * 批量请求中的一篇文章
+     */
+    private static class BatchItem {
+        private final String id;
+        private final String content;
+
+        public BatchItem(String id, String content) {
+            this.id = id;
+            this.content = content;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+
+    /**
+     * 批量响应中的一行（NDJSON）
+     */
+    private static class BatchLine<R> {
+        private Integer index;
+        private String id;
+        private R result;
+        private String error;
+
+        public Integer getIndex() {
+            return index;
+        }
+
+        public void setIndex(Integer index) {
+            this.index = index;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public R getResult() {
+            return result;
+        }
+
+        public void setResult(R result) {
+            this.result = result;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.eagleeye.service.analysis;
+
+import java.util.Set;
+
+/**
+ * 批次分析断点服务接口
+ * 按 (任务日志ID, 文章分类, 文章标识) 记录每篇文章的分析状态，中断或失败的批次续跑时跳过已完成的文章
+ *
+ * @author eagleeye
+ */
+public interface AnalysisCheckpointService {
+
+    /**
+     * 政策文章分类
+     */
+    String CATEGORY_POLICY = "policy";
+
+    /**
+     * 竞品文章分类
+     */
+    String CATEGORY_COMPETITOR = "competitor";
+
+    /**
+     * 查询已完成的文章标识
+     *
+     * @param taskLogId 任务日志ID
+     * @param category 文章分类
+     * @return 已完成的文章标识集合
+     */
+    Set<String> listCompletedKeys(Long taskLogId, String category);
+
+    /**
+     * 记录文章已完成（应与文章分析结果在同一事务中调用）
+     *
+     * @param taskLogId 任务日志ID
+     * @param category 文章分类
+     * @param articleKey 文章标识
+     */
+    void markCompleted(Long taskLogId, String category, String articleKey);
+
+    /**
+     * 记录文章分析失败
+     *
+     * @param taskLogId 任务日志ID
+     * @param category 文章分类
+     * @param articleKey 文章标识
+     * @param errorMessage 失败原因
+     */
+    void markFailed(Long taskLogId, String category, String articleKey, String errorMessage);
+
+    /**
+     * 清空任务某分类的所有断点（开始新一轮分析时调用）
+     *
+     * @param taskLogId 任务日志ID
+     * @param category 文章分类
+     */
+    void clear(Long taskLogId, String category);
+}
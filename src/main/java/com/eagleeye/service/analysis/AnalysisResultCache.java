@@ -0,0 +1,231 @@
+package com.eagleeye.service.analysis;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.eagleeye.model.entity.AnalysisCacheEntry;
+import com.eagleeye.model.vo.AnalysisCacheStatsVO;
+import com.eagleeye.repository.AnalysisCacheEntryRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI 分析结果缓存
+ * 以 SHA-256(分析器 + 分析器版本 + Markdown 内容 + 产品上下文 JSON) 为键，
+ * 两级存储：进程内 LRU（内存）+ analysis_result_cache 表（持久化，重启后仍可命中）。
+ * 政策分析器、竞品分析器共用同一个实例；缓存读写失败只记录日志，按未命中处理，不影响分析本身。
+ *
+ * @author eagleeye
+ */
+@Component
+public class AnalysisResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisResultCache.class);
+
+    @Value("${eagleeye.analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${eagleeye.analysis.cache.memory-size:500}")
+    private int memoryCapacity;
+
+    private final AnalysisCacheEntryRepository cacheEntryRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 内存 LRU：缓存键 -> 分析结果 JSON（存 JSON 而不是对象，避免调用方修改结果影响缓存）
+     */
+    private final Map<String, String> memory = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > memoryCapacity;
+        }
+    };
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong dbHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public AnalysisResultCache(AnalysisCacheEntryRepository cacheEntryRepository, ObjectMapper objectMapper) {
+        this.cacheEntryRepository = cacheEntryRepository;
+        // 分析结果类增删字段后，旧缓存中多出的字段忽略而不是失败
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param analyzer 分析器（policy / competitor）
+     * @param analyzerVersion 分析器版本，修改 prompt 或 skill 后递增即可让旧缓存失效
+     * @param markdownContent 文章 Markdown 内容
+     * @param userProducts 产品上下文 JSON
+     * @return SHA-256 十六进制字符串
+     */
+    public String keyOf(String analyzer, String analyzerVersion, String markdownContent, String userProducts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, analyzer);
+            update(digest, analyzerVersion);
+            update(digest, markdownContent);
+            update(digest, userProducts);
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("不支持 SHA-256", e);
+        }
+    }
+
+    /**
+     * 查询缓存：先查内存，再查数据库（数据库命中时回填内存）
+     *
+     * @return 缓存的分析结果；未启用或未命中时返回 null
+     */
+    public <T> T get(String cacheKey, Class<T> resultType) {
+        if (!enabled) {
+            return null;
+        }
+        String json;
+        synchronized (memory) {
+            json = memory.get(cacheKey);
+        }
+        if (json != null) {
+            T result = readResult(cacheKey, json, resultType);
+            if (result != null) {
+                memoryHits.incrementAndGet();
+                return result;
+            }
+        }
+
+        try {
+            AnalysisCacheEntry entry = cacheEntryRepository.selectOne(Wrappers.lambdaQuery(AnalysisCacheEntry.class)
+                    .eq(AnalysisCacheEntry::getCacheKey, cacheKey));
+            if (entry != null) {
+                T result = readResult(cacheKey, entry.getResultJson(), resultType);
+                if (result != null) {
+                    putMemory(cacheKey, entry.getResultJson());
+                    dbHits.incrementAndGet();
+                    return result;
+                }
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("查询分析结果缓存失败: key={}, error={}", cacheKey, e.getMessage());
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 写入缓存（内存 + 数据库），已存在时覆盖
+     */
+    public void put(String cacheKey, String analyzer, String analyzerVersion, Object result) {
+        if (!enabled || result == null) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(result);
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("序列化分析结果失败，不写入缓存: key={}, error={}", cacheKey, e.getMessage());
+            return;
+        }
+        putMemory(cacheKey, json);
+
+        try {
+            int updated = cacheEntryRepository.update(null, Wrappers.lambdaUpdate(AnalysisCacheEntry.class)
+                    .set(AnalysisCacheEntry::getResultJson, json)
+                    .eq(AnalysisCacheEntry::getCacheKey, cacheKey));
+            if (updated == 0) {
+                AnalysisCacheEntry entry = new AnalysisCacheEntry();
+                entry.setCacheKey(cacheKey);
+                entry.setAnalyzer(analyzer);
+                entry.setAnalyzerVersion(analyzerVersion);
+                entry.setResultJson(json);
+                cacheEntryRepository.insert(entry);
+            }
+            writes.incrementAndGet();
+        } catch (DuplicateKeyException e) {
+            // 并发分析同一内容，另一线程已写入
+            writes.incrementAndGet();
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("写入分析结果缓存失败: key={}, error={}", cacheKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 记录一次跳过缓存（强制重新分析）
+     */
+    public void recordBypass() {
+        bypasses.incrementAndGet();
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public AnalysisCacheStatsVO getStats() {
+        AnalysisCacheStatsVO vo = new AnalysisCacheStatsVO();
+        vo.setEnabled(enabled);
+        vo.setMemoryCapacity(memoryCapacity);
+        synchronized (memory) {
+            vo.setMemorySize(memory.size());
+        }
+        long hits = memoryHits.get() + dbHits.get();
+        long lookups = hits + misses.get();
+        vo.setMemoryHits(memoryHits.get());
+        vo.setDbHits(dbHits.get());
+        vo.setMisses(misses.get());
+        vo.setBypasses(bypasses.get());
+        vo.setWrites(writes.get());
+        vo.setErrors(errors.get());
+        vo.setHitRate(lookups > 0 ? (double) hits / lookups : 0D);
+        return vo;
+    }
+
+    private void putMemory(String cacheKey, String json) {
+        if (memoryCapacity <= 0) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(cacheKey, json);
+        }
+    }
+
+    private <T> T readResult(String cacheKey, String json, Class<T> resultType) {
+        try {
+            return objectMapper.readValue(json, resultType);
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            log.warn("解析缓存的分析结果失败，按未命中处理: key={}, error={}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        // 分隔符避免不同字段拼接后产生相同的输入
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.eagleeye.service.analysis;
+
+import com.eagleeye.model.dto.BatchArticle;
+
+/**
+ * 批次文章的逐篇处理结果回调（每篇文章入库或失败后立即回调，用于统计与进度更新）
+ *
+ * @author eagleeye
+ */
+public interface ArticleResultListener {
+
+    /**
+     * 一篇文章处理完成
+     *
+     * @param article 批次中的文章
+     * @param analyzed true-已分析入库, false-已存在而跳过
+     */
+    void onSuccess(BatchArticle article, boolean analyzed);
+
+    /**
+     * 一篇文章处理失败
+     *
+     * @param article 批次中的文章
+     * @param error 失败原因
+     */
+    void onFailure(BatchArticle article, Exception error);
+}
@@ -0,0 +1,148 @@
+package com.eagleeye.service.analysis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批次分析服务接口
+ * 每个批次的 metadata.json 只读取一次，按文章分类通过同一个工作队列分发到政策 / 竞品分析管道，
+ * 任务日志的分析状态与汇总结果只由这里写入
+ *
+ * @author eagleeye
+ */
+public interface BatchAnalysisService {
+
+    /**
+     * 所有文章分类（政策、竞品）
+     */
+    Set<String> ALL_CATEGORIES = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            AnalysisCheckpointService.CATEGORY_POLICY, AnalysisCheckpointService.CATEGORY_COMPETITOR)));
+
+    /**
+     * 分析模式
+     */
+    enum Mode {
+        /**
+         * 首次分析：清空之前的断点，政策已存在时跳过
+         */
+        ANALYZE,
+        /**
+         * 再分析：删除批次中文章的旧记录和断点后重新分析
+         */
+        RE_ANALYZE,
+        /**
+         * 续跑：只分析断点中未完成的文章
+         */
+        RESUME
+    }
+
+    /**
+     * 提交批次分析任务（后台执行）
+     *
+     * @param taskLogId 任务日志ID
+     * @param userId 用户ID（用于获取产品上下文）
+     * @param mode 分析模式
+     * @param categories 要分析的文章分类（policy / competitor）
+     * @param bypassCache 是否跳过分析结果缓存，强制调用 AI 分析（新结果仍写入缓存）
+     * @throws RuntimeException 该任务正在分析中，或线程池已满
+     */
+    void submit(Long taskLogId, Long userId, Mode mode, Set<String> categories, boolean bypassCache);
+
+    /**
+     * 同步执行批次分析
+     *
+     * @param taskLogId 任务日志ID
+     * @param userId 用户ID（用于获取产品上下文）
+     * @param mode 分析模式
+     * @param categories 要分析的文章分类（policy / competitor）
+     * @param bypassCache 是否跳过分析结果缓存，强制调用 AI 分析（新结果仍写入缓存）
+     * @return 合并后的分析结果统计
+     */
+    AnalysisSummary analyze(Long taskLogId, Long userId, Mode mode, Set<String> categories, boolean bypassCache);
+
+    /**
+     * 任务是否正在本节点分析（用于区分真正执行中与进程中断后残留的 analyzing 状态）
+     *
+     * @param taskLogId 任务日志ID
+     * @return 是否执行中
+     */
+    boolean isRunning(Long taskLogId);
+
+    /**
+     * 批次分析结果统计（所有分类合计，并按分类列出明细）
+     */
+    class AnalysisSummary {
+        private int total;          // 总数
+        private int success;        // 成功数
+        private int skipped;        // 跳过数
+        private int failed;         // 失败数
+        private long elapsedMillis; // 批次总耗时(毫秒)
+        private final Map<String, CategorySummary> categories = new LinkedHashMap<>();
+
+        public void addCategory(String category, CategorySummary summary) {
+            categories.put(category, summary);
+            total += summary.getTotal();
+            success += summary.getSuccess();
+            skipped += summary.getSkipped();
+            failed += summary.getFailed();
+        }
+
+        public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+        public int getTotal() { return total; }
+        public int getSuccess() { return success; }
+        public int getSkipped() { return skipped; }
+        public int getFailed() { return failed; }
+        public int getProcessed() { return success + skipped + failed; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public Map<String, CategorySummary> getCategories() { return categories; }
+
+        @Override
+        public String toString() {
+            return String.format("总数=%d, 成功=%d, 跳过=%d, 失败=%d, 总耗时=%dms, 明细=%s",
+                    total, success, skipped, failed, elapsedMillis, categories);
+        }
+    }
+
+    /**
+     * 单个分类的分析结果统计
+     */
+    class CategorySummary {
+        private final int total;            // 总数
+        private final int success;          // 成功数
+        private final int skipped;          // 跳过数
+        private final int failed;           // 失败数
+        private final int concurrency;      // 并行分析的文章数
+        private final long avgArticleMillis; // 单篇平均耗时(毫秒)
+        private final long maxArticleMillis; // 单篇最大耗时(毫秒)
+
+        public CategorySummary(int total, int success, int skipped, int failed,
+                               int concurrency, long avgArticleMillis, long maxArticleMillis) {
+            this.total = total;
+            this.success = success;
+            this.skipped = skipped;
+            this.failed = failed;
+            this.concurrency = concurrency;
+            this.avgArticleMillis = avgArticleMillis;
+            this.maxArticleMillis = maxArticleMillis;
+        }
+
+        public int getTotal() { return total; }
+        public int getSuccess() { return success; }
+        public int getSkipped() { return skipped; }
+        public int getFailed() { return failed; }
+        public int getConcurrency() { return concurrency; }
+        public long getAvgArticleMillis() { return avgArticleMillis; }
+        public long getMaxArticleMillis() { return maxArticleMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("{总数=%d, 成功=%d, 跳过=%d, 失败=%d, 并发=%d, 单篇平均=%dms, 单篇最大=%dms}",
+                    total, success, skipped, failed, concurrency, avgArticleMillis, maxArticleMillis);
+        }
+    }
+}
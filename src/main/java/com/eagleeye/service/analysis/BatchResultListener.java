@@ -0,0 +1,26 @@
+package com.eagleeye.service.analysis;
+
+/**
+ * 批量 AI 分析的逐篇结果回调
+ *
+ * @param <T> 分析结果类型
+ * @author eagleeye
+ */
+public interface BatchResultListener<T> {
+
+    /**
+     * 一篇文章分析成功
+     *
+     * @param index 文章在请求列表中的下标
+     * @param result 分析结果
+     */
+    void onResult(int index, T result);
+
+    /**
+     * 一篇文章分析失败
+     *
+     * @param index 文章在请求列表中的下标
+     * @param error 失败原因
+     */
+    void onError(int index, RuntimeException error);
+}
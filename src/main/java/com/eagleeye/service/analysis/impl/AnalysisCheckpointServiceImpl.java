@@ -0,0 +1,84 @@
+package com.eagleeye.service.analysis.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.eagleeye.model.entity.AnalysisCheckpoint;
+import com.eagleeye.repository.AnalysisCheckpointRepository;
+import com.eagleeye.service.analysis.AnalysisCheckpointService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 批次分析断点服务实现类
+ *
+ * @author eagleeye
+ */
+@Slf4j
+@Service
+public class AnalysisCheckpointServiceImpl implements AnalysisCheckpointService {
+
+    private static final String STATUS_COMPLETED = "completed";
+    private static final String STATUS_FAILED = "failed";
+
+    /**
+     * error_message 列长度
+     */
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    @Resource
+    private AnalysisCheckpointRepository analysisCheckpointRepository;
+
+    @Override
+    public Set<String> listCompletedKeys(Long taskLogId, String category) {
+        return analysisCheckpointRepository.selectList(Wrappers.lambdaQuery(AnalysisCheckpoint.class)
+                        .select(AnalysisCheckpoint::getArticleKey)
+                        .eq(AnalysisCheckpoint::getTaskLogId, taskLogId)
+                        .eq(AnalysisCheckpoint::getCategory, category)
+                        .eq(AnalysisCheckpoint::getStatus, STATUS_COMPLETED))
+                .stream()
+                .map(AnalysisCheckpoint::getArticleKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void markCompleted(Long taskLogId, String category, String articleKey) {
+        save(taskLogId, category, articleKey, STATUS_COMPLETED, null);
+    }
+
+    @Override
+    public void markFailed(Long taskLogId, String category, String articleKey, String errorMessage) {
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_LENGTH);
+        }
+        try {
+            save(taskLogId, category, articleKey, STATUS_FAILED, errorMessage);
+        } catch (Exception e) {
+            // 失败断点只用于排查，写入失败不影响批次继续执行
+            log.warn("记录分析失败断点失败: taskLogId={}, category={}, articleKey={}", taskLogId, category, articleKey, e);
+        }
+    }
+
+    @Override
+    public void clear(Long taskLogId, String category) {
+        int deleted = analysisCheckpointRepository.delete(Wrappers.lambdaQuery(AnalysisCheckpoint.class)
+                .eq(AnalysisCheckpoint::getTaskLogId, taskLogId)
+                .eq(AnalysisCheckpoint::getCategory, category));
+        log.info("已清空分析断点: taskLogId={}, category={}, count={}", taskLogId, category, deleted);
+    }
+
+    /**
+     * 新增或更新断点：一条 INSERT ... ON DUPLICATE KEY UPDATE，并发写入同一篇文章时也不会因唯一键冲突失败
+     */
+    private void save(Long taskLogId, String category, String articleKey, String status, String errorMessage) {
+        AnalysisCheckpoint checkpoint = new AnalysisCheckpoint();
+        checkpoint.setTaskLogId(taskLogId);
+        checkpoint.setCategory(category);
+        checkpoint.setArticleKey(articleKey);
+        checkpoint.setStatus(status);
+        checkpoint.setErrorMessage(errorMessage);
+        analysisCheckpointRepository.upsert(checkpoint);
+    }
+}
@@ -0,0 +1,656 @@
+package com.eagleeye.service.analysis.impl;
+
+import com.eagleeye.model.dto.BatchArticle;
+import com.eagleeye.model.entity.CrawlerTaskLog;
+import com.eagleeye.repository.CrawlerTaskLogRepository;
+import com.eagleeye.service.analysis.AnalysisCheckpointService;
+import com.eagleeye.service.analysis.ArticleResultListener;
+import com.eagleeye.service.analysis.BatchAnalysisService;
+import com.eagleeye.service.competitor.CompetitorAnalysisService;
+import com.eagleeye.service.crawler.CrawlerTaskLogService;
+import com.eagleeye.service.policy.PolicyAnalysisService;
+import com.eagleeye.service.settings.ProductContextProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批次分析服务实现
+ * 所有批次的文章按清单顺序进入同一个工作队列，分发线程按顺序取出第一个所属管道未达并发上限的文章，
+ * 提交到该管道的线程池执行（政策 / 竞品各自的并发度与线程池不变）。
+ *
+ * @author eagleeye
+ */
+@Service
+public class BatchAnalysisServiceImpl implements BatchAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchAnalysisServiceImpl.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${crawl-files.base-path}")
+    private String crawlFilesBasePath;
+
+    /**
+     * 单个批次内并行分析的政策文章数
+     */
+    @Value("${eagleeye.analysis.policy.concurrency:4}")
+    private int policyConcurrency;
+
+    /**
+     * 单个批次内并行分析的竞品文章数
+     */
+    @Value("${eagleeye.analysis.competitor.concurrency:4}")
+    private int competitorConcurrency;
+
+    /**
+     * 每次批量请求的政策文章数（<= 1 时逐篇请求 proxy-service）
+     */
+    @Value("${eagleeye.analysis.policy.batch-size:1}")
+    private int policyBatchSize;
+
+    /**
+     * 每次批量请求的竞品文章数（<= 1 时逐篇请求 proxy-service）
+     */
+    @Value("${eagleeye.analysis.competitor.batch-size:1}")
+    private int competitorBatchSize;
+
+    private final CrawlerTaskLogRepository taskLogRepository;
+    private final CrawlerTaskLogService crawlerTaskLogService;
+    private final AnalysisCheckpointService analysisCheckpointService;
+    private final PolicyAnalysisService policyAnalysisService;
+    private final CompetitorAnalysisService competitorAnalysisService;
+    private final ProductContextProvider productContextProvider;
+    private final Executor batchAnalysisExecutor;
+    private final Executor policyAnalysisExecutor;
+    private final Executor competitorAnalysisExecutor;
+
+    /**
+     * 本节点正在分析的任务日志ID
+     */
+    private final Set<Long> runningTasks = ConcurrentHashMap.newKeySet();
+
+    public BatchAnalysisServiceImpl(
+            CrawlerTaskLogRepository taskLogRepository,
+            CrawlerTaskLogService crawlerTaskLogService,
+            AnalysisCheckpointService analysisCheckpointService,
+            PolicyAnalysisService policyAnalysisService,
+            CompetitorAnalysisService competitorAnalysisService,
+            ProductContextProvider productContextProvider,
+            @Qualifier("batchAnalysisExecutor") Executor batchAnalysisExecutor,
+            @Qualifier("policyAnalysisExecutor") Executor policyAnalysisExecutor,
+            @Qualifier("competitorAnalysisExecutor") Executor competitorAnalysisExecutor) {
+        this.taskLogRepository = taskLogRepository;
+        this.crawlerTaskLogService = crawlerTaskLogService;
+        this.analysisCheckpointService = analysisCheckpointService;
+        this.policyAnalysisService = policyAnalysisService;
+        this.competitorAnalysisService = competitorAnalysisService;
+        this.productContextProvider = productContextProvider;
+        this.batchAnalysisExecutor = batchAnalysisExecutor;
+        this.policyAnalysisExecutor = policyAnalysisExecutor;
+        this.competitorAnalysisExecutor = competitorAnalysisExecutor;
+    }
+
+    @Override
+    public void submit(Long taskLogId, Long userId, Mode mode, Set<String> categories, boolean bypassCache) {
+        if (!runningTasks.add(taskLogId)) {
+            throw new RuntimeException("任务正在分析中");
+        }
+        try {
+            batchAnalysisExecutor.execute(() -> {
+                try {
+                    runAnalysis(taskLogId, userId, mode, categories, bypassCache);
+                } catch (Exception e) {
+                    log.error("批次分析失败: taskLogId={}, mode={}, userId={}", taskLogId, mode, userId, e);
+                } finally {
+                    runningTasks.remove(taskLogId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            runningTasks.remove(taskLogId);
+            throw new RuntimeException("批次分析线程池已满，请稍后再试", e);
+        }
+        log.info("批次分析已提交: taskLogId={}, mode={}, categories={}, userId={}", taskLogId, mode, categories, userId);
+    }
+
+    @Override
+    public AnalysisSummary analyze(Long taskLogId, Long userId, Mode mode, Set<String> categories, boolean bypassCache) {
+        if (!runningTasks.add(taskLogId)) {
+            throw new RuntimeException("任务正在分析中");
+        }
+        try {
+            return runAnalysis(taskLogId, userId, mode, categories, bypassCache);
+        } finally {
+            runningTasks.remove(taskLogId);
+        }
+    }
+
+    @Override
+    public boolean isRunning(Long taskLogId) {
+        return runningTasks.contains(taskLogId);
+    }
+
+    /**
+     * 执行批次分析；失败时将任务分析状态更新为 failed
+     */
+    private AnalysisSummary runAnalysis(Long taskLogId, Long userId, Mode mode, Set<String> categories, boolean bypassCache) {
+        log.info("开始批次分析: taskLogId={}, mode={}, categories={}, userId={}, bypassCache={}",
+                taskLogId, mode, categories, userId, bypassCache);
+        long start = System.nanoTime();
+
+        // 1. 获取任务日志
+        CrawlerTaskLog taskLog = taskLogRepository.selectById(taskLogId);
+        if (taskLog == null) {
+            throw new RuntimeException("任务日志不存在: " + taskLogId);
+        }
+
+        try {
+            List<String> batchPaths = resolveBatchPaths(taskLog);
+            log.info("使用批次路径: {}", batchPaths);
+
+            // 2. 更新任务状态为分析中
+            updateTaskLogStatus(taskLogId, "analyzing", null);
+
+            // 3. 读取批次清单（每个 metadata.json 只解析一次）
+            BatchManifest manifest = loadManifest(batchPaths, categories);
+
+            // 产品上下文在批次开始时加载一次，同一份快照传给各分析管道，批次内不再重复获取
+            ProductContextProvider.ProductContext productContext = productContextProvider.get(userId);
+            log.info("产品上下文: userId={}, 产品数={}, hash={}", userId, productContext.getProductCount(), productContext.getHash());
+
+            List<Lane> lanes = new ArrayList<>();
+            for (String category : categories) {
+                Lane lane = createLane(category, taskLogId, productContext, mode, bypassCache);
+                lanes.add(lane);
+                log.info("找到 {} 篇{}文章", manifest.countOf(category), lane.label);
+            }
+
+            // 4. 准备断点：再分析先删除旧记录；其他模式整批探测已入库的 URL；首次分析清空断点；续跑读取已完成的文章
+            for (Lane lane : lanes) {
+                if (mode == Mode.RE_ANALYZE) {
+                    lane.deleteByUrls(manifest.urlsOf(lane.category));
+                } else if (lane.prober != null) {
+                    lane.existingUrls = lane.prober.findExisting(manifest.urlsOf(lane.category));
+                    log.info("已入库 {} 篇{}文章，本次跳过", lane.existingUrls.size(), lane.label);
+                }
+                if (mode == Mode.RESUME) {
+                    lane.completedKeys = analysisCheckpointService.listCompletedKeys(taskLogId, lane.category);
+                    log.info("断点中已完成 {} 篇{}文章，本次跳过", lane.completedKeys.size(), lane.label);
+                } else {
+                    analysisCheckpointService.clear(taskLogId, lane.category);
+                }
+            }
+
+            // 5. 通过共享工作队列分发到各分析管道，每篇完成后更新进度
+            AnalysisSummary summary = runQueue(taskLogId, manifest.articles, lanes);
+            summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            // 6. 更新任务状态为完成
+            updateTaskLogStatus(taskLogId, "completed", summary);
+
+            log.info("批次分析完成: taskLogId={}, mode={}, {}", taskLogId, mode, summary);
+            return summary;
+        } catch (RuntimeException e) {
+            updateTaskLogStatus(taskLogId, "failed", null);
+            throw e;
+        }
+    }
+
+    /**
+     * 获取任务的批次绝对路径列表（多 URL 父任务返回所有成功子任务的批次）
+     */
+    private List<String> resolveBatchPaths(CrawlerTaskLog taskLog) {
+        List<String> batchPaths = new ArrayList<>();
+        for (String batchPath : crawlerTaskLogService.listBatchPaths(taskLog)) {
+            // 如果是相对路径，转换为绝对路径
+            batchPaths.add(batchPath.startsWith("/") ? batchPath : crawlFilesBasePath + batchPath);
+        }
+        if (batchPaths.isEmpty()) {
+            throw new RuntimeException("批次路径为空: " + taskLog.getLogId());
+        }
+        return batchPaths;
+    }
+
+    /**
+     * 读取所有批次的 metadata.json，收集指定分类的文章
+     */
+    private BatchManifest loadManifest(List<String> batchPaths, Set<String> categories) {
+        BatchManifest manifest = new BatchManifest();
+        for (String batchPath : batchPaths) {
+            File metadataFile = new File(batchPath, "metadata.json");
+            if (!metadataFile.exists()) {
+                log.warn("metadata.json 不存在: {}", metadataFile.getAbsolutePath());
+                continue;
+            }
+
+            JsonNode rootNode;
+            try {
+                rootNode = objectMapper.readTree(Files.readString(metadataFile.toPath()));
+            } catch (IOException e) {
+                log.error("读取 metadata.json 失败: batchPath={}", batchPath, e);
+                throw new RuntimeException("读取批次文件失败: " + e.getMessage(), e);
+            }
+
+            JsonNode articlesNode = rootNode.get("articles");
+            if (articlesNode == null || !articlesNode.isArray()) {
+                log.warn("metadata.json 中没有 articles 数组: {}", batchPath);
+                continue;
+            }
+
+            // 从顶层读取 source（批次级别的来源）
+            JsonNode topSourceNode = rootNode.get("source");
+            String batchSource = (topSourceNode != null) ? topSourceNode.asText() : null;
+
+            for (JsonNode articleNode : articlesNode) {
+                JsonNode categoryNode = articleNode.get("category");
+                if (categoryNode == null || !categories.contains(categoryNode.asText())) {
+                    continue;
+                }
+                String category = categoryNode.asText();
+                JsonNode urlNode = articleNode.get("url");
+                String url = (urlNode != null) ? urlNode.asText() : null;
+                if (url != null) {
+                    // 再分析时按 URL 删除旧记录，文件缺失的文章也要删除
+                    manifest.urlsByCategory.computeIfAbsent(category, key -> new ArrayList<>()).add(url);
+                }
+
+                JsonNode filenameNode = articleNode.get("filename");
+                if (filenameNode == null) {
+                    continue;
+                }
+                File file = new File(batchPath, filenameNode.asText());
+                if (!file.exists()) {
+                    log.warn("文件不存在: {}", file.getAbsolutePath());
+                    continue;
+                }
+                manifest.articles.add(new BatchArticle(category, file.getAbsolutePath(), url, batchSource));
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * 创建分类对应的分析管道
+     */
+    private Lane createLane(String category, Long taskLogId, ProductContextProvider.ProductContext productContext,
+                            Mode mode, boolean bypassCache) {
+        if (AnalysisCheckpointService.CATEGORY_POLICY.equals(category)) {
+            ArticleHandler handler = mode == Mode.RE_ANALYZE
+                    ? (article, existingUrls) -> {
+                        policyAnalysisService.reAnalyzeArticle(taskLogId, article, productContext, bypassCache);
+                        return true;
+                    }
+                    : (article, existingUrls) -> policyAnalysisService.analyzeArticle(taskLogId, article, productContext, existingUrls);
+            ChunkHandler chunkHandler = (chunk, existingUrls, listener) -> policyAnalysisService.analyzeArticles(
+                    taskLogId, chunk, productContext, existingUrls, mode == Mode.RE_ANALYZE, bypassCache, listener);
+            return new Lane(category, "政策", policyAnalysisExecutor, policyConcurrency, policyBatchSize,
+                    handler, chunkHandler, policyAnalysisService::deleteAnalysisByUrls, policyAnalysisService::findExistingUrls);
+        }
+        if (AnalysisCheckpointService.CATEGORY_COMPETITOR.equals(category)) {
+            ArticleHandler handler = (article, existingUrls) -> {
+                competitorAnalysisService.analyzeArticle(taskLogId, article, productContext, bypassCache);
+                return true;
+            };
+            ChunkHandler chunkHandler = (chunk, existingUrls, listener) -> competitorAnalysisService.analyzeArticles(
+                    taskLogId, chunk, productContext, bypassCache, listener);
+            return new Lane(category, "竞品", competitorAnalysisExecutor, competitorConcurrency, competitorBatchSize,
+                    handler, chunkHandler, competitorAnalysisService::deleteAnalysisByUrls, null);
+        }
+        throw new IllegalArgumentException("不支持的文章分类: " + category);
+    }
+
+    /**
+     * 按清单顺序分发文章：同一分类中 URL 重复的文章只分析一次，断点中已完成或已入库的文章不再分析，均计为跳过。
+     * 分发线程取队列中第一个所属管道未达并发上限的文章（管道配置了批量大小时连同后续同分类文章组成一批），
+     * 管道线程池拒绝时在分发线程中执行。
+     */
+    private AnalysisSummary runQueue(Long taskLogId, List<BatchArticle> articles, List<Lane> lanes) {
+        Map<String, Lane> laneByCategory = new LinkedHashMap<>();
+        for (Lane lane : lanes) {
+            laneByCategory.put(lane.category, lane);
+        }
+
+        // 共享工作队列
+        Deque<BatchArticle> queue = new ArrayDeque<>();
+        Set<String> seenUrls = new HashSet<>();
+        for (BatchArticle article : articles) {
+            Lane lane = laneByCategory.get(article.getCategory());
+            lane.total++;
+            if (lane.completedKeys.contains(article.checkpointKey())) {
+                log.debug("断点中已完成，跳过{}文章: {}", lane.label, article.checkpointKey());
+                lane.skipped.incrementAndGet();
+                continue;
+            }
+            String url = article.getUrl();
+            if (url != null && lane.existingUrls.contains(url)) {
+                log.debug("已入库，跳过{}文章: {}", lane.label, url);
+                lane.skipped.incrementAndGet();
+                continue;
+            }
+            // 多 URL 任务的子批次可能包含同一篇文章，避免并行时重复入库
+            if (url != null && !url.isEmpty() && !seenUrls.add(article.getCategory() + ":" + url)) {
+                log.info("批次中存在重复的{}文章，跳过: {}", lane.label, url);
+                lane.skipped.incrementAndGet();
+                continue;
+            }
+            queue.add(article);
+        }
+        log.info("批次分析队列: taskLogId={}, queued={}, lanes={}", taskLogId, queue.size(), laneByCategory.keySet());
+
+        Object monitor = new Object();
+        AtomicInteger lastProgress = new AtomicInteger(-1);
+        while (true) {
+            List<BatchArticle> next;
+            Lane lane;
+            synchronized (monitor) {
+                while ((next = pollDispatchable(queue, laneByCategory)) == null) {
+                    if (queue.isEmpty() && lanes.stream().allMatch(l -> l.inFlight == 0)) {
+                        return buildSummary(lanes);
+                    }
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("批次分析被中断", e);
+                    }
+                }
+                lane = laneByCategory.get(next.get(0).getCategory());
+                lane.inFlight++;
+            }
+
+            List<BatchArticle> chunk = next;
+            Lane articleLane = lane;
+            Runnable task = () -> {
+                try {
+                    if (chunk.size() == 1) {
+                        processArticle(taskLogId, articleLane, chunk.get(0));
+                    } else {
+                        processChunk(taskLogId, articleLane, chunk, () -> writeProgress(taskLogId, lanes, lastProgress));
+                    }
+                } finally {
+                    // 先写进度再释放名额，保证最终的 completed 状态不会被迟到的进度覆盖
+                    writeProgress(taskLogId, lanes, lastProgress);
+                    synchronized (monitor) {
+                        articleLane.inFlight--;
+                        monitor.notifyAll();
+                    }
+                }
+            };
+            try {
+                lane.executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.warn("{}分析线程池已满，在当前线程执行", lane.label);
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * 取出队列中第一个所属管道未达并发上限的文章，以及其后最多 batchSize - 1 篇同分类文章（调用方需持有锁）
+     */
+    private List<BatchArticle> pollDispatchable(Deque<BatchArticle> queue, Map<String, Lane> laneByCategory) {
+        List<BatchArticle> chunk = null;
+        Lane lane = null;
+        Iterator<BatchArticle> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            BatchArticle article = iterator.next();
+            if (chunk == null) {
+                Lane candidate = laneByCategory.get(article.getCategory());
+                if (candidate.inFlight < candidate.concurrency) {
+                    lane = candidate;
+                    chunk = new ArrayList<>();
+                }
+            }
+            if (chunk != null && lane.category.equals(article.getCategory())) {
+                iterator.remove();
+                chunk.add(article);
+                if (chunk.size() >= lane.batchSize) {
+                    break;
+                }
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * 分析单篇文章并记录结果与耗时
+     */
+    private void processArticle(Long taskLogId, Lane lane, BatchArticle article) {
+        long start = System.nanoTime();
+        try {
+            recordSuccess(lane, article, lane.handler.handle(article, lane.existingUrls), start);
+        } catch (Exception e) {
+            recordFailure(taskLogId, lane, article, e, start);
+        }
+    }
+
+    /**
+     * 通过批量接口分析一批文章：每篇结果到达时记录结果并更新进度，单篇耗时按距上一篇结果到达的间隔计算
+     */
+    private void processChunk(Long taskLogId, Lane lane, List<BatchArticle> chunk, Runnable onProgress) {
+        log.info("批量分析{}文章: {} 篇", lane.label, chunk.size());
+        long[] lastArrival = {System.nanoTime()};
+        Set<BatchArticle> reported = new HashSet<>();
+        ArticleResultListener listener = new ArticleResultListener() {
+            @Override
+            public void onSuccess(BatchArticle article, boolean analyzed) {
+                if (reported.add(article)) {
+                    recordSuccess(lane, article, analyzed, lastArrival[0]);
+                    lastArrival[0] = System.nanoTime();
+                    onProgress.run();
+                }
+            }
+
+            @Override
+            public void onFailure(BatchArticle article, Exception error) {
+                if (reported.add(article)) {
+                    recordFailure(taskLogId, lane, article, error, lastArrival[0]);
+                    lastArrival[0] = System.nanoTime();
+                    onProgress.run();
+                }
+            }
+        };
+        try {
+            lane.chunkHandler.handle(chunk, lane.existingUrls, listener);
+        } catch (Exception e) {
+            log.error("批量分析{}文章失败", lane.label, e);
+            for (BatchArticle article : chunk) {
+                listener.onFailure(article, e);
+            }
+        }
+        // 没有回调结果的文章计为失败，保证统计总数一致
+        for (BatchArticle article : chunk) {
+            listener.onFailure(article, new RuntimeException("未返回分析结果"));
+        }
+    }
+
+    private void recordSuccess(Lane lane, BatchArticle article, boolean analyzed, long startNanos) {
+        if (analyzed) {
+            lane.success.incrementAndGet();
+        } else {
+            lane.skipped.incrementAndGet();
+        }
+        recordElapsed(lane, article, true, startNanos);
+    }
+
+    private void recordFailure(Long taskLogId, Lane lane, BatchArticle article, Exception e, long startNanos) {
+        log.error("分析{}文章失败: {}", lane.label, article.getFilePath(), e);
+        lane.failed.incrementAndGet();
+        analysisCheckpointService.markFailed(taskLogId, lane.category, article.checkpointKey(), e.getMessage());
+        recordElapsed(lane, article, false, startNanos);
+    }
+
+    private void recordElapsed(Lane lane, BatchArticle article, boolean ok, long startNanos) {
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        lane.finished.incrementAndGet();
+        lane.totalArticleMillis.addAndGet(elapsed);
+        lane.maxArticleMillis.accumulateAndGet(elapsed, Math::max);
+        log.info("{}文章分析耗时: url={}, success={}, elapsedMillis={}", lane.label, article.getUrl(), ok, elapsed);
+    }
+
+    /**
+     * 写入分析进度（analyzing 状态下的 analysisResult），只写比上次更新的进度
+     */
+    private void writeProgress(Long taskLogId, List<Lane> lanes, AtomicInteger lastProgress) {
+        AnalysisSummary progress = buildSummary(lanes);
+        synchronized (lastProgress) {
+            if (progress.getProcessed() <= lastProgress.get()) {
+                return;
+            }
+            lastProgress.set(progress.getProcessed());
+            try {
+                updateTaskLogStatus(taskLogId, "analyzing", progress);
+            } catch (Exception e) {
+                log.warn("更新分析进度失败: taskLogId={}", taskLogId, e);
+            }
+        }
+    }
+
+    private AnalysisSummary buildSummary(List<Lane> lanes) {
+        AnalysisSummary summary = new AnalysisSummary();
+        for (Lane lane : lanes) {
+            int finished = lane.finished.get();
+            summary.addCategory(lane.category, new CategorySummary(lane.total,
+                    lane.success.get(), lane.skipped.get(), lane.failed.get(), lane.concurrency,
+                    finished > 0 ? lane.totalArticleMillis.get() / finished : 0L,
+                    lane.maxArticleMillis.get()));
+        }
+        return summary;
+    }
+
+    /**
+     * 更新任务日志的分析状态
+     */
+    private void updateTaskLogStatus(Long taskLogId, String status, AnalysisSummary summary) {
+        CrawlerTaskLog taskLog = new CrawlerTaskLog();
+        taskLog.setLogId(taskLogId);
+        taskLog.setAnalysisStatus(status);
+
+        if (summary != null) {
+            try {
+                String summaryJson = objectMapper.writeValueAsString(summary);
+                taskLog.setAnalysisResult(summaryJson);
+            } catch (Exception e) {
+                log.error("序列化分析结果失败", e);
+            }
+        }
+
+        taskLogRepository.updateById(taskLog);
+    }
+
+    /**
+     * 批次清单
+     */
+    private static class BatchManifest {
+        private final List<BatchArticle> articles = new ArrayList<>();
+        private final Map<String, List<String>> urlsByCategory = new LinkedHashMap<>();
+
+        long countOf(String category) {
+            return articles.stream().filter(article -> category.equals(article.getCategory())).count();
+        }
+
+        List<String> urlsOf(String category) {
+            return urlsByCategory.getOrDefault(category, Collections.emptyList());
+        }
+    }
+
+    /**
+     * 单篇文章的分析逻辑（existingUrls 为批次开始时整批探测到的已入库 URL）
+     */
+    @FunctionalInterface
+    private interface ArticleHandler {
+        /**
+         * @return true-已分析入库, false-已存在而跳过
+         */
+        boolean handle(BatchArticle article, Set<String> existingUrls) throws Exception;
+    }
+
+    /**
+     * 一批文章的分析逻辑（批量接口），每篇结果通过 listener 回调
+     */
+    @FunctionalInterface
+    private interface ChunkHandler {
+        void handle(List<BatchArticle> chunk, Set<String> existingUrls, ArticleResultListener listener) throws Exception;
+    }
+
+    /**
+     * 按 URL 删除旧分析记录
+     */
+    @FunctionalInterface
+    private interface UrlDeleter {
+        int delete(List<String> urls);
+    }
+
+    /**
+     * 按 URL 批量探测已入库的记录
+     */
+    @FunctionalInterface
+    private interface UrlProber {
+        Set<String> findExisting(List<String> urls);
+    }
+
+    /**
+     * 一个分类的分析管道：线程池、并发上限与统计
+     */
+    private static class Lane {
+        private final String category;
+        private final String label;
+        private final Executor executor;
+        private final int concurrency;
+        private final int batchSize;
+        private final ArticleHandler handler;
+        private final ChunkHandler chunkHandler;
+        private final UrlDeleter deleter;
+        private final UrlProber prober;     // 为空时不做整批探测，由单篇分析自行判断
+        private Set<String> completedKeys = Collections.emptySet();
+        private Set<String> existingUrls = Collections.emptySet();
+        private int total;
+        private int inFlight;
+        private final AtomicInteger success = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger finished = new AtomicInteger();
+        private final AtomicLong totalArticleMillis = new AtomicLong();
+        private final AtomicLong maxArticleMillis = new AtomicLong();
+
+        Lane(String category, String label, Executor executor, int concurrency, int batchSize,
+             ArticleHandler handler, ChunkHandler chunkHandler, UrlDeleter deleter, UrlProber prober) {
+            this.category = category;
+            this.label = label;
+            this.executor = executor;
+            this.concurrency = Math.max(1, concurrency);
+            this.batchSize = Math.max(1, batchSize);
+            this.handler = handler;
+            this.chunkHandler = chunkHandler;
+            this.deleter = deleter;
+            this.prober = prober;
+        }
+
+        void deleteByUrls(List<String> urls) {
+            deleter.delete(urls);
+        }
+    }
+}
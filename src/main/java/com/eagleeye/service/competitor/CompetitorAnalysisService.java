@@ -1,70 +1,50 @@
 package com.eagleeye.service.competitor;
 
+import com.eagleeye.model.dto.BatchArticle;
+import com.eagleeye.service.analysis.ArticleResultListener;
+import com.eagleeye.service.settings.ProductContextProvider;
+
+import java.io.IOException;
+import java.util.List;
+
 /**
  * 竞品分析服务接口
+ * 处理单篇竞品文章的分析和入库，批次级别的调度由 BatchAnalysisService 负责
  *
  * @author eagleeye
  */
 public interface CompetitorAnalysisService {
 
     /**
-     * 异步分析指定批次中的竞品文章
-     *
-     * @param taskLogId 爬虫任务日志ID
-     * @param userId 用户ID
-     */
-    void analyzeCompetitorsAsync(Long taskLogId, Long userId);
-
-    /**
-     * 异步重新分析指定批次中的竞品文章（删除旧记录后重新分析）
+     * 分析单篇竞品文章并入库（sourceUrl 已存在时更新原竞品记录）
+     * AI 分析在事务外执行，入库与断点在同一个短事务中提交；同一 sourceUrl 串行入库
      *
-     * @param taskLogId 爬虫任务日志ID
-     * @param userId 用户ID
+     * @param taskLogId 任务日志ID（用于记录断点）
+     * @param article 批次中的文章
+     * @param productContext 产品上下文快照（批次开始时加载一次，批次内各篇文章共用）
+     * @param bypassCache 是否跳过分析结果缓存，强制调用 AI 分析
      */
-    void reAnalyzeCompetitorsAsync(Long taskLogId, Long userId);
+    void analyzeArticle(Long taskLogId, BatchArticle article, ProductContextProvider.ProductContext productContext,
+                        boolean bypassCache) throws IOException;
 
     /**
-     * 分析指定批次中的竞品文章（同步）
+     * 批量分析一组竞品文章（通过 proxy-service 批量接口，共用产品上下文），每篇结果到达后立即入库并回调
      *
-     * @param taskLogId 爬虫任务日志ID
-     * @param userId 用户ID
-     * @return 分析结果摘要
+     * @param taskLogId 任务日志ID（用于记录断点）
+     * @param articles 批次中的文章
+     * @param productContext 产品上下文快照（批次开始时加载一次，批次内各篇文章共用）
+     * @param bypassCache 是否跳过分析结果缓存，强制调用 AI 分析
+     * @param listener 逐篇处理结果回调
      */
-    AnalysisSummary analyzeCompetitors(Long taskLogId, Long userId);
+    void analyzeArticles(Long taskLogId, List<BatchArticle> articles, ProductContextProvider.ProductContext productContext,
+                         boolean bypassCache, ArticleResultListener listener);
 
     /**
-     * 重新分析指定批次中的竞品文章（删除旧记录后重新分析）
+     * 删除指定 URL 对应的竞品及其分析、来源记录（同一个事务内按 URL 集合批量删除）
+     * 删除失败时抛出异常，再分析随之失败
      *
-     * @param taskLogId 爬虫任务日志ID
-     * @param userId 用户ID
-     * @return 分析结果摘要
+     * @param sourceUrls 竞品文章 URL 列表
+     * @return 删除的竞品数
      */
-    AnalysisSummary reAnalyzeCompetitors(Long taskLogId, Long userId);
-
-    /**
-     * 分析结果统计
-     */
-    class AnalysisSummary {
-        private int total;      // 总数
-        private int success;    // 成功数
-        private int skipped;    // 跳过数
-        private int failed;     // 失败数
-
-        public AnalysisSummary(int total, int success, int skipped, int failed) {
-            this.total = total;
-            this.success = success;
-            this.skipped = skipped;
-            this.failed = failed;
-        }
-
-        public int getTotal() { return total; }
-        public int getSuccess() { return success; }
-        public int getSkipped() { return skipped; }
-        public int getFailed() { return failed; }
-
-        @Override
-        public String toString() {
-            return String.format("总数=%d, 成功=%d, 跳过=%d, 失败=%d", total, success, skipped, failed);
-        }
-    }
+    int deleteAnalysisByUrls(List<String> sourceUrls);
 }
@@ -1,10 +1,14 @@
 package com.eagleeye.service.competitor;
 
 import com.eagleeye.common.api.CommonPage;
+import com.eagleeye.common.api.CursorPage;
 import com.eagleeye.model.dto.CompetitorQueryDTO;
 import com.eagleeye.model.vo.CompetitorDetailVO;
 import com.eagleeye.model.vo.CompetitorVO;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 竞品动态服务接口
  */
@@ -16,6 +20,35 @@ public interface CompetitorService {
      * @return 分页竞品信息
      */
     CommonPage<CompetitorVO> listCompetitors(CompetitorQueryDTO queryDTO);
+
+    /**
+     * 游标分页查询竞品动态列表（按抓取时间倒序，不使用 OFFSET，第一页按需统计总数）
+     * @param queryDTO 查询条件，cursor 为上一页返回的 nextCursor，为空时查询第一页
+     * @return 游标分页竞品信息
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    CursorPage<CompetitorVO> scrollCompetitors(CompetitorQueryDTO queryDTO);
+
+    /**
+     * 统计符合条件的竞品动态数（与列表使用相同的筛选条件，只执行 COUNT，忽略分页参数）
+     * @param queryDTO 查询条件
+     * @return 竞品动态数
+     */
+    long count(CompetitorQueryDTO queryDTO);
+
+    /**
+     * 按多组筛选条件分别统计竞品动态数（一条语句完成）
+     * @param queryDTOs 查询条件
+     * @return 与 queryDTOs 顺序一致的竞品动态数
+     */
+    List<Long> countMany(List<CompetitorQueryDTO> queryDTOs);
+
+    /**
+     * 标签分面计数：符合筛选条件的竞品动态中每个标签的动态数（一条 GROUP BY 语句，忽略标签筛选和分页参数）
+     * @param queryDTO 查询条件
+     * @return 标签 -> 竞品动态数，按动态数倒序
+     */
+    Map<String, Long> countTags(CompetitorQueryDTO queryDTO);
     
     /**
      * 获取竞品详情
@@ -1,36 +1,41 @@
 package com.eagleeye.service.competitor.impl;
 
+import cn.hutool.core.collection.ListUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.eagleeye.model.dto.BatchArticle;
 import com.eagleeye.model.dto.CompetitorAnalysisResult;
-import com.eagleeye.model.entity.CrawlerTaskLog;
 import com.eagleeye.model.entity.CompetitorAnalysis;
 import com.eagleeye.model.entity.CompetitorInfo;
 import com.eagleeye.model.entity.CompetitorSource;
-import com.eagleeye.repository.CrawlerTaskLogRepository;
+import com.eagleeye.model.entity.CompetitorTag;
 import com.eagleeye.repository.CompetitorAnalysisRepository;
 import com.eagleeye.repository.CompetitorRepository;
 import com.eagleeye.repository.CompetitorSourceRepository;
+import com.eagleeye.repository.CompetitorTagRepository;
+import com.eagleeye.repository.PolicyRepository;
+import com.eagleeye.service.analysis.AnalysisCheckpointService;
+import com.eagleeye.service.analysis.ArticleResultListener;
+import com.eagleeye.service.analysis.BatchResultListener;
+import com.eagleeye.service.dashboard.DashboardRollupService;
 import com.eagleeye.service.competitor.CompetitorAnalysisService;
 import com.eagleeye.service.competitor.CompetitorAnalyzer;
-import com.eagleeye.service.settings.SettingsService;
-import com.eagleeye.model.vo.ProductVO;
-import com.eagleeye.model.vo.SettingsDataVO;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.eagleeye.service.settings.ProductContextProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -45,288 +50,134 @@ public class CompetitorAnalysisServiceImpl implements CompetitorAnalysisService
     private static final Logger log = LoggerFactory.getLogger(CompetitorAnalysisServiceImpl.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Value("${crawl-files.base-path}")
-    private String crawlFilesBasePath;
+    /**
+     * 按 sourceUrl 分段的入库锁：同一 sourceUrl 的“查找或创建”串行执行，避免并行分析时重复插入 competitor_info
+     */
+    private static final int SOURCE_LOCK_STRIPES = 64;
+    private final Object[] sourceLocks = new Object[SOURCE_LOCK_STRIPES];
 
     private final CompetitorAnalyzer competitorAnalyzer;
-    private final CrawlerTaskLogRepository taskLogRepository;
     private final CompetitorRepository competitorRepository;
     private final CompetitorAnalysisRepository competitorAnalysisRepository;
     private final CompetitorSourceRepository competitorSourceRepository;
-    private final SettingsService settingsService;
+    private final CompetitorTagRepository competitorTagRepository;
+    private final AnalysisCheckpointService analysisCheckpointService;
+    private final DashboardRollupService dashboardRollupService;
+    private final ContentSearchIndex contentSearchIndex;
+    private final TransactionTemplate transactionTemplate;
 
     public CompetitorAnalysisServiceImpl(
             CompetitorAnalyzer competitorAnalyzer,
-            CrawlerTaskLogRepository taskLogRepository,
             CompetitorRepository competitorRepository,
             CompetitorAnalysisRepository competitorAnalysisRepository,
             CompetitorSourceRepository competitorSourceRepository,
-            SettingsService settingsService) {
+            CompetitorTagRepository competitorTagRepository,
+            AnalysisCheckpointService analysisCheckpointService,
+            DashboardRollupService dashboardRollupService,
+            ContentSearchIndex contentSearchIndex,
+            TransactionTemplate transactionTemplate) {
         this.competitorAnalyzer = competitorAnalyzer;
-        this.taskLogRepository = taskLogRepository;
         this.competitorRepository = competitorRepository;
         this.competitorAnalysisRepository = competitorAnalysisRepository;
         this.competitorSourceRepository = competitorSourceRepository;
-        this.settingsService = settingsService;
-    }
-
-    @Async
-    @Override
-    public void analyzeCompetitorsAsync(Long taskLogId, Long userId) {
-        log.info("异步分析竞品文章: taskLogId={}, userId={}", taskLogId, userId);
-        try {
-            analyzeCompetitors(taskLogId, userId);
-        } catch (Exception e) {
-            log.error("异步分析失败: taskLogId={}, userId={}", taskLogId, userId, e);
-            // 更新任务状态为失败
-            updateTaskLogStatus(taskLogId, "failed", null);
-        }
-    }
-
-    @Async
-    @Override
-    public void reAnalyzeCompetitorsAsync(Long taskLogId, Long userId) {
-        log.info("异步重新分析竞品文章: taskLogId={}, userId={}", taskLogId, userId);
-        try {
-            reAnalyzeCompetitors(taskLogId, userId);
-        } catch (Exception e) {
-            log.error("异步重新分析失败: taskLogId={}, userId={}", taskLogId, userId, e);
-            // 更新任务状态为失败
-            updateTaskLogStatus(taskLogId, "failed", null);
+        this.competitorTagRepository = competitorTagRepository;
+        this.analysisCheckpointService = analysisCheckpointService;
+        this.dashboardRollupService = dashboardRollupService;
+        this.contentSearchIndex = contentSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        for (int i = 0; i < SOURCE_LOCK_STRIPES; i++) {
+            sourceLocks[i] = new Object();
         }
     }
 
     @Override
-    @Transactional
-    public AnalysisSummary analyzeCompetitors(Long taskLogId, Long userId) {
-        log.info("开始分析竞品文章: taskLogId={}, userId={}", taskLogId, userId);
-
-        // 1. 获取任务日志
-        CrawlerTaskLog taskLog = taskLogRepository.selectById(taskLogId);
-        if (taskLog == null) {
-            throw new RuntimeException("任务日志不存在: " + taskLogId);
-        }
+    public void analyzeArticle(Long taskLogId, BatchArticle article, ProductContextProvider.ProductContext productContext,
+                               boolean bypassCache) throws IOException {
+        log.debug("处理竞品文章: {}", article.getFilePath());
 
-        String batchPath = taskLog.getBatchPath();
-        if (batchPath == null || batchPath.isEmpty()) {
-            throw new RuntimeException("批次路径为空: " + taskLogId);
-        }
+        // 1. 读取 Markdown 内容
+        String markdownContent = Files.readString(Paths.get(article.getFilePath()));
 
-        // 如果是相对路径，转换为绝对路径
-        if (!batchPath.startsWith("/")) {
-            batchPath = crawlFilesBasePath + batchPath;
+        // 2. 提取 sourceUrl（用于去重检查和存储）
+        String sourceUrl = article.getUrl();
+        if (sourceUrl == null || sourceUrl.isEmpty()) {
+            sourceUrl = extractSourceUrl(markdownContent);
         }
-        log.info("使用批次路径: {}", batchPath);
-
-        // 2. 更新任务状态为分析中
-        updateTaskLogStatus(taskLogId, "analyzing", null);
 
-        // 3. 读取 metadata.json
-        List<ArticleInfo> competitorArticles;
-        try {
-            competitorArticles = getCompetitorArticles(batchPath);
-        } catch (IOException e) {
-            log.error("读取 metadata.json 失败: batchPath={}", batchPath, e);
-            throw new RuntimeException("读取批次文件失败: " + e.getMessage(), e);
-        }
-        log.info("找到 {} 篇竞品文章", competitorArticles.size());
+        // 注意：移除了去重检查，允许重新分析已存在的文章
+        // 这样用户点击【竞品分析】按钮时可以真正重新分析
 
-        int total = competitorArticles.size();
-        int success = 0;
-        int skipped = 0;
-        int failed = 0;
+        // 3. 调用 AI 分析
+        CompetitorAnalysisResult result = competitorAnalyzer.analyze(markdownContent, productContext.getJson(), bypassCache);
 
-        // 4. 逐个分析竞品文章
-        for (ArticleInfo article : competitorArticles) {
-            try {
-                processCompetitorArticle(article.filePath, article.url, article.source, userId);
-                success++;
-            } catch (Exception e) {
-                log.error("分析竞品文章失败: {}", article.filePath, e);
-                failed++;
-            }
+        // 4. 存储到数据库并记录断点（同一 sourceUrl 串行入库，避免并行时重复创建竞品记录；
+        //    事务在锁内提交，后进入的线程能看到已创建的记录）
+        String resolvedUrl = sourceUrl;
+        synchronized (sourceLockOf(resolvedUrl)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                saveCompetitorAnalysisResult(markdownContent, resolvedUrl, article.getSource(), result);
+                analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_COMPETITOR, article.checkpointKey());
+            });
         }
-
-        // 5. 更新任务状态为完成
-        AnalysisSummary summary = new AnalysisSummary(total, success, skipped, failed);
-        updateTaskLogStatus(taskLogId, "completed", summary);
-
-        log.info("竞品分析完成: {}", summary);
-        return summary;
     }
 
     @Override
-    @Transactional
-    public AnalysisSummary reAnalyzeCompetitors(Long taskLogId, Long userId) {
-        log.info("开始重新分析竞品文章: taskLogId={}, userId={}", taskLogId, userId);
-
-        // 1. 获取任务日志
-        CrawlerTaskLog taskLog = taskLogRepository.selectById(taskLogId);
-        if (taskLog == null) {
-            throw new RuntimeException("任务日志不存在: " + taskLogId);
-        }
-
-        String batchPath = taskLog.getBatchPath();
-        if (batchPath == null || batchPath.isEmpty()) {
-            throw new RuntimeException("批次路径为空: " + taskLogId);
-        }
-
-        // 如果是相对路径，转换为绝对路径
-        if (!batchPath.startsWith("/")) {
-            batchPath = crawlFilesBasePath + batchPath;
-        }
-        log.info("使用批次路径: {}", batchPath);
-
-        // 2. 更新任务状态为分析中
-        updateTaskLogStatus(taskLogId, "analyzing", null);
-
-        // 3. 读取 metadata.json
-        List<ArticleInfo> competitorArticles;
-        try {
-            competitorArticles = getCompetitorArticles(batchPath);
-        } catch (IOException e) {
-            log.error("读取 metadata.json 失败: batchPath={}", batchPath, e);
-            throw new RuntimeException("读取批次文件失败: " + e.getMessage(), e);
-        }
-        log.info("找到 {} 篇竞品文章", competitorArticles.size());
-
-        // 4. 先删除该批次的所有旧分析记录
-        deleteOldCompetitorAnalysis(batchPath);
-        log.info("已删除该批次的旧分析记录");
-
-        int total = competitorArticles.size();
-        int success = 0;
-        int skipped = 0;
-        int failed = 0;
-
-        // 5. 逐个分析竞品文章（重新分析）
-        for (ArticleInfo article : competitorArticles) {
+    public void analyzeArticles(Long taskLogId, List<BatchArticle> articles, ProductContextProvider.ProductContext productContext,
+                                boolean bypassCache, ArticleResultListener listener) {
+        // 1. 读取 Markdown 内容
+        List<BatchArticle> pendingArticles = new ArrayList<>();
+        List<String> pendingContents = new ArrayList<>();
+        List<String> pendingUrls = new ArrayList<>();
+        for (BatchArticle article : articles) {
             try {
-                processCompetitorArticle(article.filePath, article.url, article.source, userId);
-                success++;
+                String markdownContent = Files.readString(Paths.get(article.getFilePath()));
+                String sourceUrl = article.getUrl();
+                if (sourceUrl == null || sourceUrl.isEmpty()) {
+                    sourceUrl = extractSourceUrl(markdownContent);
+                }
+                pendingArticles.add(article);
+                pendingContents.add(markdownContent);
+                pendingUrls.add(sourceUrl);
             } catch (Exception e) {
-                log.error("分析竞品文章失败: {}", article.filePath, e);
-                failed++;
+                listener.onFailure(article, e);
             }
         }
-
-        // 6. 更新任务状态为完成
-        AnalysisSummary summary = new AnalysisSummary(total, success, skipped, failed);
-        updateTaskLogStatus(taskLogId, "completed", summary);
-
-        log.info("竞品重新分析完成: {}", summary);
-        return summary;
-    }
-
-    /**
-     * 存储文章路径和 URL 映射的内部类
-     */
-    private static class ArticleInfo {
-        String filePath;
-        String url;
-        String source;
-
-        ArticleInfo(String filePath, String url, String source) {
-            this.filePath = filePath;
-            this.url = url;
-            this.source = source;
-        }
-    }
-
-    /**
-     * 获取批次中所有竞品文章的 Markdown 文件路径和 URL
-     */
-    private List<ArticleInfo> getCompetitorArticles(String batchPath) throws IOException {
-        List<ArticleInfo> articles = new ArrayList<>();
-
-        // 读取 metadata.json
-        File metadataFile = new File(batchPath, "metadata.json");
-        if (!metadataFile.exists()) {
-            log.warn("metadata.json 不存在: {}", metadataFile.getAbsolutePath());
-            return articles;
-        }
-
-        // 读取文件内容
-        String metadataContent = Files.readString(metadataFile.toPath());
-
-        JsonNode rootNode = objectMapper.readTree(metadataContent);
-        JsonNode articlesNode = rootNode.get("articles");
-
-        if (articlesNode == null || !articlesNode.isArray()) {
-            log.warn("metadata.json 中没有 articles 数组");
-            return articles;
+        if (pendingArticles.isEmpty()) {
+            return;
         }
 
-        // 从顶层读取 source（批次级别的来源）
-        JsonNode topSourceNode = rootNode.get("source");
-        String batchSource = (topSourceNode != null) ? topSourceNode.asText() : null;
-
-        // 筛选 category 为 "competitor" 的文章
-        for (JsonNode articleNode : articlesNode) {
-            JsonNode categoryNode = articleNode.get("category");
-            if (categoryNode != null && "competitor".equals(categoryNode.asText())) {
-                JsonNode filenameNode = articleNode.get("filename");
-                JsonNode urlNode = articleNode.get("url");
-
-                if (filenameNode != null) {
-                    File file = new File(batchPath, filenameNode.asText());
-                    if (!file.exists()) {
-                        log.warn("文件不存在: {}", file.getAbsolutePath());
-                        continue;
+        // 2. 批量调用 AI 分析（共用产品上下文），每篇结果到达后立即入库并记录断点
+        competitorAnalyzer.analyzeBatch(pendingContents, productContext.getJson(), bypassCache, new BatchResultListener<CompetitorAnalysisResult>() {
+            @Override
+            public void onResult(int index, CompetitorAnalysisResult result) {
+                BatchArticle article = pendingArticles.get(index);
+                String sourceUrl = pendingUrls.get(index);
+                try {
+                    synchronized (sourceLockOf(sourceUrl)) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            saveCompetitorAnalysisResult(pendingContents.get(index), sourceUrl, article.getSource(), result);
+                            analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_COMPETITOR, article.checkpointKey());
+                        });
                     }
-                    String url = (urlNode != null) ? urlNode.asText() : null;
-                    articles.add(new ArticleInfo(file.getAbsolutePath(), url, batchSource));
+                    listener.onSuccess(article, true);
+                } catch (Exception e) {
+                    listener.onFailure(article, e);
                 }
             }
-        }
 
-        return articles;
+            @Override
+            public void onError(int index, RuntimeException error) {
+                listener.onFailure(pendingArticles.get(index), error);
+            }
+        });
     }
 
     /**
-     * 处理单篇竞品文章
+     * 获取 sourceUrl 对应的入库锁（sourceUrl 为空时总是新建记录，共用同一把锁）
      */
-    @Transactional
-    private void processCompetitorArticle(String markdownPath, String sourceUrl, String source, Long userId) throws IOException {
-        log.debug("处理竞品文章: {}", markdownPath);
-
-        // 1. 读取 Markdown 内容
-        String markdownContent = Files.readString(Paths.get(markdownPath));
-
-        // 2. 提取 sourceUrl（用于去重检查和存储）
-        if (sourceUrl == null || sourceUrl.isEmpty()) {
-            sourceUrl = extractSourceUrl(markdownContent);
-        }
-
-        // 注意：移除了去重检查，允许重新分析已存在的文章
-        // 这样用户点击【竞品分析】按钮时可以真正重新分析
-
-        // 3. 获取用户产品列表
-        String productsJson = null;
-        try {
-            SettingsDataVO settingsData = settingsService.getSettingsData(userId);
-            List<ProductVO> products = settingsData.getMyProducts();
-            if (products != null && !products.isEmpty()) {
-                List<Map<String, String>> productList = new ArrayList<>();
-                for (ProductVO product : products) {
-                    Map<String, String> productInfo = new HashMap<>();
-                    productInfo.put("name", product.getName());
-                    productInfo.put("type", product.getType());
-                    productInfo.put("features", product.getFeatures());
-                    productList.add(productInfo);
-                }
-                productsJson = objectMapper.writeValueAsString(productList);
-                log.debug("获取到 {} 个产品信息", products.size());
-            }
-        } catch (Exception e) {
-            log.warn("获取用户产品列表失败: userId={}", userId, e);
-        }
-
-        // 4. 调用 AI 分析
-        CompetitorAnalysisResult result = competitorAnalyzer.analyze(markdownContent, productsJson);
-
-        // 5. 存储到数据库
-        saveCompetitorAnalysisResult(markdownContent, sourceUrl, source, result);
+    private Object sourceLockOf(String sourceUrl) {
+        int hash = sourceUrl != null ? sourceUrl.hashCode() : 0;
+        return sourceLocks[Math.floorMod(hash, SOURCE_LOCK_STRIPES)];
     }
 
     /**
@@ -370,21 +221,8 @@ public class CompetitorAnalysisServiceImpl implements CompetitorAnalysisService
     }
 
     /**
-     * 检查竞品动态是否已存在
-     */
-    private boolean isCompetitorExists(String sourceUrl) {
-        if (sourceUrl == null || sourceUrl.isEmpty()) {
-            return false;
-        }
-        LambdaQueryWrapper<CompetitorInfo> wrapper = new LambdaQueryWrapper<>();
-        wrapper.like(CompetitorInfo::getSources, sourceUrl);
-        return competitorRepository.selectCount(wrapper) > 0;
-    }
-
-    /**
-     * 保存竞品分析结果到数据库
+     * 保存竞品分析结果到数据库（由调用方开启事务）
      */
-    @Transactional
     private void saveCompetitorAnalysisResult(String markdownContent, String sourceUrl, String source, CompetitorAnalysisResult result) {
         // 1. 查找或创建 CompetitorInfo
         CompetitorInfo competitorInfo = findOrCreateCompetitorInfo(sourceUrl);
@@ -403,12 +241,21 @@ public class CompetitorAnalysisServiceImpl implements CompetitorAnalysisService
         competitorInfo.setRelatedInfo(result.getCompetitiveAnalysis());
         competitorInfo.setUpdateTime(LocalDateTime.now());
 
-        // 根据 competitorId 是否存在来判断是插入还是更新
-        if (competitorInfo.getId() != null) {
-            competitorRepository.updateById(competitorInfo);
-        } else {
+        // 根据 competitorId 是否存在来判断是插入还是更新（记录已被删除时改为插入）；更新前的统计维度用于修正仪表盘汇总
+        CompetitorInfo previous = competitorInfo.getId() != null ? selectSummary(competitorInfo.getId()) : null;
+        boolean created = previous == null;
+        if (created) {
+            competitorInfo.setId(null);
+            competitorInfo.setCreateTime(LocalDateTime.now());
             competitorRepository.insert(competitorInfo);
+        } else {
+            competitorRepository.updateById(competitorInfo);
         }
+        dashboardRollupService.competitorsChanged(
+                previous != null ? Collections.singletonList(previous) : Collections.emptyList(),
+                Collections.singletonList(competitorInfo));
+        contentSearchIndex.indexAfterCommit(ContentSearchIndex.TYPE_COMPETITOR,
+                competitorInfo.getId(), competitorInfo.getTitle(), competitorInfo.getContent());
         Long competitorId = competitorInfo.getId();
 
         // 2. 保存 CompetitorAnalysis（存储详细分析结果）
@@ -460,54 +307,55 @@ public class CompetitorAnalysisServiceImpl implements CompetitorAnalysisService
         competitorAnalysis.setContent(fullContent);
 
         competitorAnalysis.setSortOrder(1);
-        competitorAnalysis.setUpdateTime(LocalDateTime.now());
-
-        // 查找或创建 CompetitorAnalysis（通过 competitorId 和 sortOrder）
-        LambdaQueryWrapper<CompetitorAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
-        analysisWrapper.eq(CompetitorAnalysis::getCompetitorId, competitorId)
-                .eq(CompetitorAnalysis::getSortOrder, 1);
-        CompetitorAnalysis existingAnalysis = competitorAnalysisRepository.selectOne(analysisWrapper);
-
-        if (existingAnalysis != null) {
-            // 更新已存在的记录
-            existingAnalysis.setImportance(competitorAnalysis.getImportance());
-            existingAnalysis.setRelevance(competitorAnalysis.getRelevance());
-            existingAnalysis.setKeyPoints(competitorAnalysis.getKeyPoints());
-            existingAnalysis.setMarketImpact(competitorAnalysis.getMarketImpact());
-            existingAnalysis.setCompetitiveAnalysis(competitorAnalysis.getCompetitiveAnalysis());
-            existingAnalysis.setOurSuggestions(competitorAnalysis.getOurSuggestions());
-            existingAnalysis.setContent(competitorAnalysis.getContent());
-            existingAnalysis.setUpdateTime(LocalDateTime.now());
-            competitorAnalysisRepository.updateById(existingAnalysis);
-        } else {
-            // 创建新记录
-            competitorAnalysis.setCreateTime(LocalDateTime.now());
-            competitorAnalysisRepository.insert(competitorAnalysis);
-        }
 
-        // 3. 保存 CompetitorSource（来源链接）
-        saveCompetitorSource(competitorId, sourceUrl, markdownContent);
+        // 按 (competitorId, sortOrder) 插入或覆盖 CompetitorAnalysis，一条语句完成
+        competitorAnalysisRepository.upsert(competitorAnalysis);
+
+        // 3. 保存 CompetitorTag（覆盖旧标签，批量写入）
+        saveCompetitorTags(competitorId, result.getTags(), !created);
+
+        // 4. 保存 CompetitorSource（来源链接）：已存在的竞品正是通过该链接找到的，只有新建时才需要写入
+        if (created) {
+            saveCompetitorSource(competitorId, sourceUrl, markdownContent);
+        }
 
         log.info("竞品分析结果已保存: competitorId={}", competitorId);
     }
 
     /**
-     * 保存竞品来源链接
+     * 保存竞品标签：已存在的竞品先删除旧标签，再通过 BATCH 执行器批量写入
      */
-    private void saveCompetitorSource(Long competitorId, String sourceUrl, String markdownContent) {
-        if (sourceUrl == null || sourceUrl.isEmpty()) {
-            log.debug("sourceUrl 为空，跳过保存 CompetitorSource");
+    private void saveCompetitorTags(Long competitorId, List<String> tags, boolean replace) {
+        if (replace) {
+            LambdaQueryWrapper<CompetitorTag> tagWrapper = new LambdaQueryWrapper<>();
+            tagWrapper.eq(CompetitorTag::getCompetitorId, competitorId);
+            competitorTagRepository.delete(tagWrapper);
+        }
+        if (tags == null || tags.isEmpty()) {
             return;
         }
 
-        // 检查是否已存在相同的来源链接
-        LambdaQueryWrapper<CompetitorSource> sourceWrapper = new LambdaQueryWrapper<>();
-        sourceWrapper.eq(CompetitorSource::getCompetitorId, competitorId)
-                .eq(CompetitorSource::getUrl, sourceUrl);
-        CompetitorSource existingSource = competitorSourceRepository.selectOne(sourceWrapper);
+        List<CompetitorTag> competitorTags = new ArrayList<>();
+        for (String label : new LinkedHashSet<>(tags)) {
+            if (label == null || label.isBlank()) {
+                continue;
+            }
+            CompetitorTag competitorTag = new CompetitorTag();
+            competitorTag.setCompetitorId(competitorId);
+            competitorTag.setLabel(label.length() > 64 ? label.substring(0, 64) : label);
+            competitorTag.setCreateTime(LocalDateTime.now());
+            competitorTag.setUpdateTime(LocalDateTime.now());
+            competitorTags.add(competitorTag);
+        }
+        Db.saveBatch(competitorTags);
+    }
 
-        if (existingSource != null) {
-            log.debug("CompetitorSource 已存在，跳过插入: competitorId={}, url={}", competitorId, sourceUrl);
+    /**
+     * 保存竞品来源链接
+     */
+    private void saveCompetitorSource(Long competitorId, String sourceUrl, String markdownContent) {
+        if (sourceUrl == null || sourceUrl.isEmpty()) {
+            log.debug("sourceUrl 为空，跳过保存 CompetitorSource");
             return;
         }
 
@@ -524,24 +372,35 @@ public class CompetitorAnalysisServiceImpl implements CompetitorAnalysisService
         log.info("CompetitorSource 已保存: competitorId={}, url={}", competitorId, sourceUrl);
     }
 
+    /**
+     * 查询竞品动态的统计维度（公司、类型、抓取时间），不存在或已删除时返回 null
+     */
+    private CompetitorInfo selectSummary(Long competitorId) {
+        return competitorRepository.selectOne(summaryQuery().eq(CompetitorInfo::getId, competitorId));
+    }
+
+    /**
+     * 只查询 ID 和统计维度列的竞品动态查询条件（不含正文）
+     */
+    private LambdaQueryWrapper<CompetitorInfo> summaryQuery() {
+        return new LambdaQueryWrapper<CompetitorInfo>()
+                .select(CompetitorInfo::getId, CompetitorInfo::getCompany, CompetitorInfo::getType, CompetitorInfo::getCaptureTime);
+    }
+
     /**
      * 根据 sourceUrl 查找或创建 CompetitorInfo
+     * 通过 competitor_source.url 索引查出竞品ID（所有字段随后都会被覆盖，无需读取原记录），未找到时返回新对象
      */
     private CompetitorInfo findOrCreateCompetitorInfo(String sourceUrl) {
+        CompetitorInfo competitorInfo = new CompetitorInfo();
         if (sourceUrl != null && !sourceUrl.isEmpty()) {
-            LambdaQueryWrapper<CompetitorInfo> queryWrapper = new LambdaQueryWrapper<>();
-            queryWrapper.like(CompetitorInfo::getSources, "%" + sourceUrl + "%");
-            CompetitorInfo existing = competitorRepository.selectOne(queryWrapper);
-            if (existing != null) {
-                log.info("找到已存在的竞品记录，将更新: id={}, sourceUrl={}", existing.getId(), sourceUrl);
-                return existing;
+            Long existingId = competitorSourceRepository.selectCompetitorIdByUrl(sourceUrl);
+            if (existingId != null) {
+                log.info("找到已存在的竞品记录，将更新: id={}, sourceUrl={}", existingId, sourceUrl);
+                competitorInfo.setId(existingId);
             }
         }
-
-        // 创建新记录
-        CompetitorInfo newInfo = new CompetitorInfo();
-        newInfo.setCreateTime(LocalDateTime.now());
-        return newInfo;
+        return competitorInfo;
     }
 
     /**
@@ -613,91 +472,52 @@ public class CompetitorAnalysisServiceImpl implements CompetitorAnalysisService
         }
     }
 
-    /**
-     * 更新任务日志的分析状态
-     */
-    private void updateTaskLogStatus(Long taskLogId, String status, AnalysisSummary summary) {
-        CrawlerTaskLog taskLog = new CrawlerTaskLog();
-        taskLog.setLogId(taskLogId);
-        taskLog.setAnalysisStatus(status);
-
-        if (summary != null) {
-            try {
-                String summaryJson = objectMapper.writeValueAsString(summary);
-                taskLog.setAnalysisResult(summaryJson);
-            } catch (Exception e) {
-                log.error("序列化分析结果失败", e);
-            }
-        }
-
-        taskLogRepository.updateById(taskLog);
+    @Override
+    public int deleteAnalysisByUrls(List<String> sourceUrls) {
+        // 删除失败直接抛出：旧记录未删除时再分析会更新到旧竞品记录上，不能继续
+        Integer removed = transactionTemplate.execute(status -> deleteCompetitorsBySourceUrls(sourceUrls));
+        int deleted = removed != null ? removed : 0;
+        log.info("删除旧竞品分析记录完成: 共 {} 个 URL，删除 {} 条", sourceUrls.size(), deleted);
+        return deleted;
     }
 
     /**
-     * 删除指定批次的所有旧竞品分析记录
-     * 根据批次路径中的文章 URL 查找并删除对应的竞品分析记录
+     * 根据 sourceUrl 集合删除竞品及其分析、来源记录（由调用方开启事务）
+     * 通过 competitor_source.url 的一条 IN 查询取出竞品ID，再按ID集合分别删除三张表，语句数与 URL 数量无关
+     *
+     * @return 删除的竞品数
      */
-    @Transactional
-    private void deleteOldCompetitorAnalysis(String batchPath) {
-        try {
-            // 读取 metadata.json 获取所有文章的 URL
-            File metadataFile = new File(batchPath, "metadata.json");
-            if (!metadataFile.exists()) {
-                log.warn("metadata.json 不存在，无法删除旧记录: {}", metadataFile.getAbsolutePath());
-                return;
-            }
-
-            String metadataContent = Files.readString(metadataFile.toPath());
-            JsonNode rootNode = objectMapper.readTree(metadataContent);
-            JsonNode articlesNode = rootNode.get("articles");
-
-            if (articlesNode == null || !articlesNode.isArray()) {
-                return;
-            }
-
-            // 收集所有竞品文章的 URL
-            List<String> competitorUrls = new ArrayList<>();
-            for (JsonNode articleNode : articlesNode) {
-                JsonNode categoryNode = articleNode.get("category");
-                if (categoryNode != null && "competitor".equals(categoryNode.asText())) {
-                    JsonNode urlNode = articleNode.get("url");
-                    if (urlNode != null) {
-                        competitorUrls.add(urlNode.asText());
-                    }
-                }
-            }
-
-            // 根据 URL 删除对应的竞品记录
-            for (String url : competitorUrls) {
-                if (url != null && !url.isEmpty()) {
-                    // 查找 CompetitorInfo
-                    LambdaQueryWrapper<CompetitorInfo> competitorWrapper = new LambdaQueryWrapper<>();
-                    competitorWrapper.like(CompetitorInfo::getSources, "%" + url + "%");
-                    CompetitorInfo competitorInfo = competitorRepository.selectOne(competitorWrapper);
-
-                    if (competitorInfo != null) {
-                        Long competitorId = competitorInfo.getId();
-
-                        // 删除 CompetitorSource
-                        LambdaQueryWrapper<CompetitorSource> sourceWrapper = new LambdaQueryWrapper<>();
-                        sourceWrapper.eq(CompetitorSource::getCompetitorId, competitorId);
-                        competitorSourceRepository.delete(sourceWrapper);
-
-                        // 删除 CompetitorAnalysis
-                        LambdaQueryWrapper<CompetitorAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
-                        analysisWrapper.eq(CompetitorAnalysis::getCompetitorId, competitorId);
-                        competitorAnalysisRepository.delete(analysisWrapper);
-
-                        // 删除 CompetitorInfo
-                        competitorRepository.deleteById(competitorId);
-                        log.info("已删除旧竞品记录: competitorId={}, url={}", competitorId, url);
-                    }
-                }
-            }
-
-            log.info("删除旧竞品分析记录完成: batchPath={}, 共删除 {} 条", batchPath, competitorUrls.size());
-        } catch (Exception e) {
-            log.error("删除旧竞品分析记录失败: batchPath={}", batchPath, e);
-        }
+    private int deleteCompetitorsBySourceUrls(List<String> sourceUrls) {
+        List<Long> competitorIds = new ArrayList<>(competitorSourceRepository.selectCompetitorIdsByUrls(sourceUrls));
+        if (competitorIds.isEmpty()) {
+            return 0;
+        }
+        List<CompetitorInfo> removed = new ArrayList<>();
+        for (List<Long> ids : ListUtil.partition(competitorIds, PolicyRepository.IN_BATCH_SIZE)) {
+            // 删除前读取统计维度，用于修正仪表盘汇总
+            removed.addAll(competitorRepository.selectList(summaryQuery().in(CompetitorInfo::getId, ids)));
+
+            // 删除 CompetitorSource
+            LambdaQueryWrapper<CompetitorSource> sourceWrapper = new LambdaQueryWrapper<>();
+            sourceWrapper.in(CompetitorSource::getCompetitorId, ids);
+            competitorSourceRepository.delete(sourceWrapper);
+
+            // 删除 CompetitorAnalysis
+            LambdaQueryWrapper<CompetitorAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
+            analysisWrapper.in(CompetitorAnalysis::getCompetitorId, ids);
+            competitorAnalysisRepository.delete(analysisWrapper);
+
+            // 删除 CompetitorTag
+            LambdaQueryWrapper<CompetitorTag> tagWrapper = new LambdaQueryWrapper<>();
+            tagWrapper.in(CompetitorTag::getCompetitorId, ids);
+            competitorTagRepository.delete(tagWrapper);
+
+            // 删除 CompetitorInfo
+            competitorRepository.deleteBatchIds(ids);
+        }
+        dashboardRollupService.competitorsChanged(removed, Collections.emptyList());
+        contentSearchIndex.deleteAfterCommit(ContentSearchIndex.TYPE_COMPETITOR, competitorIds);
+        log.info("已删除旧竞品记录: {} 条, competitorIds={}", competitorIds.size(), competitorIds);
+        return competitorIds.size();
     }
 }
@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.eagleeye.common.api.CommonPage;
+import com.eagleeye.common.api.CursorPage;
+import com.eagleeye.common.api.KeysetCursor;
 import com.eagleeye.model.dto.CompetitorQueryDTO;
 import com.eagleeye.model.entity.CompetitorAnalysis;
 import com.eagleeye.model.entity.CompetitorInfo;
@@ -19,16 +21,23 @@ import com.eagleeye.repository.CompetitorRepository;
 import com.eagleeye.repository.CompetitorSourceRepository;
 import com.eagleeye.repository.CompetitorTagRepository;
 import com.eagleeye.service.competitor.CompetitorService;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.eagleeye.service.search.KeywordSearchPager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Optional;
 
@@ -57,61 +66,139 @@ public class CompetitorServiceImpl implements CompetitorService {
     
     @Autowired
     private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContentSearchIndex contentSearchIndex;
     
     @Override
     public CommonPage<CompetitorVO> listCompetitors(CompetitorQueryDTO queryDTO) {
         Page<CompetitorInfo> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
-        LambdaQueryWrapper<CompetitorInfo> queryWrapper = buildQueryWrapper(queryDTO);
+        // 关键词命中全文索引时按相关度分页，否则按抓取时间倒序分页
+        Page<CompetitorInfo> infoPage = keywordSearch().searchPage(queryDTO.getKeyword(), filtersOf(queryDTO), page);
+        if (infoPage == null) {
+            LambdaQueryWrapper<CompetitorInfo> queryWrapper = selectListColumns(buildQueryWrapper(queryDTO, null));
+            queryWrapper.orderByDesc(CompetitorInfo::getCaptureTime);
+            infoPage = competitorRepository.selectPage(page, queryWrapper);
+        }
+        List<CompetitorVO> competitorVOList = toCompetitorVOList(infoPage.getRecords());
+        log.debug("Processed {} competitors for dashboard summary", competitorVOList.size());
+
+        IPage<CompetitorVO> voPage = new Page<>(infoPage.getCurrent(), infoPage.getSize(), infoPage.getTotal());
+        voPage.setRecords(competitorVOList);
+        voPage.setPages(infoPage.getPages());
 
-        Page<CompetitorInfo> infoPage = competitorRepository.selectPage(page, queryWrapper);
+        return CommonPage.restPage(voPage);
+    }
 
-        List<CompetitorVO> competitorVOList = infoPage.getRecords().stream()
+    @Override
+    public CursorPage<CompetitorVO> scrollCompetitors(CompetitorQueryDTO queryDTO) {
+        KeysetCursor cursor = KeysetCursor.decode(queryDTO.getCursor());
+        int pageSize = KeysetCursor.normalizePageSize(queryDTO.getPageSize());
+
+        // 游标分页固定按抓取时间倒序；关键词命中全文索引时只作为ID过滤条件
+        List<Long> matchedIds = searchIds(queryDTO);
+        LambdaQueryWrapper<CompetitorInfo> queryWrapper = selectListColumns(buildQueryWrapper(queryDTO, matchedIds));
+        if (cursor != null) {
+            cursor.applyTo(queryWrapper, CompetitorInfo::getCaptureTime, CompetitorInfo::getId);
+        }
+        KeysetCursor.orderAndLimit(queryWrapper, CompetitorInfo::getCaptureTime, CompetitorInfo::getId, pageSize);
+
+        List<CompetitorInfo> rows = competitorRepository.selectList(queryWrapper);
+        CursorPage<CompetitorVO> result = KeysetCursor.toPage(rows, pageSize, CompetitorInfo::getCaptureTime, CompetitorInfo::getId);
+        result.setList(toCompetitorVOList(rows));
+        // 总数只在第一页按需统计，后续翻页不再执行 COUNT
+        if (cursor == null && Boolean.TRUE.equals(queryDTO.getWithTotal())) {
+            result.setTotal(competitorRepository.selectCount(buildQueryWrapper(queryDTO, matchedIds)));
+        }
+        return result;
+    }
+
+    /**
+     * 列表只查询 convertInfoToVOBase 需要的列，不加载正文（正文只由详情接口读取）
+     */
+    private static LambdaQueryWrapper<CompetitorInfo> selectListColumns(LambdaQueryWrapper<CompetitorInfo> queryWrapper) {
+        return queryWrapper.select(CompetitorInfo::getId, CompetitorInfo::getTitle, CompetitorInfo::getCompany,
+                CompetitorInfo::getType, CompetitorInfo::getCaptureTime, CompetitorInfo::getImportance,
+                CompetitorInfo::getRelevance, CompetitorInfo::getSummary);
+    }
+
+    /**
+     * 组装一页竞品动态的VO：批量查询本页所有竞品的分析和标签（两条 IN 查询，与每页条数无关），再在内存中按竞品ID组装
+     */
+    private List<CompetitorVO> toCompetitorVOList(List<CompetitorInfo> infos) {
+        List<CompetitorVO> competitorVOList = infos.stream()
                 .map(this::convertInfoToVOBase)
                 .collect(Collectors.toList());
 
-        log.info("Processing {} competitors for dashboard summary", competitorVOList.size());
+        List<Long> competitorIds = competitorVOList.stream()
+                .map(CompetitorVO::getId)
+                .collect(Collectors.toList());
+        Map<Long, CompetitorAnalysis> firstAnalysisMap = loadFirstAnalysisMap(competitorIds);
+        Map<Long, List<CompetitorTag>> tagMap = loadTagMap(competitorIds);
 
         competitorVOList.forEach(vo -> {
-            log.info("Fetching suggestion for competitor ID: {}", vo.getId());
-            LambdaQueryWrapper<CompetitorAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
-            analysisWrapper.eq(CompetitorAnalysis::getCompetitorId, vo.getId())
-                    .orderByAsc(CompetitorAnalysis::getSortOrder);
-            List<CompetitorAnalysis> analysisList = competitorAnalysisRepository.selectList(analysisWrapper);
-
+            // 建议取排序最靠前的一条分析内容
             String suggestionContent = "暂无建议";
-            if (analysisList != null && !analysisList.isEmpty()) {
-                log.info("Found {} analysis records for ID: {}", analysisList.size(), vo.getId());
-                CompetitorAnalysis firstAnalysis = analysisList.get(0);
-                if (firstAnalysis != null) {
-                    log.info("First analysis content for ID {}: '{}'", vo.getId(), firstAnalysis.getContent());
-                    if (StringUtils.isNotBlank(firstAnalysis.getContent())) {
-                        suggestionContent = firstAnalysis.getContent();
-                    } else {
-                        log.warn("First analysis content is blank for ID: {}", vo.getId());
-        }
-                } else {
-                     log.warn("First analysis record is null (unexpected) for ID: {}", vo.getId());
-                }
+            CompetitorAnalysis firstAnalysis = firstAnalysisMap.get(vo.getId());
+            if (firstAnalysis == null) {
+                log.debug("No analysis records found for ID: {}", vo.getId());
+            } else if (StringUtils.isNotBlank(firstAnalysis.getContent())) {
+                suggestionContent = firstAnalysis.getContent();
             } else {
-                log.warn("No analysis records found for ID: {}", vo.getId());
+                log.debug("First analysis content is blank for ID: {}", vo.getId());
             }
             vo.setSuggestion(suggestionContent);
-            log.info("Set suggestion for ID {}: '{}'", vo.getId(), suggestionContent);
 
-            // 填充标签 (逻辑不变)
-            LambdaQueryWrapper<CompetitorTag> tagWrapper = new LambdaQueryWrapper<>();
-            tagWrapper.eq(CompetitorTag::getCompetitorId, vo.getId());
-            List<CompetitorTag> tagList = competitorTagRepository.selectList(tagWrapper);
-            vo.setTags(tagList.stream()
+            // 填充标签
+            vo.setTags(tagMap.getOrDefault(vo.getId(), Collections.emptyList()).stream()
                     .map(tag -> new CompetitorTagVO(tag.getLabel(), tag.getColor()))
                     .collect(Collectors.toList()));
         });
+        return competitorVOList;
+    }
+    
+    @Override
+    public long count(CompetitorQueryDTO queryDTO) {
+        Long indexCount = keywordSearch().countFromIndex(queryDTO.getKeyword(), filtersOf(queryDTO));
+        return indexCount != null ? indexCount : competitorRepository.selectCount(buildQueryWrapper(queryDTO, searchIds(queryDTO)));
+    }
 
-        IPage<CompetitorVO> voPage = new Page<>(infoPage.getCurrent(), infoPage.getSize(), infoPage.getTotal());
-        voPage.setRecords(competitorVOList);
-        voPage.setPages(infoPage.getPages());
+    @Override
+    public List<Long> countMany(List<CompetitorQueryDTO> queryDTOs) {
+        // 只有关键词的条件直接取索引命中数，其余条件合并为一条 SQL 计数
+        List<Long> counts = new ArrayList<>(Collections.nCopies(queryDTOs.size(), null));
+        List<Integer> sqlPositions = new ArrayList<>();
+        List<LambdaQueryWrapper<CompetitorInfo>> sqlWrappers = new ArrayList<>();
+        for (int i = 0; i < queryDTOs.size(); i++) {
+            CompetitorQueryDTO queryDTO = queryDTOs.get(i);
+            Long indexCount = keywordSearch().countFromIndex(queryDTO.getKeyword(), filtersOf(queryDTO));
+            if (indexCount != null) {
+                counts.set(i, indexCount);
+            } else {
+                sqlPositions.add(i);
+                sqlWrappers.add(buildQueryWrapper(queryDTO, searchIds(queryDTO)));
+            }
+        }
+        if (!sqlWrappers.isEmpty()) {
+            List<Long> sqlCounts = competitorRepository.countEach(sqlWrappers);
+            for (int i = 0; i < sqlPositions.size(); i++) {
+                counts.set(sqlPositions.get(i), sqlCounts.get(i));
+            }
+        }
+        return counts;
+    }
+    
+    @Override
+    public Map<String, Long> countTags(CompetitorQueryDTO queryDTO) {
+        // 标签分面不应用自身的标签筛选，返回切换到每个标签时的动态数
+        CompetitorQueryDTO facetQuery = new CompetitorQueryDTO();
+        BeanUtils.copyProperties(queryDTO, facetQuery);
+        facetQuery.setTag(null);
 
-        return CommonPage.restPage(voPage);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        competitorTagRepository.countCompetitorsByTag(buildQueryWrapper(facetQuery, searchIds(facetQuery)))
+                .forEach(stat -> counts.put(stat.getName(), stat.getCount()));
+        return counts;
     }
     
     @Override
@@ -256,16 +343,55 @@ public class CompetitorServiceImpl implements CompetitorService {
     }
     
     /**
-     * 提取构建查询条件的逻辑
+     * 竞品列表的全文索引检索
+     */
+    private KeywordSearchPager<CompetitorInfo> keywordSearch() {
+        return new KeywordSearchPager<>(contentSearchIndex, ContentSearchIndex.TYPE_COMPETITOR, competitorRepository,
+                CompetitorInfo::getId, CompetitorServiceImpl::selectListColumns);
+    }
+
+    /**
+     * 关键词在全文索引中命中的全部竞品ID（按相关度排序）；没有关键词、索引不可用或命中数超过上限时返回 null
      */
-    private LambdaQueryWrapper<CompetitorInfo> buildQueryWrapper(CompetitorQueryDTO queryDTO) {
+    private List<Long> searchIds(CompetitorQueryDTO queryDTO) {
+        return keywordSearch().searchIds(queryDTO.getKeyword());
+    }
+
+    /**
+     * 除关键词外的筛选条件，用于判断能否直接使用索引分页 / 计数
+     */
+    private LambdaQueryWrapper<CompetitorInfo> filtersOf(CompetitorQueryDTO queryDTO) {
+        return applyFilters(new LambdaQueryWrapper<>(), queryDTO);
+    }
+
+    /**
+     * 构建竞品列表 / 计数共用的筛选条件（不含排序）
+     *
+     * @param matchedIds 关键词在全文索引中命中的ID；为 null 时关键词按 LIKE 匹配标题和正文
+     */
+    private LambdaQueryWrapper<CompetitorInfo> buildQueryWrapper(CompetitorQueryDTO queryDTO, List<Long> matchedIds) {
         LambdaQueryWrapper<CompetitorInfo> queryWrapper = new LambdaQueryWrapper<>();
         // 关键词搜索
-        if (StringUtils.isNotBlank(queryDTO.getKeyword())) {
-            queryWrapper.like(CompetitorInfo::getTitle, queryDTO.getKeyword())
+        if (matchedIds != null) {
+            if (matchedIds.isEmpty()) {
+                queryWrapper.apply("1 = 0");
+            } else {
+                queryWrapper.in(CompetitorInfo::getId, matchedIds);
+            }
+        } else if (StringUtils.isNotBlank(queryDTO.getKeyword())) {
+            // 标题或正文匹配需要加括号，否则 OR 会与后续筛选条件按优先级错误组合
+            queryWrapper.and(w -> w.like(CompetitorInfo::getTitle, queryDTO.getKeyword())
                     .or()
-                    .like(CompetitorInfo::getContent, queryDTO.getKeyword());
+                    .like(CompetitorInfo::getContent, queryDTO.getKeyword()));
         }
+        return applyFilters(queryWrapper, queryDTO);
+    }
+
+    /**
+     * 追加关键词以外的筛选条件
+     */
+    private LambdaQueryWrapper<CompetitorInfo> applyFilters(LambdaQueryWrapper<CompetitorInfo> queryWrapper,
+                                                            CompetitorQueryDTO queryDTO) {
         // 按公司筛选
         if (StringUtils.isNotBlank(queryDTO.getCompany()) && !"全部机构".equals(queryDTO.getCompany())) {
             queryWrapper.eq(CompetitorInfo::getCompany, queryDTO.getCompany());
@@ -276,7 +402,8 @@ public class CompetitorServiceImpl implements CompetitorService {
         }
         // 按标签筛选
         if (StringUtils.isNotBlank(queryDTO.getTag())) {
-            queryWrapper.like(CompetitorInfo::getTags, queryDTO.getTag());
+            queryWrapper.apply("id IN (SELECT competitor_id FROM competitor_tag WHERE is_deleted = 0 AND label = {0})",
+                    queryDTO.getTag());
         }
         // 时间范围筛选
         if (queryDTO.getCaptureStartTime() != null) {
@@ -293,11 +420,44 @@ public class CompetitorServiceImpl implements CompetitorService {
         if (StringUtils.isNotBlank(queryDTO.getRelevance())) {
             queryWrapper.eq(CompetitorInfo::getRelevance, queryDTO.getRelevance());
         }
-        // 按抓取时间倒序排序
-        queryWrapper.orderByDesc(CompetitorInfo::getCaptureTime);
         return queryWrapper;
     }
     
+    /**
+     * 批量查询竞品分析，每个竞品取 sortOrder 最小的一条
+     */
+    private Map<Long, CompetitorAnalysis> loadFirstAnalysisMap(List<Long> competitorIds) {
+        Map<Long, CompetitorAnalysis> analysisMap = new HashMap<>();
+        if (competitorIds.isEmpty()) {
+            return analysisMap;
+        }
+        // 列表只用首条分析的内容作为建议，不加载市场影响、竞争分析等长文本列
+        LambdaQueryWrapper<CompetitorAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
+        analysisWrapper.select(CompetitorAnalysis::getId, CompetitorAnalysis::getCompetitorId,
+                        CompetitorAnalysis::getSortOrder, CompetitorAnalysis::getContent)
+                .in(CompetitorAnalysis::getCompetitorId, competitorIds)
+                .orderByAsc(CompetitorAnalysis::getSortOrder)
+                .orderByAsc(CompetitorAnalysis::getId);
+        for (CompetitorAnalysis analysis : competitorAnalysisRepository.selectList(analysisWrapper)) {
+            analysisMap.putIfAbsent(analysis.getCompetitorId(), analysis);
+        }
+        return analysisMap;
+    }
+
+    /**
+     * 批量查询竞品标签，按竞品ID分组
+     */
+    private Map<Long, List<CompetitorTag>> loadTagMap(List<Long> competitorIds) {
+        if (competitorIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        LambdaQueryWrapper<CompetitorTag> tagWrapper = new LambdaQueryWrapper<>();
+        tagWrapper.in(CompetitorTag::getCompetitorId, competitorIds)
+                .orderByAsc(CompetitorTag::getId);
+        return competitorTagRepository.selectList(tagWrapper).stream()
+                .collect(Collectors.groupingBy(CompetitorTag::getCompetitorId));
+    }
+
     /**
      * 将 CompetitorInfo 转换为 CompetitorVO (仅基础字段)
      */
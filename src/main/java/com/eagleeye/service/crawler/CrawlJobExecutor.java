@@ -0,0 +1,312 @@
+package com.eagleeye.service.crawler;
+
+import com.eagleeye.model.vo.CrawlExecutorStatusVO;
+import com.eagleeye.util.CrawlerUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 爬虫任务执行器
+ * 独立的有界优先级队列 + 固定数量工作线程，替代公共 ForkJoinPool 执行长耗时的爬虫调用。
+ * 排序规则：配置优先级高者优先，同优先级按触发时间先后执行；队列满时直接拒绝。
+ * 全局并发由工作线程数限制，同一域名（CrawlerUtil.extractSourceNameFromUrl）的并发另受单域名上限约束，
+ * 工作线程按队列顺序取第一个所属域名未达上限的任务。
+ */
+@Slf4j
+@Component
+public class CrawlJobExecutor {
+
+    /**
+     * 工作线程数
+     */
+    @Value("${eagleeye.crawler.executor.worker-count:2}")
+    private int workerCount;
+
+    /**
+     * 等待队列容量
+     */
+    @Value("${eagleeye.crawler.executor.queue-capacity:50}")
+    private int queueCapacity;
+
+    /**
+     * 单个域名的最大并发数
+     */
+    @Value("${eagleeye.crawler.executor.per-domain-limit:1}")
+    private int perDomainLimit;
+
+    private static final Comparator<CrawlJob<?>> JOB_ORDER = Comparator
+            .comparingInt((CrawlJob<?> job) -> job.priority).reversed()
+            .thenComparing(job -> job.submitTime)
+            .thenComparingLong(job -> job.sequence);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final TreeSet<CrawlJob<?>> queue = new TreeSet<>(JOB_ORDER);
+    private final Map<String, CrawlJob<?>> running = new LinkedHashMap<>();
+    private final Map<String, Integer> runningPerDomain = new HashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        int count = Math.max(1, workerCount);
+        for (int i = 1; i <= count; i++) {
+            Thread worker = new Thread(this::workLoop, "crawl-job-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("爬虫任务执行器已启动: workerCount={}, queueCapacity={}, perDomainLimit={}", count, queueCapacity, perDomainLimit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        lock.lock();
+        try {
+            shutdown = true;
+            for (CrawlJob<?> job : queue) {
+                job.future.completeExceptionally(new RejectedExecutionException("爬虫任务执行器已关闭"));
+            }
+            queue.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        workers.forEach(Thread::interrupt);
+        log.info("爬虫任务执行器已关闭");
+    }
+
+    /**
+     * 提交爬虫任务
+     * @param taskId 任务ID
+     * @param configId 配置ID
+     * @param targetUrl 目标URL
+     * @param priority 优先级（越大越先执行）
+     * @param work 实际执行的爬虫逻辑
+     * @return 任务结果的 CompletableFuture
+     * @throws RejectedExecutionException 队列已满或执行器已关闭
+     */
+    public <T> CompletableFuture<T> submit(String taskId, Long configId, String targetUrl, Integer priority, Supplier<T> work) {
+        CrawlJob<T> job = new CrawlJob<>(taskId, configId, targetUrl,
+                priority != null ? priority : 0, sequence.incrementAndGet(), work);
+        lock.lock();
+        try {
+            if (shutdown) {
+                rejectedCount.incrementAndGet();
+                throw new RejectedExecutionException("爬虫任务执行器已关闭");
+            }
+            if (queue.size() >= queueCapacity) {
+                rejectedCount.incrementAndGet();
+                log.warn("爬虫任务队列已满，拒绝任务: taskId={}, configId={}, queueCapacity={}", taskId, configId, queueCapacity);
+                throw new RejectedExecutionException("爬虫任务队列已满（容量 " + queueCapacity + "），请稍后再试");
+            }
+            queue.add(job);
+            submittedCount.incrementAndGet();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        log.info("爬虫任务已入队: taskId={}, configId={}, priority={}, queueDepth={}", taskId, configId, job.priority, getQueueDepth());
+        return job.future;
+    }
+
+    /**
+     * 当前排队中的任务数
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前执行中的任务数
+     */
+    public int getRunningCount() {
+        lock.lock();
+        try {
+            return running.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 执行器状态快照（运行中、排队中的任务及统计指标）
+     */
+    public CrawlExecutorStatusVO getStatus() {
+        CrawlExecutorStatusVO status = new CrawlExecutorStatusVO();
+        LocalDateTime now = LocalDateTime.now();
+        lock.lock();
+        try {
+            List<CrawlExecutorStatusVO.JobVO> runningJobs = new ArrayList<>();
+            for (CrawlJob<?> job : running.values()) {
+                runningJobs.add(job.toVO(now));
+            }
+            List<CrawlExecutorStatusVO.JobVO> queuedJobs = new ArrayList<>();
+            for (CrawlJob<?> job : queue) {
+                queuedJobs.add(job.toVO(now));
+            }
+            status.setRunningJobs(runningJobs);
+            status.setQueuedJobs(queuedJobs);
+            status.setQueueDepth(queue.size());
+        } finally {
+            lock.unlock();
+        }
+        long started = completedCount.get() + failedCount.get() + status.getRunningJobs().size();
+        status.setWorkerCount(workers.size());
+        status.setQueueCapacity(queueCapacity);
+        status.setPerDomainLimit(perDomainLimit);
+        status.setSubmittedCount(submittedCount.get());
+        status.setCompletedCount(completedCount.get());
+        status.setFailedCount(failedCount.get());
+        status.setRejectedCount(rejectedCount.get());
+        status.setAvgWaitMillis(started > 0 ? totalWaitMillis.get() / started : 0L);
+        status.setMaxWaitMillis(maxWaitMillis.get());
+        return status;
+    }
+
+    private void workLoop() {
+        while (true) {
+            CrawlJob<?> job = null;
+            lock.lock();
+            try {
+                while (!shutdown && (job = pollEligible()) == null) {
+                    notEmpty.await();
+                }
+                if (shutdown) {
+                    return;
+                }
+                job.startTime = LocalDateTime.now();
+                running.put(job.taskId, job);
+                runningPerDomain.merge(job.domain, 1, Integer::sum);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - job.submitNanos);
+            totalWaitMillis.addAndGet(waitMillis);
+            maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+            log.info("爬虫任务开始执行: taskId={}, configId={}, waitMillis={}", job.taskId, job.configId, waitMillis);
+
+            try {
+                job.run();
+                completedCount.incrementAndGet();
+            } catch (Throwable t) {
+                failedCount.incrementAndGet();
+                log.error("爬虫任务执行异常: taskId={}", job.taskId, t);
+            } finally {
+                lock.lock();
+                try {
+                    running.remove(job.taskId);
+                    runningPerDomain.computeIfPresent(job.domain, (domain, count) -> count > 1 ? count - 1 : null);
+                    // 域名名额释放后，之前因域名上限等待的任务可能已可执行
+                    notEmpty.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 按队列顺序取出第一个所属域名未达并发上限的任务（调用方需持有锁）
+     */
+    private CrawlJob<?> pollEligible() {
+        int limit = Math.max(1, perDomainLimit);
+        Iterator<CrawlJob<?>> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            CrawlJob<?> job = iterator.next();
+            if (runningPerDomain.getOrDefault(job.domain, 0) < limit) {
+                iterator.remove();
+                return job;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 队列中的爬虫任务
+     */
+    private static class CrawlJob<T> {
+        private final String taskId;
+        private final Long configId;
+        private final String targetUrl;
+        private final String domain;
+        private final int priority;
+        private final long sequence;
+        private final LocalDateTime submitTime = LocalDateTime.now();
+        private final long submitNanos = System.nanoTime();
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private LocalDateTime startTime;
+
+        CrawlJob(String taskId, Long configId, String targetUrl, int priority, long sequence, Supplier<T> work) {
+            this.taskId = taskId;
+            this.configId = configId;
+            this.targetUrl = targetUrl;
+            this.domain = targetUrl != null ? CrawlerUtil.extractSourceNameFromUrl(targetUrl) : "unknown";
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        void run() {
+            try {
+                future.complete(work.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                throw t;
+            }
+        }
+
+        CrawlExecutorStatusVO.JobVO toVO(LocalDateTime now) {
+            CrawlExecutorStatusVO.JobVO vo = new CrawlExecutorStatusVO.JobVO();
+            vo.setTaskId(taskId);
+            vo.setConfigId(configId);
+            vo.setTargetUrl(targetUrl);
+            vo.setDomain(domain);
+            vo.setPriority(priority);
+            vo.setSubmitTime(submitTime);
+            vo.setStartTime(startTime);
+            LocalDateTime waitEnd = startTime != null ? startTime : now;
+            vo.setWaitMillis(Duration.between(submitTime, waitEnd).toMillis());
+            return vo;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.eagleeye.service.crawler;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.eagleeye.model.entity.CrawlerConfig;
+import com.eagleeye.model.entity.CrawlerTaskLog;
+import com.eagleeye.repository.CrawlerConfigRepository;
+import com.eagleeye.repository.CrawlerTaskLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 爬虫定时调度器
+ * 按 CrawlerConfig.triggerSchedule (Cron 表达式) 定时触发 EagleEye 爬虫任务：
+ * - 定期重新加载启用的配置，配置变更无需重启即可生效
+ * - 每个配置按 configId 计算固定的抖动偏移，避免同一时刻集中触发
+ * - 执行器中运行+排队的任务达到全局上限时，顺延到下一个调度周期
+ * - 同一配置仍有 processing 状态的任务时跳过本次触发，避免重复执行
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "eagleeye.crawler.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CrawlScheduler {
+
+    @Resource
+    private CrawlerConfigRepository crawlerConfigRepository;
+
+    @Resource
+    private CrawlerTaskLogRepository crawlerTaskLogRepository;
+
+    @Resource
+    private CrawlerConfigAdminService crawlerConfigAdminService;
+
+    @Resource
+    private CrawlJobExecutor crawlJobExecutor;
+
+    /**
+     * 配置重新加载间隔(毫秒)
+     */
+    @Value("${eagleeye.crawler.scheduler.refresh-millis:60000}")
+    private long refreshMillis;
+
+    /**
+     * 单个配置的最大抖动(秒)
+     */
+    @Value("${eagleeye.crawler.scheduler.max-jitter-seconds:30}")
+    private int maxJitterSeconds;
+
+    /**
+     * 全局并发上限（执行器中运行+排队的任务数）
+     */
+    @Value("${eagleeye.crawler.scheduler.max-concurrent:4}")
+    private int maxConcurrent;
+
+    /**
+     * processing 状态超过该时长视为僵死任务，不再阻止下一次触发(分钟)
+     */
+    @Value("${eagleeye.crawler.scheduler.stale-minutes:60}")
+    private long staleMinutes;
+
+    /**
+     * configId -> 调度条目
+     */
+    private final Map<Long, ScheduleEntry> entries = new HashMap<>();
+
+    private long lastRefreshMillis = 0L;
+
+    @Scheduled(fixedDelayString = "${eagleeye.crawler.scheduler.tick-millis:15000}",
+            initialDelayString = "${eagleeye.crawler.scheduler.tick-millis:15000}")
+    public void tick() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (System.currentTimeMillis() - lastRefreshMillis >= refreshMillis) {
+                reloadConfigs(now);
+                lastRefreshMillis = System.currentTimeMillis();
+            }
+            fireDueConfigs(now);
+        } catch (Exception e) {
+            log.error("爬虫定时调度执行异常", e);
+        }
+    }
+
+    /**
+     * 重新加载启用的 EagleEye 配置；Cron 未变化的配置保留原下次触发时间
+     */
+    private void reloadConfigs(LocalDateTime now) {
+        List<CrawlerConfig> configs = crawlerConfigRepository.selectList(Wrappers.lambdaQuery(CrawlerConfig.class)
+                .select(CrawlerConfig::getConfigId, CrawlerConfig::getTriggerSchedule)
+                .eq(CrawlerConfig::getIsDeleted, false)
+                .eq(CrawlerConfig::getIsActive, true)
+                .eq(CrawlerConfig::getCrawlerService, "eagleeye")
+                .isNotNull(CrawlerConfig::getTriggerSchedule)
+                .ne(CrawlerConfig::getTriggerSchedule, ""));
+
+        Map<Long, ScheduleEntry> reloaded = new HashMap<>();
+        for (CrawlerConfig config : configs) {
+            String cron = config.getTriggerSchedule().trim();
+            ScheduleEntry existing = entries.get(config.getConfigId());
+            if (existing != null && existing.cron.equals(cron)) {
+                reloaded.put(config.getConfigId(), existing);
+                continue;
+            }
+            if (!CronExpression.isValidExpression(cron)) {
+                log.warn("忽略无效的 Cron 表达式: configId={}, triggerSchedule={}", config.getConfigId(), cron);
+                continue;
+            }
+            ScheduleEntry entry = new ScheduleEntry(config.getConfigId(), cron, CronExpression.parse(cron));
+            entry.nextFireTime = entry.computeNext(now, jitterSeconds(config.getConfigId()));
+            reloaded.put(config.getConfigId(), entry);
+            log.info("加载爬虫调度: configId={}, triggerSchedule={}, nextFireTime={}", entry.configId, cron, entry.nextFireTime);
+        }
+
+        entries.keySet().stream()
+                .filter(configId -> !reloaded.containsKey(configId))
+                .forEach(configId -> log.info("移除爬虫调度: configId={}", configId));
+        entries.clear();
+        entries.putAll(reloaded);
+    }
+
+    /**
+     * 触发已到期的配置
+     */
+    private void fireDueConfigs(LocalDateTime now) {
+        List<ScheduleEntry> due = entries.values().stream()
+                .filter(entry -> entry.nextFireTime != null && !entry.nextFireTime.isAfter(now))
+                .sorted(Comparator.comparing(entry -> entry.nextFireTime))
+                .collect(Collectors.toList());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<Long> processingConfigIds = findProcessingConfigIds(due, now);
+        int inFlight = crawlJobExecutor.getRunningCount() + crawlJobExecutor.getQueueDepth();
+
+        for (ScheduleEntry entry : due) {
+            if (processingConfigIds.contains(entry.configId)) {
+                log.info("配置仍有执行中的任务，跳过本次调度: configId={}", entry.configId);
+                entry.nextFireTime = entry.computeNext(now, jitterSeconds(entry.configId));
+                continue;
+            }
+            if (inFlight >= maxConcurrent) {
+                // 保留 nextFireTime，下个调度周期再尝试
+                log.info("爬虫并发已达上限，顺延调度: configId={}, inFlight={}, maxConcurrent={}", entry.configId, inFlight, maxConcurrent);
+                continue;
+            }
+
+            CrawlerConfigAdminService.TriggerResult result = crawlerConfigAdminService.triggerConfigWithTaskId(entry.configId);
+            // 多 URL 配置一次触发会提交多个子任务，重新读取执行器中的任务数，而不是按每次触发计 1
+            inFlight = crawlJobExecutor.getRunningCount() + crawlJobExecutor.getQueueDepth();
+            if (result.isSuccess()) {
+                log.info("定时触发爬虫任务: configId={}, taskId={}", entry.configId, result.getTaskId());
+            } else {
+                log.warn("定时触发爬虫任务失败: configId={}, message={}", entry.configId, result.getMessage());
+            }
+            entry.nextFireTime = entry.computeNext(now, jitterSeconds(entry.configId));
+        }
+    }
+
+    /**
+     * 查询到期配置中仍处于 processing 状态（且未超时）的配置ID
+     */
+    private Set<Long> findProcessingConfigIds(List<ScheduleEntry> due, LocalDateTime now) {
+        List<Long> configIds = due.stream().map(entry -> entry.configId).collect(Collectors.toList());
+        return crawlerTaskLogRepository.selectList(Wrappers.lambdaQuery(CrawlerTaskLog.class)
+                        .select(CrawlerTaskLog::getConfigId)
+                        .in(CrawlerTaskLog::getConfigId, configIds)
+                        .eq(CrawlerTaskLog::getStatus, "processing")
+                        .gt(CrawlerTaskLog::getStartTime, now.minusMinutes(staleMinutes)))
+                .stream()
+                .map(CrawlerTaskLog::getConfigId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 按 configId 计算固定的抖动秒数，使同一 Cron 的多个配置错开触发
+     */
+    private int jitterSeconds(Long configId) {
+        if (maxJitterSeconds <= 0) {
+            return 0;
+        }
+        return (int) Math.floorMod(configId * 2654435761L, (long) maxJitterSeconds + 1);
+    }
+
+    /**
+     * 已加载配置的调度条目（仅在调度线程中访问）
+     */
+    private static class ScheduleEntry {
+        private final Long configId;
+        private final String cron;
+        private final CronExpression expression;
+        private LocalDateTime nextFireTime;
+
+        ScheduleEntry(Long configId, String cron, CronExpression expression) {
+            this.configId = configId;
+            this.cron = cron;
+            this.expression = expression;
+        }
+
+        LocalDateTime computeNext(LocalDateTime now, int jitterSeconds) {
+            LocalDateTime next = expression.next(now);
+            return next != null ? next.plusSeconds(jitterSeconds) : null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.eagleeye.model.dto.CrawlerConfigCreateDTO;
 import com.eagleeye.model.dto.CrawlerConfigQueryDTO;
 import com.eagleeye.model.dto.CrawlerConfigUpdateDTO;
+import com.eagleeye.model.vo.CrawlExecutorStatusVO;
 import com.eagleeye.model.vo.CrawlerConfigDetailVO;
 import com.eagleeye.model.vo.CrawlerConfigVO;
 
@@ -102,4 +103,10 @@ public interface CrawlerConfigAdminService {
      * @return 是否成功
      */
     boolean reCrawlAndUpdateTask(Long taskLogId);
+
+    /**
+     * 获取爬虫任务执行器状态（运行中、排队中的任务及队列指标）
+     * @return 执行器状态
+     */
+    CrawlExecutorStatusVO getExecutorStatus();
 } 
\ No newline at end of file
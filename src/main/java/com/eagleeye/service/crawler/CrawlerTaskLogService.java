@@ -1,10 +1,13 @@
 package com.eagleeye.service.crawler;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.eagleeye.common.api.CursorPage;
 import com.eagleeye.model.dto.TaskLogQueryDTO;
 import com.eagleeye.model.entity.CrawlerTaskLog;
 import com.eagleeye.model.vo.CrawlerTaskLogVO;
 
+import java.util.List;
+
 /**
  * 爬虫任务日志服务接口
  *
@@ -20,6 +23,15 @@ public interface CrawlerTaskLogService {
      */
     Page<CrawlerTaskLogVO> listTaskLogs(TaskLogQueryDTO queryDTO);
 
+    /**
+     * 游标分页查询爬虫任务日志（按结束时间倒序，不使用 OFFSET，第一页按需统计总数）
+     *
+     * @param queryDTO 查询参数，cursor 为上一页返回的 nextCursor，为空时查询第一页
+     * @return 游标分页结果
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    CursorPage<CrawlerTaskLogVO> scrollTaskLogs(TaskLogQueryDTO queryDTO);
+
     /**
      * 保存任务日志（供MQ消费者调用）
      *
@@ -51,4 +63,28 @@ public interface CrawlerTaskLogService {
      * @return 任务日志实体
      */
     CrawlerTaskLog getById(Long logId);
+
+    /**
+     * 查询父任务下的所有子任务日志
+     *
+     * @param parentLogId 父任务日志ID
+     * @return 子任务日志列表
+     */
+    List<CrawlerTaskLog> listChildLogs(Long parentLogId);
+
+    /**
+     * 删除父任务下的所有子任务日志（逻辑删除，用于重新爬取）
+     *
+     * @param parentLogId 父任务日志ID
+     */
+    void removeChildLogs(Long parentLogId);
+
+    /**
+     * 获取任务对应的批次路径列表
+     * 普通任务返回自身的 batchPath；多 URL 父任务返回所有成功子任务的 batchPath
+     *
+     * @param taskLog 任务日志
+     * @return 批次路径列表（可能为空）
+     */
+    List<String> listBatchPaths(CrawlerTaskLog taskLog);
 } 
\ No newline at end of file
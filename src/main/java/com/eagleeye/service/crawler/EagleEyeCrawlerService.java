@@ -30,7 +30,7 @@ public interface EagleEyeCrawlerService {
     CrawlResult crawl(String taskId, String sourceName, String listUrl, Integer maxArticles);
 
     /**
-     * 异步触发爬虫任务
+     * 异步触发爬虫任务（提交到爬虫任务执行器，队列已满时返回失败的 Future）
      * @param configId 配置ID
      * @param maxArticles 最大文章数
      * @return 任务ID的CompletableFuture
@@ -39,13 +39,24 @@ public interface EagleEyeCrawlerService {
 
     /**
      * 异步触发爬虫任务（返回结果，用于主线程已创建日志的场景）
+     * 配置包含多个 URL 时拆分为子任务并行执行，结果为父任务的汇总
      * @param configId 配置ID
      * @param taskId 预先生成的任务ID
      * @param maxArticles 最大文章数
      * @return 爬取结果的CompletableFuture
+     * @throws java.util.concurrent.RejectedExecutionException 爬虫任务队列已满
      */
     CompletableFuture<CrawlResult> triggerAsyncWithResult(Long configId, String taskId, Integer maxArticles);
 
+    /**
+     * 在原任务日志上重新爬取（重置原任务状态，多 URL 配置会重新拆分子任务）
+     * @param taskLogId 原任务日志ID
+     * @param maxArticles 最大文章数
+     * @return 爬取结果的CompletableFuture
+     * @throws java.util.concurrent.RejectedExecutionException 爬虫任务队列已满
+     */
+    CompletableFuture<CrawlResult> recrawlTask(Long taskLogId, Integer maxArticles);
+
     /**
      * 爬取结果
      */
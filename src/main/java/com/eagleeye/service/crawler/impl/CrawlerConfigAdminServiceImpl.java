@@ -11,14 +11,15 @@ import com.eagleeye.model.dto.CrawlerConfigQueryDTO;
 import com.eagleeye.model.dto.CrawlerConfigUpdateDTO;
 import com.eagleeye.model.entity.CrawlerConfig;
 import com.eagleeye.model.entity.CrawlerTaskLog;
+import com.eagleeye.model.vo.CrawlExecutorStatusVO;
 import com.eagleeye.model.vo.CrawlerConfigDetailVO;
 import com.eagleeye.model.vo.CrawlerConfigVO;
 import com.eagleeye.repository.CrawlerConfigRepository;
 import com.eagleeye.repository.CrawlerTaskLogRepository;
+import com.eagleeye.service.crawler.CrawlJobExecutor;
 import com.eagleeye.service.crawler.CrawlerConfigAdminService;
 import com.eagleeye.service.crawler.CrawlerTaskLogService;
 import com.eagleeye.service.crawler.EagleEyeCrawlerService;
-import com.eagleeye.util.CrawlerUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +35,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 
@@ -54,6 +56,9 @@ public class CrawlerConfigAdminServiceImpl extends ServiceImpl<CrawlerConfigRepo
     @Resource
     private EagleEyeCrawlerService eagleEyeCrawlerService; // EagleEye 爬虫服务
 
+    @Resource
+    private CrawlJobExecutor crawlJobExecutor; // 爬虫任务执行器
+
     private static final String TASK_QUEUE_NAME = "eagleeye.crawl.tasks"; // 定义队列名称常量
 
     @Override
@@ -116,7 +121,6 @@ public class CrawlerConfigAdminServiceImpl extends ServiceImpl<CrawlerConfigRepo
     }
 
     @Override
-    @Transactional
     public boolean reCrawlAndUpdateTask(Long taskLogId) {
         // 1. 获取原任务日志
         CrawlerTaskLog taskLog = crawlerTaskLogRepository.selectById(taskLogId);
@@ -162,55 +166,19 @@ public class CrawlerConfigAdminServiceImpl extends ServiceImpl<CrawlerConfigRepo
             return false;
         }
 
-        String listUrl = urls.get(0);
-
-        // 5. 更新原任务状态为处理中
-        taskLog.setStatus("processing");
-        taskLog.setStartTime(LocalDateTime.now());
-        taskLog.setEndTime(null);
-        taskLog.setErrorMessage(null);
-        taskLog.setAnalysisStatus("pending");  // 重置分析状态
-        taskLog.setAnalysisResult(null);       // 清空分析结果
-        crawlerTaskLogRepository.updateById(taskLog);
-
+        // 5. 提交到爬虫任务执行器（多 URL 配置会拆分为子任务并行执行），等待执行完成
         try {
-            // 6. 调用 EagleEye 爬虫服务
-            // 使用 CrawlerUtil.extractSourceNameFromUrl 从 URL 提取 sourceName
-            String sourceName = CrawlerUtil.extractSourceNameFromUrl(listUrl);
-            String taskId = taskLog.getTaskId(); // 使用任务ID
-            EagleEyeCrawlerService.CrawlResult result = eagleEyeCrawlerService.crawl(
-                    taskId, sourceName, listUrl, 3  // 传入 taskId
-            );
-
-            // 7. 更新原任务的爬取结果
-            taskLog.setEndTime(LocalDateTime.now());
+            EagleEyeCrawlerService.CrawlResult result = eagleEyeCrawlerService.recrawlTask(taskLogId, 3).join();
             if (result.getSuccess()) {
-                taskLog.setStatus("success");
-                taskLog.setBatchPath(result.getBatchPath());
-                taskLog.setArticleCount(result.getArticleCount());
-                taskLog.setCategoryStats(result.getCategoryStats());
-
-                // 更新配置的 result_path
-                config.setResultPath(result.getBatchPath());
-                config.setUpdateTime(LocalDateTime.now());
-                this.updateById(config);
-
-                log.info("再爬取成功: taskLogId={}, batchPath={}", taskLogId, result.getBatchPath());
+                log.info("再爬取成功: taskLogId={}, batchPath={}, articleCount={}", taskLogId, result.getBatchPath(), result.getArticleCount());
             } else {
-                taskLog.setStatus("failure");
-                taskLog.setErrorMessage(result.getErrorMessage());
                 log.warn("再爬取失败: taskLogId={}, error={}", taskLogId, result.getErrorMessage());
             }
-
-            crawlerTaskLogRepository.updateById(taskLog);
             return result.getSuccess();
 
         } catch (Exception e) {
+            // 执行器拒绝时任务日志已被标记为失败
             log.error("再爬取服务调用失败: taskLogId={}", taskLogId, e);
-            taskLog.setEndTime(LocalDateTime.now());
-            taskLog.setStatus("failure");
-            taskLog.setErrorMessage("服务调用失败: " + e.getMessage());
-            crawlerTaskLogRepository.updateById(taskLog);
             return false;
         }
     }
@@ -308,59 +276,21 @@ public class CrawlerConfigAdminServiceImpl extends ServiceImpl<CrawlerConfigRepo
             return false;
         }
 
-        // 使用第一个 URL 作为列表页，sourceName 使用 targetName
-        String listUrl = urls.get(0);
-        String sourceName = config.getTargetName().replaceAll("[^a-zA-Z0-9_]", "_").toLowerCase();
-
-        // 记录任务日志
-        CrawlerTaskLog taskLog = new CrawlerTaskLog();
-        taskLog.setTaskId(UUID.randomUUID().toString(true));
-        taskLog.setConfigId(config.getConfigId());
-        taskLog.setTargetUrl(listUrl);
-        taskLog.setStartTime(LocalDateTime.now());
-        taskLog.setStatus("processing");
-
-        boolean logSaved = crawlerTaskLogService.saveTaskLog(taskLog);
-        if (!logSaved) {
-            log.warn("Failed to save initial task log for configId={}", config.getConfigId());
-        }
-
+        // 提交到爬虫任务执行器并等待完成（多 URL 配置会拆分为子任务并行执行）
+        String taskId = UUID.randomUUID().toString(true);
         try {
-            // 调用 EagleEye 爬虫服务
-            EagleEyeCrawlerService.CrawlResult result = eagleEyeCrawlerService.crawl(
-                    sourceName, listUrl, 3 // 默认爬取3篇
-            );
-
-            // 更新任务日志
-            taskLog.setEndTime(LocalDateTime.now());
+            EagleEyeCrawlerService.CrawlResult result = eagleEyeCrawlerService
+                    .triggerAsyncWithResult(config.getConfigId(), taskId, 3) // 默认爬取3篇
+                    .join();
             if (result.getSuccess()) {
-                taskLog.setStatus("success");
-                taskLog.setBatchPath(result.getBatchPath());
-                taskLog.setArticleCount(result.getArticleCount());
-                taskLog.setCategoryStats(result.getCategoryStats());
-
-                // 更新配置的 result_path
-                config.setResultPath(result.getBatchPath());
-                config.setUpdateTime(LocalDateTime.now());
-                this.updateById(config);
-
-                log.info("EagleEye 爬虫执行成功: configId={}, batchPath={}", config.getConfigId(), result.getBatchPath());
+                log.info("EagleEye 爬虫执行成功: configId={}, taskId={}, articleCount={}", config.getConfigId(), taskId, result.getArticleCount());
             } else {
-                taskLog.setStatus("failure");
-                taskLog.setErrorMessage(result.getErrorMessage());
                 log.warn("EagleEye 爬虫执行失败: configId={}, error={}", config.getConfigId(), result.getErrorMessage());
             }
-
-            // 更新任务日志
-            crawlerTaskLogService.updateTaskLog(taskLog);
             return result.getSuccess();
 
         } catch (Exception e) {
             log.error("EagleEye 爬虫服务调用失败: configId={}", config.getConfigId(), e);
-            taskLog.setEndTime(LocalDateTime.now());
-            taskLog.setStatus("failure");
-            taskLog.setErrorMessage("服务调用失败: " + e.getMessage());
-            crawlerTaskLogService.updateTaskLog(taskLog);
             return false;
         }
     }
@@ -461,9 +391,17 @@ public class CrawlerConfigAdminServiceImpl extends ServiceImpl<CrawlerConfigRepo
             log.info("EagleEye 爬虫任务已提交: configId={}, taskId={}", config.getConfigId(), taskId);
             return new TriggerResult(true, taskId, "任务已提交，正在后台执行");
 
+        } catch (RejectedExecutionException e) {
+            log.warn("EagleEye 爬虫任务被拒绝: configId={}, reason={}", config.getConfigId(), e.getMessage());
+            return new TriggerResult(false, taskId, e.getMessage());
         } catch (Exception e) {
             log.error("EagleEye 爬虫服务调用失败: configId={}", config.getConfigId(), e);
             return new TriggerResult(false, null, "服务调用失败: " + e.getMessage());
         }
     }
+
+    @Override
+    public CrawlExecutorStatusVO getExecutorStatus() {
+        return crawlJobExecutor.getStatus();
+    }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.eagleeye.common.api.CursorPage;
+import com.eagleeye.common.api.KeysetCursor;
 import com.eagleeye.model.dto.TaskLogQueryDTO;
 import com.eagleeye.model.entity.CrawlerConfig;
 import com.eagleeye.model.entity.CrawlerTaskLog;
@@ -36,20 +38,58 @@ public class CrawlerTaskLogServiceImpl extends ServiceImpl<CrawlerTaskLogReposit
     @Override
     public Page<CrawlerTaskLogVO> listTaskLogs(TaskLogQueryDTO queryDTO) {
         // 构建查询条件
-        LambdaQueryWrapper<CrawlerTaskLog> queryWrapper = Wrappers.lambdaQuery(CrawlerTaskLog.class)
-                .eq(CrawlerTaskLog::getIsDeleted, false)
-                .eq(StringUtils.hasText(queryDTO.getStatus()), CrawlerTaskLog::getStatus, queryDTO.getStatus())
-                .eq(queryDTO.getConfigId() != null, CrawlerTaskLog::getConfigId, queryDTO.getConfigId())
-                .ge(queryDTO.getStartTime() != null, CrawlerTaskLog::getStartTime, queryDTO.getStartTime())
-                .le(queryDTO.getEndTime() != null, CrawlerTaskLog::getEndTime, queryDTO.getEndTime())
+        LambdaQueryWrapper<CrawlerTaskLog> queryWrapper = buildQueryWrapper(queryDTO)
                 .orderByDesc(CrawlerTaskLog::getEndTime); // 默认按结束时间降序排序
 
         // 执行分页查询
         Page<CrawlerTaskLog> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
         Page<CrawlerTaskLog> logPage = this.page(page, queryWrapper);
 
-        // 转换为VO
-        List<Long> configIds = logPage.getRecords().stream()
+        // 组装最终结果
+        Page<CrawlerTaskLogVO> resultPage = new Page<>(logPage.getCurrent(), logPage.getSize(), logPage.getTotal());
+        resultPage.setRecords(toVOList(logPage.getRecords()));
+        return resultPage;
+    }
+
+    @Override
+    public CursorPage<CrawlerTaskLogVO> scrollTaskLogs(TaskLogQueryDTO queryDTO) {
+        KeysetCursor cursor = KeysetCursor.decode(queryDTO.getCursor());
+        int pageSize = KeysetCursor.normalizePageSize(queryDTO.getPageSize());
+
+        LambdaQueryWrapper<CrawlerTaskLog> queryWrapper = buildQueryWrapper(queryDTO);
+        if (cursor != null) {
+            cursor.applyTo(queryWrapper, CrawlerTaskLog::getEndTime, CrawlerTaskLog::getLogId);
+        }
+        KeysetCursor.orderAndLimit(queryWrapper, CrawlerTaskLog::getEndTime, CrawlerTaskLog::getLogId, pageSize);
+
+        List<CrawlerTaskLog> rows = this.list(queryWrapper);
+        CursorPage<CrawlerTaskLogVO> result = KeysetCursor.toPage(rows, pageSize, CrawlerTaskLog::getEndTime, CrawlerTaskLog::getLogId);
+        result.setList(toVOList(rows));
+        // 总数只在第一页按需统计，后续翻页不再执行 COUNT
+        if (cursor == null && Boolean.TRUE.equals(queryDTO.getWithTotal())) {
+            result.setTotal(this.count(buildQueryWrapper(queryDTO)));
+        }
+        return result;
+    }
+
+    /**
+     * 构建任务日志列表的筛选条件（不含排序）
+     */
+    private LambdaQueryWrapper<CrawlerTaskLog> buildQueryWrapper(TaskLogQueryDTO queryDTO) {
+        return Wrappers.lambdaQuery(CrawlerTaskLog.class)
+                .eq(CrawlerTaskLog::getIsDeleted, false)
+                .isNull(CrawlerTaskLog::getParentLogId) // 只列出顶层任务，子任务通过父任务详情查看
+                .eq(StringUtils.hasText(queryDTO.getStatus()), CrawlerTaskLog::getStatus, queryDTO.getStatus())
+                .eq(queryDTO.getConfigId() != null, CrawlerTaskLog::getConfigId, queryDTO.getConfigId())
+                .ge(queryDTO.getStartTime() != null, CrawlerTaskLog::getStartTime, queryDTO.getStartTime())
+                .le(queryDTO.getEndTime() != null, CrawlerTaskLog::getEndTime, queryDTO.getEndTime());
+    }
+
+    /**
+     * 转换为VO，并批量填充配置名称
+     */
+    private List<CrawlerTaskLogVO> toVOList(List<CrawlerTaskLog> logs) {
+        List<Long> configIds = logs.stream()
                 .map(CrawlerTaskLog::getConfigId)
                 .distinct()
                 .collect(Collectors.toList());
@@ -57,9 +97,7 @@ public class CrawlerTaskLogServiceImpl extends ServiceImpl<CrawlerTaskLogReposit
         // 批量查询配置名称
         Map<Long, String> configNameMap = getConfigNameMap(configIds);
 
-        // 组装最终结果
-        Page<CrawlerTaskLogVO> resultPage = new Page<>(logPage.getCurrent(), logPage.getSize(), logPage.getTotal());
-        List<CrawlerTaskLogVO> voList = logPage.getRecords().stream()
+        return logs.stream()
                 .map(log -> {
                     CrawlerTaskLogVO vo = new CrawlerTaskLogVO();
                     BeanUtils.copyProperties(log, vo);
@@ -68,9 +106,6 @@ public class CrawlerTaskLogServiceImpl extends ServiceImpl<CrawlerTaskLogReposit
                     return vo;
                 })
                 .collect(Collectors.toList());
-
-        resultPage.setRecords(voList);
-        return resultPage;
     }
 
     @Override
@@ -105,6 +140,19 @@ public class CrawlerTaskLogServiceImpl extends ServiceImpl<CrawlerTaskLogReposit
                 vo.setConfigName("未知配置");
             }
 
+            // 填充子任务
+            List<CrawlerTaskLog> children = listChildLogs(log.getLogId());
+            if (!children.isEmpty()) {
+                vo.setChildren(children.stream()
+                        .map(child -> {
+                            CrawlerTaskLogVO childVO = new CrawlerTaskLogVO();
+                            BeanUtils.copyProperties(child, childVO);
+                            childVO.setConfigName(vo.getConfigName());
+                            return childVO;
+                        })
+                        .collect(Collectors.toList()));
+            }
+
             return vo;
         }
         return null;
@@ -142,4 +190,36 @@ public class CrawlerTaskLogServiceImpl extends ServiceImpl<CrawlerTaskLogReposit
         // 委托给 MyBatis Plus ServiceImpl 的 getById 方法
         return super.getById(logId);
     }
+
+    @Override
+    public List<CrawlerTaskLog> listChildLogs(Long parentLogId) {
+        if (parentLogId == null) {
+            return List.of();
+        }
+        return this.list(Wrappers.lambdaQuery(CrawlerTaskLog.class)
+                .eq(CrawlerTaskLog::getParentLogId, parentLogId)
+                .orderByAsc(CrawlerTaskLog::getLogId));
+    }
+
+    @Override
+    public void removeChildLogs(Long parentLogId) {
+        if (parentLogId == null) {
+            return;
+        }
+        this.remove(Wrappers.lambdaQuery(CrawlerTaskLog.class)
+                .eq(CrawlerTaskLog::getParentLogId, parentLogId));
+    }
+
+    @Override
+    public List<String> listBatchPaths(CrawlerTaskLog taskLog) {
+        if (StringUtils.hasText(taskLog.getBatchPath())) {
+            return List.of(taskLog.getBatchPath());
+        }
+        return listChildLogs(taskLog.getLogId()).stream()
+                .filter(child -> "success".equals(child.getStatus()))
+                .map(CrawlerTaskLog::getBatchPath)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .collect(Collectors.toList());
+    }
 } 
\ No newline at end of file
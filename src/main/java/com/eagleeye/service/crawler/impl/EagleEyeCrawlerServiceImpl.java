@@ -4,24 +4,30 @@ import cn.hutool.core.lang.UUID;
 import com.eagleeye.model.entity.CrawlerConfig;
 import com.eagleeye.model.entity.CrawlerTaskLog;
 import com.eagleeye.repository.CrawlerConfigRepository;
+import com.eagleeye.service.crawler.CrawlJobExecutor;
 import com.eagleeye.service.crawler.CrawlerTaskLogService;
 import com.eagleeye.service.crawler.EagleEyeCrawlerService;
+import com.eagleeye.service.proxy.ProxyServiceClient;
+import com.eagleeye.service.proxy.ProxyServiceException;
 import com.eagleeye.util.CrawlerUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 /**
  * EagleEye 爬虫服务实现
@@ -35,7 +41,6 @@ public class EagleEyeCrawlerServiceImpl implements EagleEyeCrawlerService {
     @Value("${eagleeye.crawler.proxy-url:http://localhost:8000/api/crawl}")
     private String proxyUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Resource
@@ -44,6 +49,12 @@ public class EagleEyeCrawlerServiceImpl implements EagleEyeCrawlerService {
     @Resource
     private CrawlerConfigRepository crawlerConfigRepository;
 
+    @Resource
+    private CrawlJobExecutor crawlJobExecutor;
+
+    @Resource
+    private ProxyServiceClient proxyServiceClient;
+
     @Override
     public CrawlResult crawl(String sourceName, String listUrl, Integer maxArticles) {
         return crawl(null, sourceName, listUrl, maxArticles);
@@ -62,27 +73,14 @@ public class EagleEyeCrawlerServiceImpl implements EagleEyeCrawlerService {
             requestBody.put("taskId", taskId != null ? taskId : "");
             requestBody.put("useSkill", true);
 
-            // 设置请求头
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-
-            // 调用 FastAPI 代理服务
-            ResponseEntity<String> response = restTemplate.exchange(
-                    proxyUrl,
-                    HttpMethod.POST,
-                    requestEntity,
-                    String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                return parseResponse(response.getBody());
-            } else {
-                logger.error("爬虫服务返回错误状态: {}", response.getStatusCode());
-                return new CrawlResult(false, null, null, null, "HTTP " + response.getStatusCode());
-            }
+            // 通过共享的 proxy-service 客户端调用 FastAPI 代理服务（使用 /api/crawl 的响应超时）
+            String responseBody = ProxyServiceClient.join(
+                    proxyServiceClient.postAsync(proxyUrl, ProxyServiceClient.Endpoint.CRAWL, requestBody, String.class));
+            return parseResponse(responseBody);
 
+        } catch (ProxyServiceException e) {
+            logger.error("爬虫服务返回错误状态: {}, body={}", e.getStatusCode(), e.getResponseBody());
+            return new CrawlResult(false, null, null, null, "HTTP " + e.getStatusCode());
         } catch (Exception e) {
             logger.error("调用爬虫服务失败", e);
             return new CrawlResult(false, null, null, null, e.getMessage());
@@ -228,7 +226,6 @@ public class EagleEyeCrawlerServiceImpl implements EagleEyeCrawlerService {
     }
 
     @Override
-    @Async
     public CompletableFuture<String> triggerAsync(Long configId, Integer maxArticles) {
         logger.info("异步触发 EagleEye 爬虫服务: configId={}, maxArticles={}", configId, maxArticles);
 
@@ -239,113 +236,27 @@ public class EagleEyeCrawlerServiceImpl implements EagleEyeCrawlerService {
             return CompletableFuture.failedFuture(new RuntimeException("配置不存在: configId=" + configId));
         }
 
-        // 处理 sourceName 和 listUrl
-        String listUrl = null;
-        if (config.getSourceUrls() != null && !config.getSourceUrls().isEmpty()) {
-            String[] urls = config.getSourceUrls().split("\\r?\\n");
-            if (urls.length > 0) {
-                listUrl = urls[0].trim();
-            }
-        }
-
-        if (listUrl == null || listUrl.isEmpty()) {
+        List<String> listUrls = resolveListUrls(config);
+        if (listUrls.isEmpty()) {
             logger.error("配置的 sourceUrls 为空: configId={}", configId);
             return CompletableFuture.failedFuture(new RuntimeException("配置的 sourceUrls 为空: configId=" + configId));
         }
 
-        // 从 URL 提取 sourceName (例如: https://bank.eastmoney.com/a/czzyh.html -> eastmoney_czzyh)
-        String sourceName = extractSourceNameFromUrl(listUrl);
-        logger.info("从 URL 提取 sourceName: {} -> {}", listUrl, sourceName);
-
         // 生成任务ID
         String taskId = UUID.randomUUID().toString(true);
 
-        // 创建任务日志
-        CrawlerTaskLog taskLog = new CrawlerTaskLog();
-        taskLog.setTaskId(taskId);
-        taskLog.setConfigId(configId);
-        taskLog.setTargetUrl(listUrl);
-        taskLog.setStartTime(LocalDateTime.now());
-        taskLog.setStatus("processing");
-        taskLog.setAnalysisStatus("pending");  // 设置初始分析状态
-
-        boolean logSaved = crawlerTaskLogService.saveTaskLog(taskLog);
-        if (!logSaved) {
-            logger.warn("Failed to save initial task log for taskId={}", taskId);
+        try {
+            CrawlerTaskLog taskLog = createTaskLog(taskId, configId, null, String.join("\n", listUrls));
+            dispatchCrawlJobs(config, taskLog, listUrls, maxArticles);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
         }
 
-        // 异步执行爬虫任务
-        final Long finalConfigId = configId;
-        final String finalTaskId = taskId;
-        final Long finalTaskLogId = taskLog.getLogId();
-        final String finalSourceName = sourceName;
-        final String finalListUrl = listUrl;
-        final Integer finalMaxArticles = maxArticles;
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                // 调用同步爬虫方法（带 taskId）
-                CrawlResult result = crawl(finalTaskId, finalSourceName, finalListUrl, finalMaxArticles);
-
-                // 更新任务日志 - 先查询现有记录
-                CrawlerTaskLog existingLog = crawlerTaskLogService.getById(finalTaskLogId);
-                if (existingLog == null) {
-                    logger.error("无法找到任务日志记录: logId={}", finalTaskLogId);
-                    return;
-                }
-
-                existingLog.setEndTime(LocalDateTime.now());
-                existingLog.setUpdatedAt(LocalDateTime.now());
-
-                if (result.getSuccess()) {
-                    existingLog.setStatus("success");
-                    existingLog.setAnalysisStatus("pending");  // 重置为待分析状态
-                    existingLog.setBatchPath(result.getBatchPath());
-                    existingLog.setArticleCount(result.getArticleCount());
-                    existingLog.setCategoryStats(result.getCategoryStats());
-
-                    // 重新查询配置并更新 result_path（避免 lambda 中变量非 final 问题）
-                    CrawlerConfig configToUpdate = crawlerConfigRepository.selectById(finalConfigId);
-                    if (configToUpdate != null) {
-                        configToUpdate.setResultPath(result.getBatchPath());
-                        configToUpdate.setUpdateTime(LocalDateTime.now());
-                        crawlerConfigRepository.updateById(configToUpdate);
-                    }
-
-                    logger.info("异步爬虫执行成功: taskId={}, batchPath={}", finalTaskId, result.getBatchPath());
-                } else {
-                    existingLog.setStatus("failure");
-                    existingLog.setErrorMessage(result.getErrorMessage());
-                    existingLog.setAnalysisStatus("failed");  // 失败时设置分析状态
-                    logger.warn("异步爬虫执行失败: taskId={}, error={}", finalTaskId, result.getErrorMessage());
-                }
-
-                crawlerTaskLogService.updateTaskLog(existingLog);
-
-            } catch (Exception e) {
-                logger.error("异步爬虫执行异常: taskId={}", finalTaskId, e);
-
-                // 先查询现有记录
-                CrawlerTaskLog existingLog = crawlerTaskLogService.getById(finalTaskLogId);
-                if (existingLog != null) {
-                    existingLog.setEndTime(LocalDateTime.now());
-                    existingLog.setUpdatedAt(LocalDateTime.now());
-                    existingLog.setStatus("failure");
-                    existingLog.setErrorMessage("执行异常: " + e.getMessage());
-                    existingLog.setAnalysisStatus("failed");  // 异常时设置分析状态
-                    crawlerTaskLogService.updateTaskLog(existingLog);
-                } else {
-                    logger.error("无法找到任务日志记录进行异常更新: logId={}", finalTaskLogId);
-                }
-            }
-        });
-
         // 立即返回任务ID
         return CompletableFuture.completedFuture(taskId);
     }
 
     @Override
-    @Async
     public CompletableFuture<CrawlResult> triggerAsyncWithResult(Long configId, String taskId, Integer maxArticles) {
         logger.info("异步触发 EagleEye 爬虫服务（含taskId）: configId={}, taskId={}, maxArticles={}", configId, taskId, maxArticles);
 
@@ -356,82 +267,305 @@ public class EagleEyeCrawlerServiceImpl implements EagleEyeCrawlerService {
             return CompletableFuture.completedFuture(new CrawlResult(false, null, 0, null, "配置不存在"));
         }
 
-        // 处理 sourceUrls
-        String listUrl = null;
-        if (config.getSourceUrls() != null && !config.getSourceUrls().isEmpty()) {
-            String[] urls = config.getSourceUrls().split("\\r?\\n");
-            if (urls.length > 0) {
-                listUrl = urls[0].trim();
-            }
+        List<String> listUrls = resolveListUrls(config);
+        if (listUrls.isEmpty()) {
+            return CompletableFuture.completedFuture(new CrawlResult(false, null, 0, null, "配置的 sourceUrls 为空"));
         }
 
-        if (listUrl == null || listUrl.isEmpty()) {
+        // 队列已满时抛出 RejectedExecutionException，由调用方返回明确的错误信息
+        CrawlerTaskLog taskLog = createTaskLog(taskId, configId, null, String.join("\n", listUrls));
+        return dispatchCrawlJobs(config, taskLog, listUrls, maxArticles);
+    }
+
+    @Override
+    public CompletableFuture<CrawlResult> recrawlTask(Long taskLogId, Integer maxArticles) {
+        CrawlerTaskLog taskLog = crawlerTaskLogService.getById(taskLogId);
+        if (taskLog == null) {
+            return CompletableFuture.completedFuture(new CrawlResult(false, null, 0, null, "任务日志不存在"));
+        }
+        CrawlerConfig config = crawlerConfigRepository.selectById(taskLog.getConfigId());
+        if (config == null) {
+            return CompletableFuture.completedFuture(new CrawlResult(false, null, 0, null, "配置不存在"));
+        }
+        List<String> listUrls = resolveListUrls(config);
+        if (listUrls.isEmpty()) {
             return CompletableFuture.completedFuture(new CrawlResult(false, null, 0, null, "配置的 sourceUrls 为空"));
         }
 
-        // 从 URL 提取 sourceName
-        String sourceName = extractSourceNameFromUrl(listUrl);
+        logger.info("重新爬取任务: taskLogId={}, taskId={}, urlCount={}", taskLogId, taskLog.getTaskId(), listUrls.size());
 
-        // 创建任务日志
+        // 重置原任务状态为处理中，并移除旧的子任务
+        crawlerTaskLogService.removeChildLogs(taskLogId);
+        taskLog.setTargetUrl(String.join("\n", listUrls));
+        taskLog.setStatus("processing");
+        taskLog.setStartTime(LocalDateTime.now());
+        taskLog.setEndTime(null);
+        taskLog.setErrorMessage(null);
+        taskLog.setAnalysisStatus("pending");  // 重置分析状态
+        taskLog.setAnalysisResult(null);       // 清空分析结果
+        taskLog.setUpdatedAt(LocalDateTime.now());
+        crawlerTaskLogService.updateTaskLog(taskLog);
+
+        return dispatchCrawlJobs(config, taskLog, listUrls, maxArticles);
+    }
+
+    /**
+     * 解析配置中的全部列表页 URL（按行分隔，去空去重）
+     */
+    private List<String> resolveListUrls(CrawlerConfig config) {
+        if (config.getSourceUrls() == null || config.getSourceUrls().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(config.getSourceUrls().split("\\r?\\n"))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 创建处理中的任务日志
+     */
+    private CrawlerTaskLog createTaskLog(String taskId, Long configId, Long parentLogId, String targetUrl) {
         CrawlerTaskLog taskLog = new CrawlerTaskLog();
         taskLog.setTaskId(taskId);
         taskLog.setConfigId(configId);
-        taskLog.setTargetUrl(listUrl);
+        taskLog.setParentLogId(parentLogId);
+        taskLog.setTargetUrl(targetUrl);
         taskLog.setStartTime(LocalDateTime.now());
         taskLog.setStatus("processing");
-        taskLog.setAnalysisStatus("pending");
+        taskLog.setAnalysisStatus("pending");  // 设置初始分析状态
 
         boolean logSaved = crawlerTaskLogService.saveTaskLog(taskLog);
         if (!logSaved) {
             logger.warn("Failed to save initial task log for taskId={}", taskId);
         }
+        return taskLog;
+    }
+
+    /**
+     * 将爬虫任务提交到爬虫任务执行器
+     * 单个 URL 直接在原任务日志上执行；多个 URL 时每个 URL 拆分为一个子任务（taskId 为 父taskId-序号），
+     * 由执行器按域名并发上限并行执行，父任务在子任务结束时汇总结果。
+     * 先写入全部子任务日志再提交，避免先提交的子任务结束时父任务只看到部分子任务而提前完结。
+     * 所有任务都被拒绝时将父任务标记为失败，并抛出 RejectedExecutionException
+     */
+    private CompletableFuture<CrawlResult> dispatchCrawlJobs(CrawlerConfig config, CrawlerTaskLog taskLog,
+                                                             List<String> listUrls, Integer maxArticles) {
+        if (listUrls.size() == 1) {
+            try {
+                return submitCrawlJob(config, taskLog, listUrls.get(0), maxArticles);
+            } catch (RejectedExecutionException e) {
+                markTaskLogFailure(taskLog.getLogId(), e.getMessage());
+                throw e;
+            }
+        }
+
+        List<CrawlerTaskLog> childLogs = new ArrayList<>(listUrls.size());
+        for (int i = 0; i < listUrls.size(); i++) {
+            childLogs.add(createTaskLog(taskLog.getTaskId() + "-" + (i + 1),
+                    config.getConfigId(), taskLog.getLogId(), listUrls.get(i)));
+        }
+
+        List<CompletableFuture<CrawlResult>> futures = new ArrayList<>();
+        RejectedExecutionException rejection = null;
+        for (int i = 0; i < listUrls.size(); i++) {
+            CrawlerTaskLog childLog = childLogs.get(i);
+            try {
+                futures.add(submitCrawlJob(config, childLog, listUrls.get(i), maxArticles));
+            } catch (RejectedExecutionException e) {
+                rejection = e;
+                markTaskLogFailure(childLog.getLogId(), e.getMessage());
+            }
+        }
+
+        final Long parentLogId = taskLog.getLogId();
+        if (futures.isEmpty()) {
+            markTaskLogFailure(parentLogId, rejection != null ? rejection.getMessage() : "没有可执行的子任务");
+            throw rejection != null ? rejection : new RejectedExecutionException("没有可执行的子任务");
+        }
+        if (rejection != null) {
+            // 已提交的子任务可能在被拒绝的子任务标记失败前就已结束，这里补一次汇总
+            aggregateParentLog(parentLogId);
+        }
+        logger.info("多 URL 爬虫任务已拆分: taskId={}, urlCount={}, submitted={}", taskLog.getTaskId(), listUrls.size(), futures.size());
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> toCrawlResult(crawlerTaskLogService.getById(parentLogId)));
+    }
+
+    /**
+     * 提交单个 URL 的爬虫任务
+     */
+    private CompletableFuture<CrawlResult> submitCrawlJob(CrawlerConfig config, CrawlerTaskLog taskLog, String listUrl, Integer maxArticles) {
+        // 从 URL 提取 sourceName (例如: https://bank.eastmoney.com/a/czzyh.html -> bank_eastmoney)
+        String sourceName = extractSourceNameFromUrl(listUrl);
+        logger.info("从 URL 提取 sourceName: {} -> {}", listUrl, sourceName);
 
-        // 异步执行爬虫并返回结果
-        final Long finalConfigId = configId;
-        final String finalSourceName = sourceName;
-        final String finalListUrl = listUrl;
-        final Integer finalMaxArticles = maxArticles;
-        final String finalTaskId = taskId;
-        final Long finalTaskLogId = taskLog.getLogId();
+        final Long configId = config.getConfigId();
+        final String taskId = taskLog.getTaskId();
+        final Long taskLogId = taskLog.getLogId();
+        final Long parentLogId = taskLog.getParentLogId();
 
-        return CompletableFuture.supplyAsync(() -> {
-            CrawlResult result = crawl(finalTaskId, finalSourceName, finalListUrl, finalMaxArticles);
+        return crawlJobExecutor.submit(taskId, configId, listUrl, config.getPriority(),
+                () -> runCrawlJob(configId, taskId, taskLogId, parentLogId, sourceName, listUrl, maxArticles));
+    }
+
+    /**
+     * 在爬虫任务执行器的工作线程中执行爬虫，并回写任务日志；子任务结束后汇总到父任务
+     */
+    private CrawlResult runCrawlJob(Long configId, String taskId, Long taskLogId, Long parentLogId,
+                                    String sourceName, String listUrl, Integer maxArticles) {
+        CrawlResult result;
+        try {
+            // 调用同步爬虫方法（带 taskId）
+            result = crawl(taskId, sourceName, listUrl, maxArticles);
 
             // 更新任务日志 - 先查询现有记录
-            CrawlerTaskLog existingLog = crawlerTaskLogService.getById(finalTaskLogId);
-            if (existingLog != null) {
-                existingLog.setEndTime(LocalDateTime.now());
-                existingLog.setUpdatedAt(LocalDateTime.now());
-
-                if (result.getSuccess()) {
-                    existingLog.setStatus("success");
-                    existingLog.setAnalysisStatus("pending");
-                    existingLog.setBatchPath(result.getBatchPath());
-                    existingLog.setArticleCount(result.getArticleCount());
-                    existingLog.setCategoryStats(result.getCategoryStats());
-
-                    // 更新配置的 result_path
-                    CrawlerConfig configToUpdate = crawlerConfigRepository.selectById(finalConfigId);
-                    if (configToUpdate != null) {
-                        configToUpdate.setResultPath(result.getBatchPath());
-                        configToUpdate.setUpdateTime(LocalDateTime.now());
-                        crawlerConfigRepository.updateById(configToUpdate);
-                    }
+            CrawlerTaskLog existingLog = crawlerTaskLogService.getById(taskLogId);
+            if (existingLog == null) {
+                logger.error("无法找到任务日志记录: logId={}", taskLogId);
+                return result;
+            }
 
-                    logger.info("异步爬虫执行成功: taskId={}, batchPath={}", finalTaskId, result.getBatchPath());
-                } else {
-                    existingLog.setStatus("failure");
-                    existingLog.setErrorMessage(result.getErrorMessage());
-                    existingLog.setAnalysisStatus("failed");
-                    logger.warn("异步爬虫执行失败: taskId={}, error={}", finalTaskId, result.getErrorMessage());
+            existingLog.setEndTime(LocalDateTime.now());
+            existingLog.setUpdatedAt(LocalDateTime.now());
+
+            if (result.getSuccess()) {
+                existingLog.setStatus("success");
+                existingLog.setAnalysisStatus("pending");  // 重置为待分析状态
+                existingLog.setBatchPath(result.getBatchPath());
+                existingLog.setArticleCount(result.getArticleCount());
+                existingLog.setCategoryStats(result.getCategoryStats());
+
+                // 更新配置的 result_path
+                CrawlerConfig configToUpdate = crawlerConfigRepository.selectById(configId);
+                if (configToUpdate != null) {
+                    configToUpdate.setResultPath(result.getBatchPath());
+                    configToUpdate.setUpdateTime(LocalDateTime.now());
+                    crawlerConfigRepository.updateById(configToUpdate);
                 }
 
-                crawlerTaskLogService.updateTaskLog(existingLog);
+                logger.info("异步爬虫执行成功: taskId={}, batchPath={}", taskId, result.getBatchPath());
             } else {
-                logger.error("无法找到任务日志记录: logId={}", finalTaskLogId);
+                existingLog.setStatus("failure");
+                existingLog.setErrorMessage(result.getErrorMessage());
+                existingLog.setAnalysisStatus("failed");  // 失败时设置分析状态
+                logger.warn("异步爬虫执行失败: taskId={}, error={}", taskId, result.getErrorMessage());
             }
 
-            return result;
-        });
+            crawlerTaskLogService.updateTaskLog(existingLog);
+
+        } catch (Exception e) {
+            logger.error("异步爬虫执行异常: taskId={}", taskId, e);
+            markTaskLogFailure(taskLogId, "执行异常: " + e.getMessage());
+            result = new CrawlResult(false, null, 0, null, "执行异常: " + e.getMessage());
+        }
+
+        if (parentLogId != null) {
+            aggregateParentLog(parentLogId);
+        }
+        return result;
+    }
+
+    /**
+     * 汇总子任务结果到父任务：累加 articleCount、合并 categoryStats；
+     * 所有子任务结束后，至少一个成功则父任务为 success，否则为 failure
+     */
+    private synchronized void aggregateParentLog(Long parentLogId) {
+        try {
+            CrawlerTaskLog parentLog = crawlerTaskLogService.getById(parentLogId);
+            if (parentLog == null) {
+                logger.error("无法找到父任务日志记录: logId={}", parentLogId);
+                return;
+            }
+            List<CrawlerTaskLog> children = crawlerTaskLogService.listChildLogs(parentLogId);
+
+            int articleCount = 0;
+            Map<String, Integer> categoryStats = new LinkedHashMap<>();
+            int succeeded = 0;
+            boolean processing = false;
+            List<String> failures = new ArrayList<>();
+            for (CrawlerTaskLog child : children) {
+                if ("processing".equals(child.getStatus())) {
+                    processing = true;
+                } else if ("success".equals(child.getStatus())) {
+                    succeeded++;
+                    articleCount += child.getArticleCount() != null ? child.getArticleCount() : 0;
+                    mergeCategoryStats(categoryStats, child.getCategoryStats());
+                } else {
+                    failures.add(child.getTargetUrl() + ": " + child.getErrorMessage());
+                }
+            }
+
+            parentLog.setArticleCount(articleCount);
+            parentLog.setCategoryStats(categoryStats.isEmpty() ? null : objectMapper.writeValueAsString(categoryStats));
+            parentLog.setUpdatedAt(LocalDateTime.now());
+
+            if (!processing) {
+                parentLog.setEndTime(LocalDateTime.now());
+                if (succeeded > 0) {
+                    parentLog.setStatus("success");
+                    parentLog.setAnalysisStatus("pending");
+                    if (!failures.isEmpty()) {
+                        parentLog.setErrorMessage(String.format("部分子任务失败 (%d/%d): %s",
+                                failures.size(), children.size(), String.join("; ", failures)));
+                    }
+                } else {
+                    parentLog.setStatus("failure");
+                    parentLog.setAnalysisStatus("failed");
+                    parentLog.setErrorMessage("全部子任务失败: " + String.join("; ", failures));
+                }
+                logger.info("多 URL 爬虫任务完成: taskId={}, status={}, articleCount={}, succeeded={}/{}",
+                        parentLog.getTaskId(), parentLog.getStatus(), articleCount, succeeded, children.size());
+            }
+
+            crawlerTaskLogService.updateTaskLog(parentLog);
+        } catch (Exception e) {
+            logger.error("汇总子任务结果失败: parentLogId={}", parentLogId, e);
+        }
+    }
+
+    /**
+     * 合并分类统计 JSON (如: {"policy":2,"competitor":1})
+     */
+    private void mergeCategoryStats(Map<String, Integer> target, String categoryStats) {
+        if (categoryStats == null || categoryStats.isEmpty()) {
+            return;
+        }
+        try {
+            JsonNode stats = objectMapper.readTree(categoryStats);
+            stats.fields().forEachRemaining(entry -> target.merge(entry.getKey(), entry.getValue().asInt(), Integer::sum));
+        } catch (Exception e) {
+            logger.warn("解析分类统计失败: {}", categoryStats);
+        }
+    }
+
+    /**
+     * 将父任务日志转换为爬取结果（多 URL 任务没有单一批次路径）
+     */
+    private CrawlResult toCrawlResult(CrawlerTaskLog taskLog) {
+        if (taskLog == null) {
+            return new CrawlResult(false, null, 0, null, "任务日志不存在");
+        }
+        return new CrawlResult("success".equals(taskLog.getStatus()), taskLog.getBatchPath(),
+                taskLog.getArticleCount(), taskLog.getCategoryStats(), taskLog.getErrorMessage());
+    }
+
+    /**
+     * 将任务日志标记为失败
+     */
+    private void markTaskLogFailure(Long taskLogId, String errorMessage) {
+        CrawlerTaskLog existingLog = taskLogId != null ? crawlerTaskLogService.getById(taskLogId) : null;
+        if (existingLog == null) {
+            logger.error("无法找到任务日志记录进行失败更新: logId={}", taskLogId);
+            return;
+        }
+        existingLog.setEndTime(LocalDateTime.now());
+        existingLog.setUpdatedAt(LocalDateTime.now());
+        existingLog.setStatus("failure");
+        existingLog.setErrorMessage(errorMessage);
+        existingLog.setAnalysisStatus("failed");
+        crawlerTaskLogService.updateTaskLog(existingLog);
     }
 }
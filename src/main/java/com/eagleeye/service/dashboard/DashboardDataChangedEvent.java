@@ -0,0 +1,29 @@
+package com.eagleeye.service.dashboard;
+
+/**
+ * 仪表盘数据变更事件
+ * 政策、竞品动态、需求写入时由 DashboardRollupService 发布（与汇总计数在同一事务中），
+ * 仪表盘响应缓存在事务提交后据此失效相关条目
+ *
+ * @author eagleeye
+ */
+public class DashboardDataChangedEvent {
+
+    /**
+     * 变更的实体：DashboardRollupService.ENTITY_POLICY / ENTITY_COMPETITOR / ENTITY_REQUIREMENT
+     */
+    private final String entity;
+
+    public DashboardDataChangedEvent(String entity) {
+        this.entity = entity;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardDataChangedEvent{entity=" + entity + "}";
+    }
+}
@@ -0,0 +1,259 @@
+package com.eagleeye.service.dashboard;
+
+import com.eagleeye.model.vo.DashboardCacheStatsVO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 仪表盘接口响应缓存（Redis）
+ * 每个接口一个缓存区域，对应一个 Redis Hash（字段为请求参数，如 limit），整个 Hash 在写入第一个字段时设置 TTL；
+ * 政策 / 竞品动态 / 需求写入后，在事务提交时收到 DashboardDataChangedEvent，删除受影响的区域。
+ * 同一节点上同一键的并发未命中只由第一个请求查询数据库，其余请求等待并共用结果；
+ * Redis 不可用时直接查询数据库，只记录日志和失败次数。
+ *
+ * @author eagleeye
+ */
+@Component
+public class DashboardResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardResponseCache.class);
+
+    public static final String REGION_STATS = "stats";
+    public static final String REGION_POLICY_SUMMARY = "policy-summary";
+    public static final String REGION_COMPETITOR_SUMMARY = "competitor-summary";
+    public static final String REGION_REQUIREMENT_SUMMARY = "requirement-summary";
+
+    private static final String KEY_PREFIX = "eagleeye:dashboard:";
+
+    /**
+     * 实体 -> 其变更后需要失效的缓存区域（统计数据包含全部三类实体）
+     */
+    private static final Map<String, List<String>> REGIONS_BY_ENTITY = Map.of(
+            DashboardRollupService.ENTITY_POLICY, Arrays.asList(REGION_STATS, REGION_POLICY_SUMMARY),
+            DashboardRollupService.ENTITY_COMPETITOR, Arrays.asList(REGION_STATS, REGION_COMPETITOR_SUMMARY),
+            DashboardRollupService.ENTITY_REQUIREMENT, Arrays.asList(REGION_STATS, REGION_REQUIREMENT_SUMMARY));
+
+    @Value("${eagleeye.dashboard.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${eagleeye.dashboard.cache.stats-ttl:60s}")
+    private Duration statsTtl;
+
+    @Value("${eagleeye.dashboard.cache.summary-ttl:30s}")
+    private Duration summaryTtl;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 进行中的加载：区域:字段 -> 结果 JSON
+     */
+    private final Map<String, CompletableFuture<String>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * 区域失效次数：加载期间区域被失效时不写回 Redis，避免把事务提交前读到的旧数据写回缓存
+     */
+    private final Map<String, AtomicLong> epochs = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong sharedLoads = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadErrors = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong redisErrors = new AtomicLong();
+
+    public DashboardResponseCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        // VO 增删字段后，旧缓存中多出的字段忽略而不是失败
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * 读取缓存，未命中时加载并写入缓存
+     *
+     * @param region 缓存区域（REGION_*）
+     * @param field 区域内的字段（请求参数）
+     * @param type 响应类型
+     * @param loader 未命中时的加载方法
+     * @return 响应；每次调用返回独立的对象
+     */
+    public <T> T get(String region, String field, Class<T> type, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        T cached = parse(readRedis(region, field), type);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        String flightKey = region + ":" + field;
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> running = inflight.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            sharedLoads.incrementAndGet();
+            return parse(join(running), type);
+        }
+
+        try {
+            long epoch = epochOf(region).get();
+            long start = System.nanoTime();
+            T value = loader.get();
+            recordLoad(System.nanoTime() - start);
+
+            String json = objectMapper.writeValueAsString(value);
+            if (epochOf(region).get() == epoch) {
+                writeRedis(region, field, json);
+            }
+            flight.complete(json);
+            return value;
+        } catch (JsonProcessingException e) {
+            loadErrors.incrementAndGet();
+            RuntimeException error = new RuntimeException("序列化仪表盘响应失败: " + e.getMessage(), e);
+            flight.completeExceptionally(error);
+            throw error;
+        } catch (RuntimeException e) {
+            loadErrors.incrementAndGet();
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * 数据变更后失效受影响的缓存区域（事务提交后执行；没有事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDataChanged(DashboardDataChangedEvent event) {
+        List<String> regions = REGIONS_BY_ENTITY.getOrDefault(event.getEntity(), Collections.emptyList());
+        if (regions.isEmpty()) {
+            return;
+        }
+        regions.forEach(region -> epochOf(region).incrementAndGet());
+        invalidations.incrementAndGet();
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(regions.stream().map(DashboardResponseCache::keyOf).collect(Collectors.toList()));
+            log.debug("仪表盘缓存已失效: entity={}, regions={}", event.getEntity(), regions);
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("仪表盘缓存失效失败，等待 TTL 过期: entity={}, error={}", event.getEntity(), e.getMessage());
+        }
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public DashboardCacheStatsVO getStats() {
+        DashboardCacheStatsVO vo = new DashboardCacheStatsVO();
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        long loadCount = loads.get();
+        vo.setEnabled(enabled);
+        vo.setHits(hitCount);
+        vo.setMisses(misses.get());
+        vo.setSharedLoads(sharedLoads.get());
+        vo.setLoads(loadCount);
+        vo.setLoadErrors(loadErrors.get());
+        vo.setAvgLoadMillis(loadCount > 0 ? loadNanos.get() / 1_000_000D / loadCount : 0D);
+        vo.setMaxLoadMillis(maxLoadNanos.get() / 1_000_000);
+        vo.setInvalidations(invalidations.get());
+        vo.setRedisErrors(redisErrors.get());
+        vo.setHitRate(lookups > 0 ? (double) hitCount / lookups : 0D);
+        return vo;
+    }
+
+    private String readRedis(String region, String field) {
+        try {
+            Object json = redisTemplate.opsForHash().get(keyOf(region), field);
+            return json != null ? json.toString() : null;
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("读取仪表盘缓存失败，直接查询: region={}, error={}", region, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String region, String field, String json) {
+        String key = keyOf(region);
+        try {
+            redisTemplate.opsForHash().put(key, field, json);
+            // 只在区域首次写入时设置 TTL，区域内所有字段最迟在 TTL 到期时一起失效
+            Long expire = redisTemplate.getExpire(key);
+            if (expire == null || expire < 0) {
+                redisTemplate.expire(key, ttlOf(region));
+            }
+        } catch (Exception e) {
+            redisErrors.incrementAndGet();
+            log.warn("写入仪表盘缓存失败: region={}, error={}", region, e.getMessage());
+        }
+    }
+
+    private <T> T parse(String json, Class<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            log.warn("解析仪表盘缓存失败，按未命中处理: type={}, error={}", type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordLoad(long nanos) {
+        loads.incrementAndGet();
+        loadNanos.addAndGet(nanos);
+        maxLoadNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private AtomicLong epochOf(String region) {
+        return epochs.computeIfAbsent(region, r -> new AtomicLong());
+    }
+
+    private Duration ttlOf(String region) {
+        return REGION_STATS.equals(region) ? statsTtl : summaryTtl;
+    }
+
+    private static String keyOf(String region) {
+        return KEY_PREFIX + region;
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.eagleeye.service.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Resource;
+
+/**
+ * 仪表盘汇总重建任务
+ * - 启动时汇总表为空（首次部署）则立即按明细表重建
+ * - 按 Cron 定期重建，修正绕过写入路径（如直接改库）造成的计数偏差
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "eagleeye.dashboard.rollup", name = "rebuild-enabled", havingValue = "true", matchIfMissing = true)
+public class DashboardRollupScheduler {
+
+    @Resource
+    private DashboardRollupService dashboardRollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (dashboardRollupService.isEmpty()) {
+                log.info("仪表盘汇总表为空，开始重建");
+                dashboardRollupService.rebuild();
+            }
+        } catch (Exception e) {
+            log.error("仪表盘汇总初始化失败", e);
+        }
+    }
+
+    @Scheduled(cron = "${eagleeye.dashboard.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        try {
+            dashboardRollupService.rebuild();
+        } catch (Exception e) {
+            log.error("仪表盘汇总定时重建失败", e);
+        }
+    }
+}
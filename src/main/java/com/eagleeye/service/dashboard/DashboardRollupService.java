@@ -0,0 +1,58 @@
+package com.eagleeye.service.dashboard;
+
+import com.eagleeye.model.entity.CompetitorInfo;
+import com.eagleeye.model.entity.PolicyInfo;
+import com.eagleeye.model.entity.Requirement;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 仪表盘按日汇总服务接口
+ * 写入路径在自己的事务中调用，汇总计数与明细数据同时提交或回滚；
+ * 传入的实体只需要包含统计维度和日期字段
+ *
+ * @author eagleeye
+ */
+public interface DashboardRollupService {
+
+    String ENTITY_POLICY = "policy";
+    String ENTITY_COMPETITOR = "competitor";
+    String ENTITY_REQUIREMENT = "requirement";
+
+    /**
+     * 政策增删后更新汇总（更新记录时旧值放 removed、新值放 added）
+     *
+     * @param removed 删除的政策（或更新前的值）
+     * @param added 新增的政策（或更新后的值）
+     */
+    void policiesChanged(Collection<PolicyInfo> removed, Collection<PolicyInfo> added);
+
+    /**
+     * 竞品动态增删后更新汇总
+     *
+     * @param removed 删除的竞品动态（或更新前的值）
+     * @param added 新增的竞品动态（或更新后的值）
+     */
+    void competitorsChanged(Collection<CompetitorInfo> removed, Collection<CompetitorInfo> added);
+
+    /**
+     * 需求增删后更新汇总
+     *
+     * @param removed 删除的需求（或更新前的值）
+     * @param added 新增的需求（或更新后的值）
+     */
+    void requirementsChanged(Collection<Requirement> removed, Collection<Requirement> added);
+
+    /**
+     * 按明细表重新计算全部汇总（每个实体一个事务：删除旧汇总行后重新写入）
+     *
+     * @return 实体 -> 重建后的汇总行数
+     */
+    Map<String, Integer> rebuild();
+
+    /**
+     * 汇总表是否为空（首次部署时需要重建）
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,164 @@
+package com.eagleeye.service.dashboard.impl;
+
+import com.eagleeye.model.dto.StatDelta;
+import com.eagleeye.model.entity.CompetitorInfo;
+import com.eagleeye.model.entity.PolicyInfo;
+import com.eagleeye.model.entity.Requirement;
+import com.eagleeye.repository.DashboardRollupRepository;
+import com.eagleeye.service.dashboard.DashboardDataChangedEvent;
+import com.eagleeye.service.dashboard.DashboardRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * 仪表盘按日汇总服务实现
+ * 同一次变更的所有计数合并为一条多行 upsert；按键排序写入，避免并发事务以不同顺序锁定汇总行而死锁。
+ * 每次变更（包括维度值未变的更新）和重建后发布 DashboardDataChangedEvent，供仪表盘响应缓存失效
+ *
+ * @author eagleeye
+ */
+@Service
+public class DashboardRollupServiceImpl implements DashboardRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardRollupServiceImpl.class);
+
+    /**
+     * 合计维度
+     */
+    private static final String DIMENSION_TOTAL = "total";
+
+    /**
+     * 日期为空的记录计入的统计日期
+     */
+    private static final LocalDate UNKNOWN_DATE = LocalDate.of(1000, 1, 1);
+
+    private final DashboardRollupRepository dashboardRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DashboardRollupServiceImpl(DashboardRollupRepository dashboardRollupRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.dashboardRollupRepository = dashboardRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void policiesChanged(Collection<PolicyInfo> removed, Collection<PolicyInfo> added) {
+        Map<String, Function<PolicyInfo, String>> dimensions = new LinkedHashMap<>();
+        dimensions.put("policy_type", PolicyInfo::getPolicyType);
+        dimensions.put("source", PolicyInfo::getSource);
+        dimensions.put("importance", PolicyInfo::getImportance);
+        apply(ENTITY_POLICY, dimensions, PolicyInfo::getPublishTime, removed, added);
+    }
+
+    @Override
+    public void competitorsChanged(Collection<CompetitorInfo> removed, Collection<CompetitorInfo> added) {
+        Map<String, Function<CompetitorInfo, String>> dimensions = new LinkedHashMap<>();
+        dimensions.put("company", CompetitorInfo::getCompany);
+        dimensions.put("type", CompetitorInfo::getType);
+        apply(ENTITY_COMPETITOR, dimensions, CompetitorInfo::getCaptureTime, removed, added);
+    }
+
+    @Override
+    public void requirementsChanged(Collection<Requirement> removed, Collection<Requirement> added) {
+        Map<String, Function<Requirement, String>> dimensions = new LinkedHashMap<>();
+        dimensions.put("priority", Requirement::getPriority);
+        dimensions.put("status", Requirement::getStatus);
+        dimensions.put("source_type", Requirement::getSourceType);
+        apply(ENTITY_REQUIREMENT, dimensions, Requirement::getCreateTime, removed, added);
+    }
+
+    @Override
+    public Map<String, Integer> rebuild() {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        rows.put(ENTITY_POLICY, rebuild(ENTITY_POLICY, dashboardRollupRepository::rebuildPolicy));
+        rows.put(ENTITY_COMPETITOR, rebuild(ENTITY_COMPETITOR, dashboardRollupRepository::rebuildCompetitor));
+        rows.put(ENTITY_REQUIREMENT, rebuild(ENTITY_REQUIREMENT, dashboardRollupRepository::rebuildRequirement));
+        rows.keySet().forEach(entity -> eventPublisher.publishEvent(new DashboardDataChangedEvent(entity)));
+        log.info("仪表盘汇总重建完成: 汇总行数={}, 耗时={}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return dashboardRollupRepository.countRows() == 0;
+    }
+
+    private int rebuild(String entity, IntSupplier rebuilder) {
+        Integer rows = transactionTemplate.execute(status -> {
+            dashboardRollupRepository.deleteByEntity(entity);
+            return rebuilder.getAsInt();
+        });
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * 将增删记录换算为各维度的计数增减，合并同键后一次写入；净增减为 0 的键不写入
+     */
+    private <T> void apply(String entity, Map<String, Function<T, String>> dimensions,
+                           Function<T, LocalDateTime> dateOf, Collection<T> removed, Collection<T> added) {
+        if ((removed == null || removed.isEmpty()) && (added == null || added.isEmpty())) {
+            return;
+        }
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(entity));
+
+        // 键: 维度 \0 维度值 \0 日期，TreeMap 保证写入顺序稳定
+        Map<String, StatDelta> deltas = new TreeMap<>();
+        collect(entity, dimensions, dateOf, removed, -1, deltas);
+        collect(entity, dimensions, dateOf, added, 1, deltas);
+
+        List<StatDelta> effective = new ArrayList<>();
+        for (StatDelta delta : deltas.values()) {
+            if (delta.getDelta() != 0) {
+                effective.add(delta);
+            }
+        }
+        if (effective.isEmpty()) {
+            return;
+        }
+        dashboardRollupRepository.applyDeltas(effective);
+        log.debug("仪表盘汇总已更新: entity={}, 增减 {} 项", entity, effective.size());
+    }
+
+    private <T> void collect(String entity, Map<String, Function<T, String>> dimensions,
+                             Function<T, LocalDateTime> dateOf, Collection<T> records, int sign,
+                             Map<String, StatDelta> deltas) {
+        if (records == null) {
+            return;
+        }
+        for (T record : records) {
+            LocalDateTime time = dateOf.apply(record);
+            LocalDate statDate = time != null ? time.toLocalDate() : UNKNOWN_DATE;
+            add(deltas, entity, DIMENSION_TOTAL, "", statDate, sign);
+            dimensions.forEach((dimension, valueOf) -> {
+                String value = valueOf.apply(record);
+                add(deltas, entity, dimension, value != null ? value : "", statDate, sign);
+            });
+        }
+    }
+
+    private static void add(Map<String, StatDelta> deltas, String entity, String dimension,
+                            String dimValue, LocalDate statDate, int delta) {
+        String key = dimension + '\0' + dimValue + '\0' + statDate;
+        StatDelta existing = deltas.get(key);
+        int merged = existing != null ? existing.getDelta() + delta : delta;
+        deltas.put(key, new StatDelta(entity, dimension, dimValue, statDate, merged));
+    }
+}
@@ -15,6 +15,8 @@ import com.eagleeye.common.api.CommonPage;
 import com.eagleeye.model.vo.PolicyVO;
 import com.eagleeye.model.vo.CompetitorVO;
 import com.eagleeye.model.vo.RequirementVO;
+import com.eagleeye.model.dto.StatCount;
+import com.eagleeye.repository.DashboardStatsRepository;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,88 +43,66 @@ public class DashboardServiceImpl implements DashboardService {
     @Autowired
     private RequirementService requirementService;
 
+    @Autowired
+    private DashboardStatsRepository dashboardStatsRepository;
+
+    /**
+     * 分组值为空的记录在统计结果中的键（只用于合计）
+     */
+    private static final String NULL_GROUP = "";
+
     @Override
     public DashboardStatsVO getDashboardStats() {
         DashboardStatsVO statsVO = new DashboardStatsVO();
         
-        // 获取政策统计数据
+        // 获取政策统计数据（总数由重要程度分组合计得出）
         DashboardStatsVO.PolicyStatVO policyStatVO = new DashboardStatsVO.PolicyStatVO();
-        PolicyQueryDTO policyQueryDTO = new PolicyQueryDTO();
-        policyQueryDTO.setPageNum(1);
-        policyQueryDTO.setPageSize(1);
-        CommonPage<PolicyVO> policyPage = policyService.listPolicies(policyQueryDTO);
-        policyStatVO.setTotal(Math.toIntExact(policyPage.getTotal()));
+        Map<String, Integer> policyImportanceCounts = toCountMap(dashboardStatsRepository.countPoliciesByImportance());
+        policyStatVO.setTotal(sum(policyImportanceCounts));
         
         // 获取政策重要程度分布
         Map<String, Integer> importanceDistribution = new HashMap<>();
-        importanceDistribution.put("高", countPoliciesByImportance("高"));
-        importanceDistribution.put("中", countPoliciesByImportance("中"));
-        importanceDistribution.put("低", countPoliciesByImportance("低"));
+        importanceDistribution.put("高", policyImportanceCounts.getOrDefault("高", 0));
+        importanceDistribution.put("中", policyImportanceCounts.getOrDefault("中", 0));
+        importanceDistribution.put("低", policyImportanceCounts.getOrDefault("低", 0));
         policyStatVO.setImportanceDistribution(importanceDistribution);
         
         // 获取政策类型分布
-        Map<String, Integer> typeDistribution = new HashMap<>();
-        typeDistribution.put("监管政策", countPoliciesByType("监管政策"));
-        typeDistribution.put("行业标准", countPoliciesByType("行业标准"));
-        typeDistribution.put("指导意见", countPoliciesByType("指导意见"));
-        policyStatVO.setTypeDistribution(typeDistribution);
+        policyStatVO.setTypeDistribution(policyTypeDistribution());
         
         statsVO.setPolicyStats(policyStatVO);
         
-        // 获取竞品统计数据
+        // 获取竞品统计数据（总数由公司分组合计得出）
         DashboardStatsVO.CompetitorStatVO competitorStatVO = new DashboardStatsVO.CompetitorStatVO();
-        CompetitorQueryDTO competitorQueryDTO = new CompetitorQueryDTO();
-        competitorQueryDTO.setPageNum(1);
-        competitorQueryDTO.setPageSize(1);
-        CommonPage<CompetitorVO> competitorPage = competitorService.listCompetitors(competitorQueryDTO);
-        competitorStatVO.setTotal(Math.toIntExact(competitorPage.getTotal()));
+        Map<String, Integer> competitorCompanyCounts = toCountMap(dashboardStatsRepository.countCompetitorsByCompany());
+        competitorStatVO.setTotal(sum(competitorCompanyCounts));
         
         // 获取竞品银行分布
-        Map<String, Integer> bankDistribution = new HashMap<>();
-        bankDistribution.put("国有银行", countCompetitorsByCompany("国有银行"));
-        bankDistribution.put("股份制银行", countCompetitorsByCompany("股份制银行"));
-        bankDistribution.put("城商行", countCompetitorsByCompany("城商行"));
-        competitorStatVO.setBankDistribution(bankDistribution);
+        competitorStatVO.setBankDistribution(bankDistribution(competitorCompanyCounts));
         
         // 获取竞品更新类型分布
-        Map<String, Integer> updateTypeDistribution = new HashMap<>();
-        updateTypeDistribution.put("功能更新", countCompetitorsByType("功能更新"));
-        updateTypeDistribution.put("UI改版", countCompetitorsByType("UI改版"));
-        updateTypeDistribution.put("流程优化", countCompetitorsByType("流程优化"));
-        competitorStatVO.setUpdateTypeDistribution(updateTypeDistribution);
+        competitorStatVO.setUpdateTypeDistribution(competitorUpdateTypeDistribution());
         
         statsVO.setCompetitorStats(competitorStatVO);
         
-        // 获取需求统计数据
+        // 获取需求统计数据（总数由优先级分组合计得出）
         DashboardStatsVO.RequirementStatVO requirementStatVO = new DashboardStatsVO.RequirementStatVO();
-        RequirementQueryDTO requirementQueryDTO = new RequirementQueryDTO();
-        requirementQueryDTO.setPageNum(1);
-        requirementQueryDTO.setPageSize(1);
-        // 使用正确的类型转换方式
-        Page<RequirementVO> reqPage = requirementService.listRequirements(requirementQueryDTO);
-        CommonPage<RequirementVO> requirementPage = CommonPage.restPage(reqPage);
-        requirementStatVO.setTotal(Math.toIntExact(requirementPage.getTotal()));
+        Map<String, Integer> requirementPriorityCounts = toCountMap(dashboardStatsRepository.countRequirementsByPriority());
+        requirementStatVO.setTotal(sum(requirementPriorityCounts));
         
         // 获取需求优先级分布
-        Map<String, Integer> priorityDistribution = new HashMap<>();
-        priorityDistribution.put("高", countRequirementsByPriority("HIGH"));
-        priorityDistribution.put("中", countRequirementsByPriority("MEDIUM"));
-        priorityDistribution.put("低", countRequirementsByPriority("LOW"));
-        requirementStatVO.setPriorityDistribution(priorityDistribution);
+        requirementStatVO.setPriorityDistribution(requirementPriorityDistribution(requirementPriorityCounts));
         
         // 获取需求状态分布
-        Map<String, Integer> statusDistribution = new HashMap<>();
-        statusDistribution.put("待处理", countRequirementsByStatus("NEW"));
-        statusDistribution.put("进行中", countRequirementsByStatus("PROCESSING"));
-        statusDistribution.put("已完成", countRequirementsByStatus("COMPLETED"));
-        requirementStatVO.setStatusDistribution(statusDistribution);
+        requirementStatVO.setStatusDistribution(requirementStatusDistribution());
         
         statsVO.setRequirementStats(requirementStatVO);
         
-        // 获取时间趋势数据
+        // 获取时间趋势数据（按 30 天窗口各查询一次，最近 7 天取其尾部）
         DashboardStatsVO.TrendStatVO trendStatVO = new DashboardStatsVO.TrendStatVO();
-        trendStatVO.setLastWeekData(getLastDaysData(7));
-        trendStatVO.setLastMonthData(getLastDaysData(30));
+        List<DashboardStatsVO.DailyDataVO> lastMonthData = getLastDaysData(30);
+        trendStatVO.setLastWeekData(new ArrayList<>(lastMonthData.subList(lastMonthData.size() - 7, lastMonthData.size())));
+        trendStatVO.setLastMonthData(lastMonthData);
         
         statsVO.setTrendStats(trendStatVO);
         
@@ -146,25 +126,19 @@ public class DashboardServiceImpl implements DashboardService {
         summaryVO.setLatestImportantPolicies(policyPage.getList());
         
         // 获取政策类型分布
-        Map<String, Integer> typeDistribution = new HashMap<>();
-        typeDistribution.put("监管政策", countPoliciesByType("监管政策"));
-        typeDistribution.put("行业标准", countPoliciesByType("行业标准"));
-        typeDistribution.put("指导意见", countPoliciesByType("指导意见"));
-        summaryVO.setPolicyTypeDistribution(typeDistribution);
+        summaryVO.setPolicyTypeDistribution(policyTypeDistribution());
         
         // 获取政策来源分布
+        Map<String, Integer> sourceCounts = toCountMap(dashboardStatsRepository.countPoliciesBySource());
         Map<String, Integer> sourceDistribution = new HashMap<>();
-        sourceDistribution.put("人民银行", countPoliciesBySource("人民银行"));
-        sourceDistribution.put("银保监会", countPoliciesBySource("银保监会"));
-        sourceDistribution.put("其他", countPoliciesBySource("其他"));
+        sourceDistribution.put("人民银行", sourceCounts.getOrDefault("人民银行", 0));
+        sourceDistribution.put("银保监会", sourceCounts.getOrDefault("银保监会", 0));
+        sourceDistribution.put("其他", sourceCounts.getOrDefault("其他", 0));
         summaryVO.setPolicySourceDistribution(sourceDistribution);
         
         // 获取相关领域分布
-        Map<String, Integer> areaDistribution = new HashMap<>();
-        areaDistribution.put("支付", countPoliciesByArea("支付"));
-        areaDistribution.put("信贷", countPoliciesByArea("信贷"));
-        areaDistribution.put("数据安全", countPoliciesByArea("数据安全"));
-        summaryVO.setPolicyAreaDistribution(areaDistribution);
+        summaryVO.setPolicyAreaDistribution(toCountMap(
+                dashboardStatsRepository.countPoliciesByAreas(Arrays.asList("支付", "信贷", "数据安全"))));
         
         return summaryVO;
     }
@@ -185,25 +159,14 @@ public class DashboardServiceImpl implements DashboardService {
         summaryVO.setLatestCompetitorUpdates(competitorPage.getList());
         
         // 获取竞品银行分布
-        Map<String, Integer> bankDistribution = new HashMap<>();
-        bankDistribution.put("国有银行", countCompetitorsByCompany("国有银行"));
-        bankDistribution.put("股份制银行", countCompetitorsByCompany("股份制银行"));
-        bankDistribution.put("城商行", countCompetitorsByCompany("城商行"));
-        summaryVO.setBankDistribution(bankDistribution);
+        summaryVO.setBankDistribution(bankDistribution(toCountMap(dashboardStatsRepository.countCompetitorsByCompany())));
         
         // 获取更新类型分布
-        Map<String, Integer> updateTypeDistribution = new HashMap<>();
-        updateTypeDistribution.put("功能更新", countCompetitorsByType("功能更新"));
-        updateTypeDistribution.put("UI改版", countCompetitorsByType("UI改版"));
-        updateTypeDistribution.put("流程优化", countCompetitorsByType("流程优化"));
-        summaryVO.setUpdateTypeDistribution(updateTypeDistribution);
+        summaryVO.setUpdateTypeDistribution(competitorUpdateTypeDistribution());
         
         // 获取标签分布
-        Map<String, Integer> tagDistribution = new HashMap<>();
-        tagDistribution.put("支付", countCompetitorsByTag("支付"));
-        tagDistribution.put("理财", countCompetitorsByTag("理财"));
-        tagDistribution.put("信用卡", countCompetitorsByTag("信用卡"));
-        summaryVO.setTagDistribution(tagDistribution);
+        summaryVO.setTagDistribution(toCountMap(
+                dashboardStatsRepository.countCompetitorsByTags(Arrays.asList("支付", "理财", "信用卡"))));
         
         return summaryVO;
     }
@@ -227,205 +190,138 @@ public class DashboardServiceImpl implements DashboardService {
         summaryVO.setLatestRequirements(requirementPage.getList());
         
         // 获取需求优先级分布
-        Map<String, Integer> priorityDistribution = new HashMap<>();
-        priorityDistribution.put("高", countRequirementsByPriority("HIGH"));
-        priorityDistribution.put("中", countRequirementsByPriority("MEDIUM"));
-        priorityDistribution.put("低", countRequirementsByPriority("LOW"));
-        summaryVO.setPriorityDistribution(priorityDistribution);
+        summaryVO.setPriorityDistribution(requirementPriorityDistribution(
+                toCountMap(dashboardStatsRepository.countRequirementsByPriority())));
         
         // 获取需求状态分布
-        Map<String, Integer> statusDistribution = new HashMap<>();
-        statusDistribution.put("待处理", countRequirementsByStatus("NEW"));
-        statusDistribution.put("进行中", countRequirementsByStatus("PROCESSING"));
-        statusDistribution.put("已完成", countRequirementsByStatus("COMPLETED"));
-        summaryVO.setStatusDistribution(statusDistribution);
+        summaryVO.setStatusDistribution(requirementStatusDistribution());
         
         // 获取需求来源分布
+        Map<String, Integer> sourceTypeCounts = toCountMap(dashboardStatsRepository.countRequirementsBySourceType());
         Map<String, Integer> sourceDistribution = new HashMap<>();
-        sourceDistribution.put("政策转化", countRequirementsBySourceType("POLICY"));
-        sourceDistribution.put("竞品转化", countRequirementsBySourceType("COMPETITOR"));
-        sourceDistribution.put("手动创建", countRequirementsBySourceType("MANUAL"));
+        sourceDistribution.put("政策转化", sourceTypeCounts.getOrDefault("POLICY", 0));
+        sourceDistribution.put("竞品转化", sourceTypeCounts.getOrDefault("COMPETITOR", 0));
+        sourceDistribution.put("手动创建", sourceTypeCounts.getOrDefault("MANUAL", 0));
         summaryVO.setSourceDistribution(sourceDistribution);
         
         return summaryVO;
     }
 
     /**
-     * 统计指定重要程度的政策数量
+     * 政策类型分布
      */
-    private Integer countPoliciesByImportance(String importance) {
-        PolicyQueryDTO queryDTO = new PolicyQueryDTO();
-        queryDTO.setImportance(importance);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<PolicyVO> policyPage = policyService.listPolicies(queryDTO);
-        return Math.toIntExact(policyPage.getTotal());
-    }
-    
-    /**
-     * 统计指定类型的政策数量
-     */
-    private Integer countPoliciesByType(String policyType) {
-        PolicyQueryDTO queryDTO = new PolicyQueryDTO();
-        queryDTO.setPolicyType(policyType);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<PolicyVO> policyPage = policyService.listPolicies(queryDTO);
-        return Math.toIntExact(policyPage.getTotal());
-    }
-    
-    /**
-     * 统计指定来源的政策数量
-     */
-    private Integer countPoliciesBySource(String source) {
-        PolicyQueryDTO queryDTO = new PolicyQueryDTO();
-        queryDTO.setSource(source);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<PolicyVO> policyPage = policyService.listPolicies(queryDTO);
-        return Math.toIntExact(policyPage.getTotal());
-    }
-    
-    /**
-     * 统计指定领域的政策数量
-     */
-    private Integer countPoliciesByArea(String area) {
-        PolicyQueryDTO queryDTO = new PolicyQueryDTO();
-        queryDTO.setArea(area);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<PolicyVO> policyPage = policyService.listPolicies(queryDTO);
-        return Math.toIntExact(policyPage.getTotal());
+    private Map<String, Integer> policyTypeDistribution() {
+        Map<String, Integer> typeCounts = toCountMap(dashboardStatsRepository.countPoliciesByType());
+        Map<String, Integer> typeDistribution = new HashMap<>();
+        typeDistribution.put("监管政策", typeCounts.getOrDefault("监管政策", 0));
+        typeDistribution.put("行业标准", typeCounts.getOrDefault("行业标准", 0));
+        typeDistribution.put("指导意见", typeCounts.getOrDefault("指导意见", 0));
+        return typeDistribution;
     }
     
     /**
-     * 统计指定公司的竞品数量
+     * 竞品银行分布
+     *
+     * @param companyCounts 按公司分组的竞品数
      */
-    private Integer countCompetitorsByCompany(String company) {
-        CompetitorQueryDTO queryDTO = new CompetitorQueryDTO();
-        queryDTO.setCompany(company);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<CompetitorVO> competitorPage = competitorService.listCompetitors(queryDTO);
-        return Math.toIntExact(competitorPage.getTotal());
+    private Map<String, Integer> bankDistribution(Map<String, Integer> companyCounts) {
+        Map<String, Integer> bankDistribution = new HashMap<>();
+        bankDistribution.put("国有银行", companyCounts.getOrDefault("国有银行", 0));
+        bankDistribution.put("股份制银行", companyCounts.getOrDefault("股份制银行", 0));
+        bankDistribution.put("城商行", companyCounts.getOrDefault("城商行", 0));
+        return bankDistribution;
     }
     
     /**
-     * 统计指定更新类型的竞品数量
+     * 竞品更新类型分布
      */
-    private Integer countCompetitorsByType(String type) {
-        CompetitorQueryDTO queryDTO = new CompetitorQueryDTO();
-        queryDTO.setType(type);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<CompetitorVO> competitorPage = competitorService.listCompetitors(queryDTO);
-        return Math.toIntExact(competitorPage.getTotal());
+    private Map<String, Integer> competitorUpdateTypeDistribution() {
+        Map<String, Integer> typeCounts = toCountMap(dashboardStatsRepository.countCompetitorsByType());
+        Map<String, Integer> updateTypeDistribution = new HashMap<>();
+        updateTypeDistribution.put("功能更新", typeCounts.getOrDefault("功能更新", 0));
+        updateTypeDistribution.put("UI改版", typeCounts.getOrDefault("UI改版", 0));
+        updateTypeDistribution.put("流程优化", typeCounts.getOrDefault("流程优化", 0));
+        return updateTypeDistribution;
     }
     
     /**
-     * 统计指定标签的竞品数量
+     * 需求优先级分布
+     *
+     * @param priorityCounts 按优先级分组的需求数
      */
-    private Integer countCompetitorsByTag(String tag) {
-        CompetitorQueryDTO queryDTO = new CompetitorQueryDTO();
-        queryDTO.setTag(tag);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        CommonPage<CompetitorVO> competitorPage = competitorService.listCompetitors(queryDTO);
-        return Math.toIntExact(competitorPage.getTotal());
+    private Map<String, Integer> requirementPriorityDistribution(Map<String, Integer> priorityCounts) {
+        Map<String, Integer> priorityDistribution = new HashMap<>();
+        priorityDistribution.put("高", priorityCounts.getOrDefault("HIGH", 0));
+        priorityDistribution.put("中", priorityCounts.getOrDefault("MEDIUM", 0));
+        priorityDistribution.put("低", priorityCounts.getOrDefault("LOW", 0));
+        return priorityDistribution;
     }
     
     /**
-     * 统计指定优先级的需求数量
+     * 需求状态分布
      */
-    private Integer countRequirementsByPriority(String priority) {
-        RequirementQueryDTO queryDTO = new RequirementQueryDTO();
-        queryDTO.setPriority(priority);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        
-        // 使用正确的类型转换方式
-        Page<RequirementVO> reqPage = requirementService.listRequirements(queryDTO);
-        CommonPage<RequirementVO> requirementPage = CommonPage.restPage(reqPage);
-        return Math.toIntExact(requirementPage.getTotal());
+    private Map<String, Integer> requirementStatusDistribution() {
+        Map<String, Integer> statusCounts = toCountMap(dashboardStatsRepository.countRequirementsByStatus());
+        Map<String, Integer> statusDistribution = new HashMap<>();
+        statusDistribution.put("待处理", statusCounts.getOrDefault("NEW", 0));
+        statusDistribution.put("进行中", statusCounts.getOrDefault("PROCESSING", 0));
+        statusDistribution.put("已完成", statusCounts.getOrDefault("COMPLETED", 0));
+        return statusDistribution;
     }
     
     /**
-     * 统计指定状态的需求数量
+     * 将分组统计结果转换为 分组值 -> 记录数（空分组值只计入合计，不作为键）
      */
-    private Integer countRequirementsByStatus(String status) {
-        RequirementQueryDTO queryDTO = new RequirementQueryDTO();
-        queryDTO.setStatus(status);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        
-        // 使用正确的类型转换方式
-        Page<RequirementVO> reqPage = requirementService.listRequirements(queryDTO);
-        CommonPage<RequirementVO> requirementPage = CommonPage.restPage(reqPage);
-        return Math.toIntExact(requirementPage.getTotal());
+    private Map<String, Integer> toCountMap(List<StatCount> statCounts) {
+        Map<String, Integer> counts = new HashMap<>();
+        int nullCount = 0;
+        for (StatCount statCount : statCounts) {
+            int count = statCount.getCount() != null ? Math.toIntExact(statCount.getCount()) : 0;
+            if (statCount.getName() != null) {
+                counts.merge(statCount.getName(), count, Integer::sum);
+            } else {
+                nullCount += count;
+            }
+        }
+        if (nullCount > 0) {
+            counts.merge(NULL_GROUP, nullCount, Integer::sum);
+        }
+        return counts;
     }
     
     /**
-     * 统计指定来源类型的需求数量
+     * 分组统计合计
      */
-    private Integer countRequirementsBySourceType(String sourceType) {
-        RequirementQueryDTO queryDTO = new RequirementQueryDTO();
-        queryDTO.setSourceType(sourceType);
-        queryDTO.setPageNum(1);
-        queryDTO.setPageSize(1);
-        
-        // 使用正确的类型转换方式
-        Page<RequirementVO> reqPage = requirementService.listRequirements(queryDTO);
-        CommonPage<RequirementVO> requirementPage = CommonPage.restPage(reqPage);
-        return Math.toIntExact(requirementPage.getTotal());
+    private Integer sum(Map<String, Integer> counts) {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
     }
     
     /**
-     * 获取最近n天的每日数据
+     * 获取最近n天的每日数据：政策按发布时间、竞品按抓取时间、需求按创建时间，各一条按日期分组的查询
      */
     private List<DashboardStatsVO.DailyDataVO> getLastDaysData(int days) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.minusDays(days - 1).atStartOfDay();
+        LocalDateTime end = today.plusDays(1).atStartOfDay();
+        Map<String, Integer> policyCounts = toCountMap(dashboardStatsRepository.countPoliciesByPublishDate(start, end));
+        Map<String, Integer> competitorCounts = toCountMap(dashboardStatsRepository.countCompetitorsByCaptureDate(start, end));
+        Map<String, Integer> requirementCounts = toCountMap(dashboardStatsRepository.countRequirementsByCreateDate(start, end));
+
         List<DashboardStatsVO.DailyDataVO> result = new ArrayList<>();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
         
         for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime startOfDay = date.atStartOfDay();
-            LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusSeconds(1);
+            LocalDate date = today.minusDays(i);
+            String dateKey = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
             
             DashboardStatsVO.DailyDataVO dailyData = new DashboardStatsVO.DailyDataVO();
             dailyData.setDate(date.format(formatter));
-            
-            // 获取当天政策数量
-            PolicyQueryDTO policyQueryDTO = new PolicyQueryDTO();
-            policyQueryDTO.setPublishStartTime(startOfDay);
-            policyQueryDTO.setPublishEndTime(endOfDay);
-            policyQueryDTO.setPageNum(1);
-            policyQueryDTO.setPageSize(1);
-            CommonPage<PolicyVO> policyPage = policyService.listPolicies(policyQueryDTO);
-            dailyData.setPolicyCount(Math.toIntExact(policyPage.getTotal()));
-            
-            // 获取当天竞品数量
-            CompetitorQueryDTO competitorQueryDTO = new CompetitorQueryDTO();
-            competitorQueryDTO.setCaptureStartTime(startOfDay);
-            competitorQueryDTO.setCaptureEndTime(endOfDay);
-            competitorQueryDTO.setPageNum(1);
-            competitorQueryDTO.setPageSize(1);
-            CommonPage<CompetitorVO> competitorPage = competitorService.listCompetitors(competitorQueryDTO);
-            dailyData.setCompetitorCount(Math.toIntExact(competitorPage.getTotal()));
-            
-            // 由于RequirementQueryDTO没有时间范围字段，这里使用关键词匹配日期
-            RequirementQueryDTO requirementQueryDTO = new RequirementQueryDTO();
-            requirementQueryDTO.setKeyword(date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-            requirementQueryDTO.setPageNum(1);
-            requirementQueryDTO.setPageSize(1);
-            
-            // 使用正确的类型转换方式
-            Page<RequirementVO> reqPage = requirementService.listRequirements(requirementQueryDTO);
-            CommonPage<RequirementVO> requirementPage = CommonPage.restPage(reqPage);
-            dailyData.setRequirementCount(Math.toIntExact(requirementPage.getTotal()));
-            
+            dailyData.setPolicyCount(policyCounts.getOrDefault(dateKey, 0));
+            dailyData.setCompetitorCount(competitorCounts.getOrDefault(dateKey, 0));
+            dailyData.setRequirementCount(requirementCounts.getOrDefault(dateKey, 0));
             result.add(dailyData);
         }
         
         return result;
     }
-} 
\ No newline at end of file
+}
@@ -1,103 +1,75 @@
 package com.eagleeye.service.policy;
 
+import com.eagleeye.model.dto.BatchArticle;
+import com.eagleeye.service.analysis.ArticleResultListener;
+import com.eagleeye.service.settings.ProductContextProvider;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 /**
  * 政策分析服务接口
- * 处理政策文章的批量分析和入库
+ * 处理单篇政策文章的分析和入库，批次级别的调度由 BatchAnalysisService 负责
  *
  * @author eagleeye
  */
 public interface PolicyAnalysisService {
 
     /**
-     * 异步分析指定批次中的政策文章
+     * 分析单篇政策文章并入库（sourceUrl 已存在时跳过）
+     * AI 分析在事务外执行，入库与断点在同一个短事务中提交
      *
-     * @param taskLogId 任务日志ID
-     * @param userId 用户ID（用于获取产品上下文）
+     * @param taskLogId 任务日志ID（用于记录断点）
+     * @param article 批次中的文章
+     * @param productContext 产品上下文快照（批次开始时加载一次，批次内各篇文章共用）
+     * @param existingUrls 批次开始时整批探测到的已入库 URL；只有清单中没有 URL、需从正文提取的文章才单独查询
+     * @return true-已分析入库, false-已存在而跳过
      */
-    void analyzePoliciesAsync(Long taskLogId, Long userId);
+    boolean analyzeArticle(Long taskLogId, BatchArticle article, ProductContextProvider.ProductContext productContext,
+                           Set<String> existingUrls) throws IOException;
 
     /**
-     * 异步重新分析指定批次中的政策文章（删除旧记录后重新分析）
+     * 重新分析单篇政策文章（跳过去重检查后入库）
+     * 清单中 URL 的旧记录须已由 deleteAnalysisByUrls 整批删除，只有从正文提取 URL 的文章在入库前单独删除旧记录
      *
-     * @param taskLogId 任务日志ID
-     * @param userId 用户ID（用于获取产品上下文）
+     * @param taskLogId 任务日志ID（用于记录断点）
+     * @param article 批次中的文章
+     * @param productContext 产品上下文快照（批次开始时加载一次，批次内各篇文章共用）
+     * @param bypassCache 是否跳过分析结果缓存，强制调用 AI 分析
      */
-    void reAnalyzePoliciesAsync(Long taskLogId, Long userId);
+    void reAnalyzeArticle(Long taskLogId, BatchArticle article, ProductContextProvider.ProductContext productContext,
+                          boolean bypassCache) throws IOException;
 
     /**
-     * 分析指定批次中的政策文章（同步）
+     * 批量分析一组政策文章（通过 proxy-service 批量接口，共用产品上下文），每篇结果到达后立即入库并回调
      *
-     * @param taskLogId 任务日志ID
-     * @param userId 用户ID（用于获取产品上下文）
-     * @return 分析结果统计
+     * @param taskLogId 任务日志ID（用于记录断点）
+     * @param articles 批次中的文章
+     * @param productContext 产品上下文快照（批次开始时加载一次，批次内各篇文章共用）
+     * @param existingUrls 批次开始时整批探测到的已入库 URL（再分析时忽略）
+     * @param reAnalyze 是否再分析（跳过去重检查；旧记录须已由 deleteAnalysisByUrls 整批删除）
+     * @param bypassCache 是否跳过分析结果缓存，强制调用 AI 分析
+     * @param listener 逐篇处理结果回调
      */
-    AnalysisSummary analyzePolicies(Long taskLogId, Long userId);
+    void analyzeArticles(Long taskLogId, List<BatchArticle> articles, ProductContextProvider.ProductContext productContext,
+                         Set<String> existingUrls, boolean reAnalyze, boolean bypassCache, ArticleResultListener listener);
 
     /**
-     * 重新分析指定批次中的政策文章（删除旧记录后重新分析）
+     * 批量查询已入库的政策原文 URL（一条 IN 查询探测整批，而不是逐篇 COUNT）
      *
-     * @param taskLogId 任务日志ID
-     * @param userId 用户ID（用于获取产品上下文）
-     * @return 分析结果统计
+     * @param sourceUrls 政策原文 URL（可含空值）
+     * @return 已存在的 URL 集合
      */
-    AnalysisSummary reAnalyzePolicies(Long taskLogId, Long userId);
+    Set<String> findExistingUrls(Collection<String> sourceUrls);
 
     /**
-     * 分析结果统计
+     * 删除指定 URL 对应的政策及其分析、建议记录（同一个事务内按 URL 集合批量删除）
+     * 再分析以此为准，逐篇入库时不再重复删除；删除失败时抛出异常，再分析随之失败
+     *
+     * @param sourceUrls 政策原文 URL 列表
+     * @return 删除的政策数
      */
-    class AnalysisSummary {
-        private int total;
-        private int success;
-        private int skipped;
-        private int failed;
-
-        public AnalysisSummary(int total, int success, int skipped, int failed) {
-            this.total = total;
-            this.success = success;
-            this.skipped = skipped;
-            this.failed = failed;
-        }
-
-        public int getTotal() {
-            return total;
-        }
-
-        public void setTotal(int total) {
-            this.total = total;
-        }
-
-        public int getSuccess() {
-            return success;
-        }
-
-        public void setSuccess(int success) {
-            this.success = success;
-        }
-
-        public int getSkipped() {
-            return skipped;
-        }
-
-        public void setSkipped(int skipped) {
-            this.skipped = skipped;
-        }
-
-        public int getFailed() {
-            return failed;
-        }
-
-        public void setFailed(int failed) {
-            this.failed = failed;
-        }
-
-        @Override
-        public String toString() {
-            return "AnalysisSummary{" +
-                    "total=" + total +
-                    ", success=" + success +
-                    ", skipped=" + skipped +
-                    ", failed=" + failed +
-                    '}';
-        }
-    }
+    int deleteAnalysisByUrls(List<String> sourceUrls);
 }
@@ -1,10 +1,14 @@
 package com.eagleeye.service.policy;
 
 import com.eagleeye.common.api.CommonPage;
+import com.eagleeye.common.api.CursorPage;
 import com.eagleeye.model.dto.PolicyQueryDTO;
 import com.eagleeye.model.vo.PolicyDetailVO;
 import com.eagleeye.model.vo.PolicyVO;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * 政策服务接口
  */
@@ -17,6 +21,39 @@ public interface PolicyService {
      * @return 分页结果
      */
     CommonPage<PolicyVO> listPolicies(PolicyQueryDTO queryDTO);
+
+    /**
+     * 游标分页查询政策列表（按发布时间倒序，不使用 OFFSET，第一页按需统计总数）
+     * 
+     * @param queryDTO 查询条件，cursor 为上一页返回的 nextCursor，为空时查询第一页
+     * @return 游标分页结果
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    CursorPage<PolicyVO> scrollPolicies(PolicyQueryDTO queryDTO);
+
+    /**
+     * 统计符合条件的政策数（与列表使用相同的筛选条件，只执行 COUNT，忽略分页参数）
+     * 
+     * @param queryDTO 查询条件
+     * @return 政策数
+     */
+    long count(PolicyQueryDTO queryDTO);
+
+    /**
+     * 按多组筛选条件分别统计政策数（一条语句完成）
+     * 
+     * @param queryDTOs 查询条件
+     * @return 与 queryDTOs 顺序一致的政策数
+     */
+    List<Long> countMany(List<PolicyQueryDTO> queryDTOs);
+
+    /**
+     * 相关领域分面计数：符合筛选条件的政策中每个领域的政策数（一条 GROUP BY 语句，忽略领域筛选和分页参数）
+     * 
+     * @param queryDTO 查询条件
+     * @return 领域 -> 政策数，按政策数倒序
+     */
+    Map<String, Long> countAreas(PolicyQueryDTO queryDTO);
     
     /**
      * 获取政策详情
@@ -1,40 +1,43 @@
 package com.eagleeye.service.policy.impl;
 
+import cn.hutool.core.collection.ListUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.eagleeye.model.dto.AnalysisResult;
-import com.eagleeye.model.entity.CrawlerTaskLog;
+import com.eagleeye.model.dto.BatchArticle;
 import com.eagleeye.model.entity.PolicyAnalysis;
+import com.eagleeye.model.entity.PolicyArea;
 import com.eagleeye.model.entity.PolicyInfo;
 import com.eagleeye.model.entity.PolicySuggestion;
-import com.eagleeye.repository.CrawlerTaskLogRepository;
 import com.eagleeye.repository.PolicyAnalysisRepository;
+import com.eagleeye.repository.PolicyAreaRepository;
 import com.eagleeye.repository.PolicyRepository;
 import com.eagleeye.repository.PolicySuggestionRepository;
+import com.eagleeye.service.analysis.AnalysisCheckpointService;
+import com.eagleeye.service.analysis.ArticleResultListener;
+import com.eagleeye.service.analysis.BatchResultListener;
+import com.eagleeye.service.dashboard.DashboardRollupService;
 import com.eagleeye.service.policy.PolicyAnalysisService;
 import com.eagleeye.service.policy.PolicyAnalyzer;
-import com.eagleeye.service.settings.SettingsService;
-import com.eagleeye.model.vo.ProductVO;
-import com.eagleeye.model.vo.SettingsDataVO;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.eagleeye.service.settings.ProductContextProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 政策分析服务实现
@@ -47,292 +50,154 @@ public class PolicyAnalysisServiceImpl implements PolicyAnalysisService {
     private static final Logger log = LoggerFactory.getLogger(PolicyAnalysisServiceImpl.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Value("${crawl-files.base-path}")
-    private String crawlFilesBasePath;
-
     private final PolicyAnalyzer policyAnalyzer;
-    private final CrawlerTaskLogRepository taskLogRepository;
     private final PolicyRepository policyRepository;
     private final PolicyAnalysisRepository policyAnalysisRepository;
     private final PolicySuggestionRepository policySuggestionRepository;
-    private final SettingsService settingsService;
+    private final PolicyAreaRepository policyAreaRepository;
+    private final AnalysisCheckpointService analysisCheckpointService;
+    private final DashboardRollupService dashboardRollupService;
+    private final ContentSearchIndex contentSearchIndex;
+    private final TransactionTemplate transactionTemplate;
 
     public PolicyAnalysisServiceImpl(
             PolicyAnalyzer policyAnalyzer,
-            CrawlerTaskLogRepository taskLogRepository,
             PolicyRepository policyRepository,
             PolicyAnalysisRepository policyAnalysisRepository,
             PolicySuggestionRepository policySuggestionRepository,
-            SettingsService settingsService) {
+            PolicyAreaRepository policyAreaRepository,
+            AnalysisCheckpointService analysisCheckpointService,
+            DashboardRollupService dashboardRollupService,
+            ContentSearchIndex contentSearchIndex,
+            TransactionTemplate transactionTemplate) {
         this.policyAnalyzer = policyAnalyzer;
-        this.taskLogRepository = taskLogRepository;
         this.policyRepository = policyRepository;
         this.policyAnalysisRepository = policyAnalysisRepository;
         this.policySuggestionRepository = policySuggestionRepository;
-        this.settingsService = settingsService;
-    }
-
-    @Async
-    @Override
-    public void analyzePoliciesAsync(Long taskLogId, Long userId) {
-        log.info("异步分析政策文章: taskLogId={}, userId={}", taskLogId, userId);
-        try {
-            analyzePolicies(taskLogId, userId);
-        } catch (Exception e) {
-            log.error("异步分析失败: taskLogId={}, userId={}", taskLogId, userId, e);
-            // 更新任务状态为失败
-            updateTaskLogStatus(taskLogId, "failed", null);
-        }
-    }
-
-    @Async
-    @Override
-    public void reAnalyzePoliciesAsync(Long taskLogId, Long userId) {
-        log.info("异步重新分析政策文章: taskLogId={}, userId={}", taskLogId, userId);
-        try {
-            reAnalyzePolicies(taskLogId, userId);
-        } catch (Exception e) {
-            log.error("异步重新分析失败: taskLogId={}, userId={}", taskLogId, userId, e);
-            // 更新任务状态为失败
-            updateTaskLogStatus(taskLogId, "failed", null);
-        }
+        this.policyAreaRepository = policyAreaRepository;
+        this.analysisCheckpointService = analysisCheckpointService;
+        this.dashboardRollupService = dashboardRollupService;
+        this.contentSearchIndex = contentSearchIndex;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
-    @Transactional
-    public AnalysisSummary analyzePolicies(Long taskLogId, Long userId) {
-        log.info("开始分析政策文章: taskLogId={}, userId={}", taskLogId, userId);
-
-        // 1. 获取任务日志
-        CrawlerTaskLog taskLog = taskLogRepository.selectById(taskLogId);
-        if (taskLog == null) {
-            throw new RuntimeException("任务日志不存在: " + taskLogId);
-        }
-
-        String batchPath = taskLog.getBatchPath();
-        if (batchPath == null || batchPath.isEmpty()) {
-            throw new RuntimeException("批次路径为空: " + taskLogId);
-        }
-
-        // 如果是相对路径，转换为绝对路径
-        if (!batchPath.startsWith("/")) {
-            batchPath = crawlFilesBasePath + batchPath;
-        }
-        log.info("使用批次路径: {}", batchPath);
+    public boolean analyzeArticle(Long taskLogId, BatchArticle article, ProductContextProvider.ProductContext productContext,
+                                  Set<String> existingUrls) throws IOException {
+        log.debug("处理政策文章: {}", article.getFilePath());
 
-        // 2. 更新任务状态为分析中
-        updateTaskLogStatus(taskLogId, "analyzing", null);
+        // 1. 读取 Markdown 内容
+        String markdownContent = Files.readString(Paths.get(article.getFilePath()));
 
-        // 3. 读取 metadata.json
-        List<ArticleInfo> policyArticles;
-        try {
-            policyArticles = getPolicyArticles(batchPath);
-        } catch (IOException e) {
-            log.error("读取 metadata.json 失败: batchPath={}", batchPath, e);
-            throw new RuntimeException("读取批次文件失败: " + e.getMessage(), e);
+        // 2. 检查是否已存在（通过 sourceUrl 去重）
+        // 如果传入的 sourceUrl 为空，则尝试从 markdown 中提取
+        String sourceUrl = article.getUrl();
+        if (sourceUrl == null || sourceUrl.isEmpty()) {
+            sourceUrl = extractSourceUrl(markdownContent);
         }
-        log.info("找到 {} 篇政策文章", policyArticles.size());
-
-        int total = policyArticles.size();
-        int success = 0;
-        int skipped = 0;
-        int failed = 0;
 
-        // 4. 逐个分析政策文章
-        for (ArticleInfo article : policyArticles) {
-            try {
-                processPolicyArticle(article.filePath, article.url, article.source, userId);
-                success++;
-            } catch (Exception e) {
-                log.error("分析政策文章失败: {}", article.filePath, e);
-                failed++;
-            }
+        if (isPolicyExists(article, sourceUrl, existingUrls)) {
+            log.info("政策已存在，跳过: {}", sourceUrl);
+            analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_POLICY, article.checkpointKey());
+            return false;
         }
 
-        // 5. 更新任务状态为完成
-        AnalysisSummary summary = new AnalysisSummary(total, success, skipped, failed);
-        updateTaskLogStatus(taskLogId, "completed", summary);
+        // 3. 调用 AI 分析（传递产品上下文）
+        AnalysisResult result = policyAnalyzer.analyze(markdownContent, productContext.getJson());
 
-        log.info("政策分析完成: {}", summary);
-        return summary;
+        // 4. 存储到数据库（传入 sourceUrl 和 source）并记录断点
+        String resolvedUrl = sourceUrl;
+        transactionTemplate.executeWithoutResult(status -> {
+            savePolicyAnalysisResult(markdownContent, resolvedUrl, article.getSource(), result);
+            analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_POLICY, article.checkpointKey());
+        });
+        return true;
     }
 
     @Override
-    @Transactional
-    public AnalysisSummary reAnalyzePolicies(Long taskLogId, Long userId) {
-        log.info("开始重新分析政策文章: taskLogId={}, userId={}", taskLogId, userId);
-
-        // 1. 获取任务日志
-        CrawlerTaskLog taskLog = taskLogRepository.selectById(taskLogId);
-        if (taskLog == null) {
-            throw new RuntimeException("任务日志不存在: " + taskLogId);
-        }
-
-        String batchPath = taskLog.getBatchPath();
-        if (batchPath == null || batchPath.isEmpty()) {
-            throw new RuntimeException("批次路径为空: " + taskLogId);
-        }
-
-        // 如果是相对路径，转换为绝对路径
-        if (!batchPath.startsWith("/")) {
-            batchPath = crawlFilesBasePath + batchPath;
-        }
-        log.info("使用批次路径: {}", batchPath);
-
-        // 2. 更新任务状态为分析中
-        updateTaskLogStatus(taskLogId, "analyzing", null);
-
-        // 3. 读取 metadata.json
-        List<ArticleInfo> policyArticles;
-        try {
-            policyArticles = getPolicyArticles(batchPath);
-        } catch (IOException e) {
-            log.error("读取 metadata.json 失败: batchPath={}", batchPath, e);
-            throw new RuntimeException("读取批次文件失败: " + e.getMessage(), e);
-        }
-        log.info("找到 {} 篇政策文章", policyArticles.size());
-
-        // 4. 先删除该批次的所有旧分析记录
-        deleteOldPolicyAnalysis(batchPath);
-        log.info("已删除该批次的旧分析记录");
-
-        int total = policyArticles.size();
-        int success = 0;
-        int skipped = 0;
-        int failed = 0;
-
-        // 5. 逐个分析政策文章（重新分析，跳过去重检查）
-        for (ArticleInfo article : policyArticles) {
+    public void analyzeArticles(Long taskLogId, List<BatchArticle> articles, ProductContextProvider.ProductContext productContext,
+                                Set<String> existingUrls, boolean reAnalyze, boolean bypassCache, ArticleResultListener listener) {
+        // 1. 读取 Markdown 内容
+        List<BatchArticle> loadedArticles = new ArrayList<>();
+        List<String> loadedContents = new ArrayList<>();
+        List<String> loadedUrls = new ArrayList<>();
+        for (BatchArticle article : articles) {
             try {
-                processPolicyArticleReAnalyze(article.filePath, article.url, article.source, userId);
-                success++;
+                String markdownContent = Files.readString(Paths.get(article.getFilePath()));
+                String sourceUrl = article.getUrl();
+                if (sourceUrl == null || sourceUrl.isEmpty()) {
+                    sourceUrl = extractSourceUrl(markdownContent);
+                }
+                loadedArticles.add(article);
+                loadedContents.add(markdownContent);
+                loadedUrls.add(sourceUrl);
             } catch (Exception e) {
-                log.error("分析政策文章失败: {}", article.filePath, e);
-                failed++;
+                listener.onFailure(article, e);
             }
         }
 
-        // 6. 更新任务状态为完成
-        AnalysisSummary summary = new AnalysisSummary(total, success, skipped, failed);
-        updateTaskLogStatus(taskLogId, "completed", summary);
-
-        log.info("政策重新分析完成: {}", summary);
-        return summary;
-    }
-
-    /**
-     * 存储文章路径和 URL 映射的内部类
-     */
-    private static class ArticleInfo {
-        String filePath;
-        String url;
-        String source;  // 新增：文章来源
-
-        ArticleInfo(String filePath, String url, String source) {
-            this.filePath = filePath;
-            this.url = url;
-            this.source = source;
-        }
-    }
-
-    /**
-     * 获取批次中所有政策文章的 Markdown 文件路径和 URL
-     */
-    private List<ArticleInfo> getPolicyArticles(String batchPath) throws IOException {
-        List<ArticleInfo> articles = new ArrayList<>();
-
-        // 读取 metadata.json
-        File metadataFile = new File(batchPath, "metadata.json");
-        if (!metadataFile.exists()) {
-            log.warn("metadata.json 不存在: {}", metadataFile.getAbsolutePath());
-            return articles;
-        }
-
-        // 读取文件内容
-        String metadataContent = Files.readString(metadataFile.toPath());
-
-        JsonNode rootNode = objectMapper.readTree(metadataContent);
-        JsonNode articlesNode = rootNode.get("articles");
-
-        if (articlesNode == null || !articlesNode.isArray()) {
-            log.warn("metadata.json 中没有 articles 数组");
-            return articles;
-        }
-
-        // 【修复】从顶层读取 source（批次级别的来源）
-        JsonNode topSourceNode = rootNode.get("source");
-        String batchSource = (topSourceNode != null) ? topSourceNode.asText() : null;
-
-        // 筛选 category 为 "policy" 的文章
-        for (JsonNode articleNode : articlesNode) {
-            JsonNode categoryNode = articleNode.get("category");
-            if (categoryNode != null && "policy".equals(categoryNode.asText())) {
-                JsonNode filenameNode = articleNode.get("filename");
-                JsonNode urlNode = articleNode.get("url");
-
-                if (filenameNode != null) {
-                    File file = new File(batchPath, filenameNode.asText());
-                    if (!file.exists()) {
-                        log.warn("文件不存在: {}", file.getAbsolutePath());
-                        continue;
-                    }
-                    // 提取 URL（从 article）和 source（从顶层）
-                    String url = (urlNode != null) ? urlNode.asText() : null;
-                    articles.add(new ArticleInfo(file.getAbsolutePath(), url, batchSource));
+        // 2. 首次分析时跳过已存在的政策：清单中的 URL 已在批次开始时整批探测，只补充查询从正文提取的 URL
+        Set<String> skipUrls = Collections.emptySet();
+        if (!reAnalyze) {
+            List<String> extractedUrls = new ArrayList<>();
+            for (int i = 0; i < loadedArticles.size(); i++) {
+                if (!hasManifestUrl(loadedArticles.get(i))) {
+                    extractedUrls.add(loadedUrls.get(i));
                 }
             }
+            skipUrls = new HashSet<>(existingUrls);
+            skipUrls.addAll(findExistingUrls(extractedUrls));
+        }
+        List<BatchArticle> pendingArticles = new ArrayList<>();
+        List<String> pendingContents = new ArrayList<>();
+        List<String> pendingUrls = new ArrayList<>();
+        for (int i = 0; i < loadedArticles.size(); i++) {
+            BatchArticle article = loadedArticles.get(i);
+            String sourceUrl = loadedUrls.get(i);
+            if (sourceUrl != null && skipUrls.contains(sourceUrl)) {
+                try {
+                    log.info("政策已存在，跳过: {}", sourceUrl);
+                    analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_POLICY, article.checkpointKey());
+                    listener.onSuccess(article, false);
+                } catch (Exception e) {
+                    listener.onFailure(article, e);
+                }
+                continue;
+            }
+            pendingArticles.add(article);
+            pendingContents.add(loadedContents.get(i));
+            pendingUrls.add(sourceUrl);
         }
-
-        return articles;
-    }
-
-    /**
-     * 处理单篇政策文章
-     */
-    @Transactional
-    private void processPolicyArticle(String markdownPath, String sourceUrl, String source, Long userId) throws IOException {
-        log.debug("处理政策文章: {}", markdownPath);
-
-        // 1. 读取 Markdown 内容
-        String markdownContent = Files.readString(Paths.get(markdownPath));
-
-        // 2. 检查是否已存在（通过 sourceUrl 去重）
-        // 如果传入的 sourceUrl 为空，则尝试从 markdown 中提取
-        if (sourceUrl == null || sourceUrl.isEmpty()) {
-            sourceUrl = extractSourceUrl(markdownContent);
-        }
-
-        if (sourceUrl != null && isPolicyExists(sourceUrl)) {
-            log.info("政策已存在，跳过: {}", sourceUrl);
+        if (pendingArticles.isEmpty()) {
             return;
         }
 
-        // 3. 获取用户产品列表
-        String productsJson = null;
-        try {
-            SettingsDataVO settingsData = settingsService.getSettingsData(userId);
-            List<ProductVO> products = settingsData.getMyProducts();
-            if (products != null && !products.isEmpty()) {
-                List<Map<String, String>> productList = new ArrayList<>();
-                for (ProductVO product : products) {
-                    Map<String, String> productInfo = new HashMap<>();
-                    productInfo.put("name", product.getName());
-                    productInfo.put("type", product.getType());
-                    productInfo.put("features", product.getFeatures());
-                    productList.add(productInfo);
+        // 3. 批量调用 AI 分析（共用产品上下文），每篇结果到达后立即入库并记录断点
+        policyAnalyzer.analyzeBatch(pendingContents, productContext.getJson(), bypassCache, new BatchResultListener<AnalysisResult>() {
+            @Override
+            public void onResult(int index, AnalysisResult result) {
+                BatchArticle article = pendingArticles.get(index);
+                String sourceUrl = pendingUrls.get(index);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        // 清单中的 URL 已由 deleteAnalysisByUrls 整批删除，只删除从正文提取 URL 的旧记录
+                        if (reAnalyze && !hasManifestUrl(article)) {
+                            deletePolicyBySourceUrl(sourceUrl);
+                        }
+                        savePolicyAnalysisResult(pendingContents.get(index), sourceUrl, article.getSource(), result);
+                        analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_POLICY, article.checkpointKey());
+                    });
+                    listener.onSuccess(article, true);
+                } catch (Exception e) {
+                    listener.onFailure(article, e);
                 }
-                productsJson = objectMapper.writeValueAsString(productList);
-                log.debug("获取到 {} 个产品信息", products.size());
             }
-        } catch (Exception e) {
-            log.warn("获取用户产品列表失败: userId={}", userId, e);
-        }
-
-        // 4. 调用 AI 分析（传递产品上下文）
-        AnalysisResult result = policyAnalyzer.analyze(markdownContent, productsJson);
 
-        // 5. 存储到数据库（传入 sourceUrl 和 source）
-        savePolicyAnalysisResult(markdownContent, sourceUrl, source, result);
+            @Override
+            public void onError(int index, RuntimeException error) {
+                listener.onFailure(pendingArticles.get(index), error);
+            }
+        });
     }
 
     /**
@@ -377,21 +242,36 @@ public class PolicyAnalysisServiceImpl implements PolicyAnalysisService {
     }
 
     /**
-     * 检查政策是否已存在
+     * 检查政策是否已存在：清单中的 URL 查批次开始时的探测结果，从正文提取的 URL 单独查询
      */
-    private boolean isPolicyExists(String sourceUrl) {
+    private boolean isPolicyExists(BatchArticle article, String sourceUrl, Set<String> existingUrls) {
         if (sourceUrl == null || sourceUrl.isEmpty()) {
             return false;
         }
-        LambdaQueryWrapper<PolicyInfo> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(PolicyInfo::getSourceUrl, sourceUrl);
-        return policyRepository.selectCount(wrapper) > 0;
+        if (hasManifestUrl(article)) {
+            return existingUrls.contains(sourceUrl);
+        }
+        return !findExistingUrls(Collections.singletonList(sourceUrl)).isEmpty();
+    }
+
+    /**
+     * 文章 URL 是否来自批次清单（否则需从正文提取，不在批次开始时的探测和删除范围内）
+     */
+    private static boolean hasManifestUrl(BatchArticle article) {
+        return article.getUrl() != null && !article.getUrl().isEmpty();
+    }
+
+    @Override
+    public Set<String> findExistingUrls(Collection<String> sourceUrls) {
+        if (sourceUrls == null || sourceUrls.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return policyRepository.selectExistingSourceUrls(sourceUrls);
     }
 
     /**
-     * 保存政策分析结果到数据库
+     * 保存政策分析结果到数据库（由调用方开启事务）
      */
-    @Transactional
     private void savePolicyAnalysisResult(String markdownContent, String sourceUrl, String source, AnalysisResult result) {
         // 1. 保存 PolicyInfo
         PolicyInfo policyInfo = new PolicyInfo();
@@ -409,6 +289,9 @@ public class PolicyAnalysisServiceImpl implements PolicyAnalysisService {
         policyInfo.setUpdateTime(LocalDateTime.now());
 
         policyRepository.insert(policyInfo);
+        dashboardRollupService.policiesChanged(Collections.emptyList(), Collections.singletonList(policyInfo));
+        contentSearchIndex.indexAfterCommit(ContentSearchIndex.TYPE_POLICY,
+                policyInfo.getId(), policyInfo.getTitle(), policyInfo.getContent());
 
         // 2. 保存 PolicyAnalysis
         PolicyAnalysis policyAnalysis = new PolicyAnalysis();
@@ -422,8 +305,9 @@ public class PolicyAnalysisServiceImpl implements PolicyAnalysisService {
 
         policyAnalysisRepository.insert(policyAnalysis);
 
-        // 3. 保存 PolicySuggestion
-        if (result.getSuggestions() != null) {
+        // 3. 保存 PolicySuggestion（BATCH 执行器批量写入，配合 rewriteBatchedStatements 合并为多行 INSERT）
+        if (result.getSuggestions() != null && !result.getSuggestions().isEmpty()) {
+            List<PolicySuggestion> policySuggestions = new ArrayList<>();
             for (AnalysisResult.Suggestion suggestion : result.getSuggestions()) {
                 PolicySuggestion policySuggestion = new PolicySuggestion();
                 policySuggestion.setPolicyId(policyInfo.getId());
@@ -432,154 +316,123 @@ public class PolicyAnalysisServiceImpl implements PolicyAnalysisService {
                 policySuggestion.setReason(suggestion.getReason());
                 policySuggestion.setCreateTime(LocalDateTime.now());
                 policySuggestion.setUpdateTime(LocalDateTime.now());
-
-                policySuggestionRepository.insert(policySuggestion);
+                policySuggestions.add(policySuggestion);
             }
+            Db.saveBatch(policySuggestions);
         }
 
+        // 4. 保存 PolicyArea（相关领域的规范化存储，用于按领域筛选和分面计数）
+        savePolicyAreas(policyInfo.getId(), result.getAreas());
+
         log.info("政策分析结果已保存: policyId={}", policyInfo.getId());
     }
 
     /**
-     * 删除指定批次的所有旧分析记录
-     * 根据批次路径中的文章 URL 查找并删除对应的政策分析记录
+     * 保存政策相关领域：去重、去空后通过 BATCH 执行器批量写入
      */
-    @Transactional
-    private void deleteOldPolicyAnalysis(String batchPath) {
-        try {
-            // 读取 metadata.json 获取所有文章的 URL
-            File metadataFile = new File(batchPath, "metadata.json");
-            if (!metadataFile.exists()) {
-                log.warn("metadata.json 不存在，无法删除旧记录: {}", metadataFile.getAbsolutePath());
-                return;
-            }
-
-            String metadataContent = Files.readString(metadataFile.toPath());
-            JsonNode rootNode = objectMapper.readTree(metadataContent);
-            JsonNode articlesNode = rootNode.get("articles");
-
-            if (articlesNode == null || !articlesNode.isArray()) {
-                return;
-            }
-
-            // 收集所有政策文章的 URL
-            List<String> policyUrls = new ArrayList<>();
-            for (JsonNode articleNode : articlesNode) {
-                JsonNode categoryNode = articleNode.get("category");
-                if (categoryNode != null && "policy".equals(categoryNode.asText())) {
-                    JsonNode urlNode = articleNode.get("url");
-                    if (urlNode != null) {
-                        policyUrls.add(urlNode.asText());
-                    }
-                }
-            }
-
-            // 根据 URL 删除对应的政策记录
-            for (String url : policyUrls) {
-                if (url != null && !url.isEmpty()) {
-                    // 查找 PolicyInfo
-                    LambdaQueryWrapper<PolicyInfo> policyWrapper = new LambdaQueryWrapper<>();
-                    policyWrapper.eq(PolicyInfo::getSourceUrl, url);
-                    PolicyInfo policyInfo = policyRepository.selectOne(policyWrapper);
-
-                    if (policyInfo != null) {
-                        // 删除 PolicySuggestion
-                        LambdaQueryWrapper<PolicySuggestion> suggestionWrapper = new LambdaQueryWrapper<>();
-                        suggestionWrapper.eq(PolicySuggestion::getPolicyId, policyInfo.getId());
-                        policySuggestionRepository.delete(suggestionWrapper);
-
-                        // 删除 PolicyAnalysis
-                        LambdaQueryWrapper<PolicyAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
-                        analysisWrapper.eq(PolicyAnalysis::getPolicyId, policyInfo.getId());
-                        policyAnalysisRepository.delete(analysisWrapper);
-
-                        // 删除 PolicyInfo
-                        policyRepository.deleteById(policyInfo.getId());
-                        log.info("已删除旧政策记录: policyId={}, url={}", policyInfo.getId(), url);
-                    }
-                }
+    private void savePolicyAreas(Long policyId, List<String> areas) {
+        if (areas == null || areas.isEmpty()) {
+            return;
+        }
+        List<PolicyArea> policyAreas = new ArrayList<>();
+        for (String area : new LinkedHashSet<>(areas)) {
+            if (area == null || area.isBlank()) {
+                continue;
             }
+            PolicyArea policyArea = new PolicyArea();
+            policyArea.setPolicyId(policyId);
+            policyArea.setArea(area.length() > 64 ? area.substring(0, 64) : area);
+            policyArea.setCreateTime(LocalDateTime.now());
+            policyArea.setUpdateTime(LocalDateTime.now());
+            policyAreas.add(policyArea);
+        }
+        Db.saveBatch(policyAreas);
+    }
 
-            log.info("删除旧分析记录完成: batchPath={}, 共删除 {} 条", batchPath, policyUrls.size());
-        } catch (Exception e) {
-            log.error("删除旧分析记录失败: batchPath={}", batchPath, e);
-        }
+    @Override
+    public int deleteAnalysisByUrls(List<String> sourceUrls) {
+        // 删除失败直接抛出：逐篇入库不再重复删除，旧记录未删除时不能继续再分析
+        Integer removed = transactionTemplate.execute(status -> deletePoliciesBySourceUrls(sourceUrls));
+        int deleted = removed != null ? removed : 0;
+        log.info("删除旧政策分析记录完成: 共 {} 个 URL，删除 {} 条", sourceUrls.size(), deleted);
+        return deleted;
     }
 
-    /**
-     * 处理单篇政策文章（重新分析模式，跳过去重检查）
-     */
-    @Transactional
-    private void processPolicyArticleReAnalyze(String markdownPath, String sourceUrl, String source, Long userId) throws IOException {
-        log.debug("重新分析政策文章: {}", markdownPath);
+    @Override
+    public void reAnalyzeArticle(Long taskLogId, BatchArticle article, ProductContextProvider.ProductContext productContext,
+                                 boolean bypassCache) throws IOException {
+        log.debug("重新分析政策文章: {}", article.getFilePath());
 
         // 1. 读取 Markdown 内容
-        String markdownContent = Files.readString(Paths.get(markdownPath));
+        String markdownContent = Files.readString(Paths.get(article.getFilePath()));
 
         // 2. 提取 sourceUrl（用于存储）
+        String sourceUrl = article.getUrl();
         if (sourceUrl == null || sourceUrl.isEmpty()) {
             sourceUrl = extractSourceUrl(markdownContent);
         }
 
-        // 注意：重新分析模式，跳过去重检查，直接覆盖
+        // 注意：重新分析模式，跳过去重检查，直接覆盖（清单中 URL 的旧记录已由 deleteAnalysisByUrls 整批删除）
 
-        // 3. 获取用户产品列表
-        String productsJson = null;
-        try {
-            SettingsDataVO settingsData = settingsService.getSettingsData(userId);
-            List<ProductVO> products = settingsData.getMyProducts();
-            if (products != null && !products.isEmpty()) {
-                List<Map<String, String>> productList = new ArrayList<>();
-                for (ProductVO product : products) {
-                    Map<String, String> productInfo = new HashMap<>();
-                    productInfo.put("name", product.getName());
-                    productInfo.put("type", product.getType());
-                    productInfo.put("features", product.getFeatures());
-                    productList.add(productInfo);
-                }
-                productsJson = objectMapper.writeValueAsString(productList);
-                log.debug("获取到 {} 个产品信息", products.size());
-            }
-        } catch (Exception e) {
-            log.warn("获取用户产品列表失败: userId={}", userId, e);
-        }
+        // 3. 调用 AI 分析
+        AnalysisResult result = policyAnalyzer.analyze(markdownContent, productContext.getJson(), bypassCache);
 
-        // 4. 调用 AI 分析
-        AnalysisResult result = policyAnalyzer.analyze(markdownContent, productsJson);
-
-        // 5. 删除旧记录并保存新结果
-        deletePolicyBySourceUrl(sourceUrl);
-        savePolicyAnalysisResult(markdownContent, sourceUrl, source, result);
+        // 4. 保存新结果（从正文提取 URL 的文章先删除旧记录），同时记录断点
+        String resolvedUrl = sourceUrl;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!hasManifestUrl(article)) {
+                deletePolicyBySourceUrl(resolvedUrl);
+            }
+            savePolicyAnalysisResult(markdownContent, resolvedUrl, article.getSource(), result);
+            analysisCheckpointService.markCompleted(taskLogId, AnalysisCheckpointService.CATEGORY_POLICY, article.checkpointKey());
+        });
     }
 
     /**
-     * 根据 sourceUrl 删除政策记录
+     * 根据 sourceUrl 删除政策记录（由调用方开启事务）
      */
-    @Transactional
-    private void deletePolicyBySourceUrl(String sourceUrl) {
+    private boolean deletePolicyBySourceUrl(String sourceUrl) {
         if (sourceUrl == null || sourceUrl.isEmpty()) {
-            return;
+            return false;
         }
+        return deletePoliciesBySourceUrls(Collections.singletonList(sourceUrl)) > 0;
+    }
 
-        LambdaQueryWrapper<PolicyInfo> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(PolicyInfo::getSourceUrl, sourceUrl);
-        PolicyInfo policyInfo = policyRepository.selectOne(wrapper);
-
-        if (policyInfo != null) {
+    /**
+     * 根据 sourceUrl 集合删除政策及其分析、建议、相关领域记录（由调用方开启事务）
+     * 先用一条 IN 查询取出政策ID，再按ID集合分别删除各表，语句数与 URL 数量无关
+     *
+     * @return 删除的政策数
+     */
+    private int deletePoliciesBySourceUrls(Collection<String> sourceUrls) {
+        List<PolicyInfo> policies = policyRepository.selectSummariesBySourceUrls(sourceUrls);
+        if (policies.isEmpty()) {
+            return 0;
+        }
+        List<Long> policyIds = policies.stream().map(PolicyInfo::getId).collect(Collectors.toList());
+        for (List<Long> ids : ListUtil.partition(policyIds, PolicyRepository.IN_BATCH_SIZE)) {
             // 删除 PolicySuggestion
             LambdaQueryWrapper<PolicySuggestion> suggestionWrapper = new LambdaQueryWrapper<>();
-            suggestionWrapper.eq(PolicySuggestion::getPolicyId, policyInfo.getId());
+            suggestionWrapper.in(PolicySuggestion::getPolicyId, ids);
             policySuggestionRepository.delete(suggestionWrapper);
 
             // 删除 PolicyAnalysis
             LambdaQueryWrapper<PolicyAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
-            analysisWrapper.eq(PolicyAnalysis::getPolicyId, policyInfo.getId());
+            analysisWrapper.in(PolicyAnalysis::getPolicyId, ids);
             policyAnalysisRepository.delete(analysisWrapper);
 
+            // 删除 PolicyArea
+            LambdaQueryWrapper<PolicyArea> areaWrapper = new LambdaQueryWrapper<>();
+            areaWrapper.in(PolicyArea::getPolicyId, ids);
+            policyAreaRepository.delete(areaWrapper);
+
             // 删除 PolicyInfo
-            policyRepository.deleteById(policyInfo.getId());
-            log.info("已删除旧政策记录: policyId={}, url={}", policyInfo.getId(), sourceUrl);
+            policyRepository.deleteBatchIds(ids);
         }
+        dashboardRollupService.policiesChanged(policies, Collections.emptyList());
+        contentSearchIndex.deleteAfterCommit(ContentSearchIndex.TYPE_POLICY, policyIds);
+        log.info("已删除旧政策记录: {} 条, policyIds={}", policyIds.size(), policyIds);
+        return policyIds.size();
     }
 
     /**
@@ -654,26 +507,6 @@ public class PolicyAnalysisServiceImpl implements PolicyAnalysisService {
         }
     }
 
-    /**
-     * 更新任务日志的分析状态
-     */
-    private void updateTaskLogStatus(Long taskLogId, String status, AnalysisSummary summary) {
-        CrawlerTaskLog taskLog = new CrawlerTaskLog();
-        taskLog.setLogId(taskLogId);
-        taskLog.setAnalysisStatus(status);
-
-        if (summary != null) {
-            try {
-                String summaryJson = objectMapper.writeValueAsString(summary);
-                taskLog.setAnalysisResult(summaryJson);
-            } catch (Exception e) {
-                log.error("序列化分析结果失败", e);
-            }
-        }
-
-        taskLogRepository.updateById(taskLog);
-    }
-
     /**
      * 清理 JSON 内容中的格式问题
      * 主要处理未转义的引号等字符
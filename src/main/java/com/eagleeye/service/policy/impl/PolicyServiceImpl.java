@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.eagleeye.common.api.CommonPage;
+import com.eagleeye.common.api.CursorPage;
+import com.eagleeye.common.api.KeysetCursor;
 import com.eagleeye.model.dto.PolicyQueryDTO;
 import com.eagleeye.model.entity.PolicyAnalysis;
 import com.eagleeye.model.entity.PolicyInfo;
@@ -12,10 +14,13 @@ import com.eagleeye.model.vo.PolicyDetailVO;
 import com.eagleeye.model.vo.PolicyVO;
 import com.eagleeye.model.vo.PolicySuggestionVO;
 import com.eagleeye.repository.PolicyAnalysisRepository;
+import com.eagleeye.repository.PolicyAreaRepository;
 import com.eagleeye.repository.PolicyRepository;
 import com.eagleeye.repository.PolicySuggestionRepository;
 import com.eagleeye.service.policy.PolicyService;
 import com.eagleeye.service.requirement.RequirementService;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.eagleeye.service.search.KeywordSearchPager;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -26,7 +31,11 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -45,68 +54,30 @@ public class PolicyServiceImpl implements PolicyService {
     @Resource
     private PolicySuggestionRepository policySuggestionRepository;
 
+    @Resource
+    private PolicyAreaRepository policyAreaRepository;
+
     @Resource
     private ObjectMapper objectMapper;
 
     @Resource
     private RequirementService requirementService;
+
+    @Resource
+    private ContentSearchIndex contentSearchIndex;
     
     @Override
     public CommonPage<PolicyVO> listPolicies(PolicyQueryDTO queryDTO) {
-        // 构建查询条件
-        LambdaQueryWrapper<PolicyInfo> queryWrapper = new LambdaQueryWrapper<>();
-        
-        // 关键词搜索
-        if (StringUtils.isNotBlank(queryDTO.getKeyword())) {
-            queryWrapper.like(PolicyInfo::getTitle, queryDTO.getKeyword())
-                    .or()
-                    .like(PolicyInfo::getContent, queryDTO.getKeyword());
-        }
-        
-        // 政策类型过滤
-        if (StringUtils.isNotBlank(queryDTO.getPolicyType())) {
-            queryWrapper.eq(PolicyInfo::getPolicyType, queryDTO.getPolicyType());
-        }
-        
-        // 政策来源过滤
-        if (StringUtils.isNotBlank(queryDTO.getSource())) {
-            queryWrapper.eq(PolicyInfo::getSource, queryDTO.getSource());
-        }
-        
-        // 重要程度过滤
-        if (StringUtils.isNotBlank(queryDTO.getImportance())) {
-            queryWrapper.eq(PolicyInfo::getImportance, queryDTO.getImportance());
-        }
-
-        // 相关度过滤
-        if (StringUtils.isNotBlank(queryDTO.getRelevance())) {
-            queryWrapper.eq(PolicyInfo::getRelevance, queryDTO.getRelevance());
-        }
-        
-        // 相关领域过滤
-        if (StringUtils.isNotBlank(queryDTO.getArea())) {
-            queryWrapper.like(PolicyInfo::getAreas, queryDTO.getArea());
-        }
-        
-        // 发布时间范围过滤
-        if (queryDTO.getPublishStartTime() != null) {
-            queryWrapper.ge(PolicyInfo::getPublishTime, queryDTO.getPublishStartTime());
-        }
-        if (queryDTO.getPublishEndTime() != null) {
-            queryWrapper.le(PolicyInfo::getPublishTime, queryDTO.getPublishEndTime());
-        }
-        
-        // 按发布时间倒序排序
-        queryWrapper.orderByDesc(PolicyInfo::getPublishTime);
-        
-        // 执行分页查询
+        // 关键词命中全文索引时按相关度分页
         Page<PolicyInfo> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
-        Page<PolicyInfo> policyPage = policyRepository.selectPage(page, queryWrapper);
-        
-        // 转换为VO对象
-        List<PolicyVO> policyVOList = policyPage.getRecords().stream()
-                .map(this::convertToPolicyVO)
-                .collect(Collectors.toList());
+        Page<PolicyInfo> policyPage = keywordSearch().searchPage(queryDTO.getKeyword(), filtersOf(queryDTO), page);
+        if (policyPage == null) {
+            // 没有关键词或无法使用全文索引时按发布时间倒序分页
+            LambdaQueryWrapper<PolicyInfo> queryWrapper = selectListColumns(buildQueryWrapper(queryDTO, null));
+            queryWrapper.orderByDesc(PolicyInfo::getPublishTime);
+            policyPage = policyRepository.selectPage(page, queryWrapper);
+        }
+        List<PolicyVO> policyVOList = toPolicyVOList(policyPage.getRecords());
         
         // 封装为通用分页结果
         CommonPage<PolicyVO> result = new CommonPage<>();
@@ -119,6 +90,73 @@ public class PolicyServiceImpl implements PolicyService {
         return result;
     }
     
+    @Override
+    public CursorPage<PolicyVO> scrollPolicies(PolicyQueryDTO queryDTO) {
+        KeysetCursor cursor = KeysetCursor.decode(queryDTO.getCursor());
+        int pageSize = KeysetCursor.normalizePageSize(queryDTO.getPageSize());
+
+        // 游标分页固定按发布时间倒序；关键词命中全文索引时只作为ID过滤条件
+        List<Long> matchedIds = searchIds(queryDTO);
+        LambdaQueryWrapper<PolicyInfo> queryWrapper = selectListColumns(buildQueryWrapper(queryDTO, matchedIds));
+        if (cursor != null) {
+            cursor.applyTo(queryWrapper, PolicyInfo::getPublishTime, PolicyInfo::getId);
+        }
+        KeysetCursor.orderAndLimit(queryWrapper, PolicyInfo::getPublishTime, PolicyInfo::getId, pageSize);
+
+        List<PolicyInfo> rows = policyRepository.selectList(queryWrapper);
+        CursorPage<PolicyVO> result = KeysetCursor.toPage(rows, pageSize, PolicyInfo::getPublishTime, PolicyInfo::getId);
+        result.setList(toPolicyVOList(rows));
+        // 总数只在第一页按需统计，后续翻页不再执行 COUNT
+        if (cursor == null && Boolean.TRUE.equals(queryDTO.getWithTotal())) {
+            result.setTotal(policyRepository.selectCount(buildQueryWrapper(queryDTO, matchedIds)));
+        }
+        return result;
+    }
+    
+    @Override
+    public long count(PolicyQueryDTO queryDTO) {
+        Long indexCount = keywordSearch().countFromIndex(queryDTO.getKeyword(), filtersOf(queryDTO));
+        return indexCount != null ? indexCount : policyRepository.selectCount(buildQueryWrapper(queryDTO, searchIds(queryDTO)));
+    }
+
+    @Override
+    public List<Long> countMany(List<PolicyQueryDTO> queryDTOs) {
+        // 只有关键词的条件直接取索引命中数，其余条件合并为一条 SQL 计数
+        List<Long> counts = new ArrayList<>(Collections.nCopies(queryDTOs.size(), null));
+        List<Integer> sqlPositions = new ArrayList<>();
+        List<LambdaQueryWrapper<PolicyInfo>> sqlWrappers = new ArrayList<>();
+        for (int i = 0; i < queryDTOs.size(); i++) {
+            PolicyQueryDTO queryDTO = queryDTOs.get(i);
+            Long indexCount = keywordSearch().countFromIndex(queryDTO.getKeyword(), filtersOf(queryDTO));
+            if (indexCount != null) {
+                counts.set(i, indexCount);
+            } else {
+                sqlPositions.add(i);
+                sqlWrappers.add(buildQueryWrapper(queryDTO, searchIds(queryDTO)));
+            }
+        }
+        if (!sqlWrappers.isEmpty()) {
+            List<Long> sqlCounts = policyRepository.countEach(sqlWrappers);
+            for (int i = 0; i < sqlPositions.size(); i++) {
+                counts.set(sqlPositions.get(i), sqlCounts.get(i));
+            }
+        }
+        return counts;
+    }
+    
+    @Override
+    public Map<String, Long> countAreas(PolicyQueryDTO queryDTO) {
+        // 领域分面不应用自身的领域筛选，返回切换到每个领域时的政策数
+        PolicyQueryDTO facetQuery = new PolicyQueryDTO();
+        BeanUtils.copyProperties(queryDTO, facetQuery);
+        facetQuery.setArea(null);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        policyAreaRepository.countPoliciesByArea(buildQueryWrapper(facetQuery, searchIds(facetQuery)))
+                .forEach(stat -> counts.put(stat.getName(), stat.getCount()));
+        return counts;
+    }
+    
     @Override
     public PolicyDetailVO getPolicyDetail(Long id) {
         // 1. 查询政策信息
@@ -207,10 +245,161 @@ public class PolicyServiceImpl implements PolicyService {
         return requirementId;
     }
     
+    /**
+     * 政策列表的全文索引检索
+     */
+    private KeywordSearchPager<PolicyInfo> keywordSearch() {
+        return new KeywordSearchPager<>(contentSearchIndex, ContentSearchIndex.TYPE_POLICY, policyRepository,
+                PolicyInfo::getId, PolicyServiceImpl::selectListColumns);
+    }
+
+    /**
+     * 关键词在全文索引中命中的全部政策ID（按相关度排序）；没有关键词、索引不可用或命中数超过上限时返回 null
+     */
+    private List<Long> searchIds(PolicyQueryDTO queryDTO) {
+        return keywordSearch().searchIds(queryDTO.getKeyword());
+    }
+
+    /**
+     * 除关键词外的筛选条件，用于判断能否直接使用索引分页 / 计数
+     */
+    private LambdaQueryWrapper<PolicyInfo> filtersOf(PolicyQueryDTO queryDTO) {
+        return applyFilters(new LambdaQueryWrapper<>(), queryDTO);
+    }
+
+    /**
+     * 组装一页政策的VO：批量查询本页所有政策的分析和建议（两条 IN 查询，与每页条数无关），再在内存中按政策ID组装
+     */
+    private List<PolicyVO> toPolicyVOList(List<PolicyInfo> policies) {
+        List<Long> policyIds = policies.stream()
+                .map(PolicyInfo::getId)
+                .collect(Collectors.toList());
+        Map<Long, PolicyAnalysis> analysisMap = loadAnalysisMap(policyIds);
+        Map<Long, List<PolicySuggestion>> suggestionMap = loadSuggestionMap(policyIds);
+
+        return policies.stream()
+                .map(policyInfo -> convertToPolicyVO(policyInfo,
+                        analysisMap.get(policyInfo.getId()),
+                        suggestionMap.getOrDefault(policyInfo.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 列表只查询 PolicyVO 需要的列，不加载政策原文（原文只由详情接口读取）
+     */
+    private static LambdaQueryWrapper<PolicyInfo> selectListColumns(LambdaQueryWrapper<PolicyInfo> queryWrapper) {
+        return queryWrapper.select(PolicyInfo::getId, PolicyInfo::getTitle, PolicyInfo::getSource, PolicyInfo::getSourceUrl,
+                PolicyInfo::getPublishTime, PolicyInfo::getPolicyType, PolicyInfo::getImportance,
+                PolicyInfo::getRelevance, PolicyInfo::getAreas);
+    }
+
+    /**
+     * 构建政策列表 / 计数共用的筛选条件（不含排序）
+     *
+     * @param matchedIds 关键词在全文索引中命中的ID；为 null 时关键词按 LIKE 匹配标题和正文
+     */
+    private LambdaQueryWrapper<PolicyInfo> buildQueryWrapper(PolicyQueryDTO queryDTO, List<Long> matchedIds) {
+        LambdaQueryWrapper<PolicyInfo> queryWrapper = new LambdaQueryWrapper<>();
+        
+        // 关键词搜索
+        if (matchedIds != null) {
+            if (matchedIds.isEmpty()) {
+                queryWrapper.apply("1 = 0");
+            } else {
+                queryWrapper.in(PolicyInfo::getId, matchedIds);
+            }
+        } else if (StringUtils.isNotBlank(queryDTO.getKeyword())) {
+            // 标题或正文匹配需要加括号，否则 OR 会与后续筛选条件按优先级错误组合
+            queryWrapper.and(w -> w.like(PolicyInfo::getTitle, queryDTO.getKeyword())
+                    .or()
+                    .like(PolicyInfo::getContent, queryDTO.getKeyword()));
+        }
+        return applyFilters(queryWrapper, queryDTO);
+    }
+
+    /**
+     * 追加关键词以外的筛选条件
+     */
+    private LambdaQueryWrapper<PolicyInfo> applyFilters(LambdaQueryWrapper<PolicyInfo> queryWrapper, PolicyQueryDTO queryDTO) {
+        // 政策类型过滤
+        if (StringUtils.isNotBlank(queryDTO.getPolicyType())) {
+            queryWrapper.eq(PolicyInfo::getPolicyType, queryDTO.getPolicyType());
+        }
+        
+        // 政策来源过滤
+        if (StringUtils.isNotBlank(queryDTO.getSource())) {
+            queryWrapper.eq(PolicyInfo::getSource, queryDTO.getSource());
+        }
+        
+        // 重要程度过滤
+        if (StringUtils.isNotBlank(queryDTO.getImportance())) {
+            queryWrapper.eq(PolicyInfo::getImportance, queryDTO.getImportance());
+        }
+
+        // 相关度过滤
+        if (StringUtils.isNotBlank(queryDTO.getRelevance())) {
+            queryWrapper.eq(PolicyInfo::getRelevance, queryDTO.getRelevance());
+        }
+        
+        // 相关领域过滤
+        if (StringUtils.isNotBlank(queryDTO.getArea())) {
+            queryWrapper.apply("id IN (SELECT policy_id FROM policy_area WHERE is_deleted = 0 AND area = {0})",
+                    queryDTO.getArea());
+        }
+        
+        // 发布时间范围过滤
+        if (queryDTO.getPublishStartTime() != null) {
+            queryWrapper.ge(PolicyInfo::getPublishTime, queryDTO.getPublishStartTime());
+        }
+        if (queryDTO.getPublishEndTime() != null) {
+            queryWrapper.le(PolicyInfo::getPublishTime, queryDTO.getPublishEndTime());
+        }
+        return queryWrapper;
+    }
+
+    /**
+     * 批量查询政策分析，每个政策取第一条（与详情页的 LIMIT 1 一致）
+     */
+    private Map<Long, PolicyAnalysis> loadAnalysisMap(List<Long> policyIds) {
+        Map<Long, PolicyAnalysis> analysisMap = new HashMap<>();
+        if (policyIds.isEmpty()) {
+            return analysisMap;
+        }
+        // 列表只展示摘要、相关度和关键条款，不加载影响分析全文
+        LambdaQueryWrapper<PolicyAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
+        analysisWrapper.select(PolicyAnalysis::getId, PolicyAnalysis::getPolicyId, PolicyAnalysis::getSummary,
+                        PolicyAnalysis::getRelevance, PolicyAnalysis::getKeyPoints)
+                .in(PolicyAnalysis::getPolicyId, policyIds)
+                .orderByAsc(PolicyAnalysis::getId);
+        for (PolicyAnalysis policyAnalysis : policyAnalysisRepository.selectList(analysisWrapper)) {
+            analysisMap.putIfAbsent(policyAnalysis.getPolicyId(), policyAnalysis);
+        }
+        return analysisMap;
+    }
+
+    /**
+     * 批量查询政策建议，按政策ID分组
+     */
+    private Map<Long, List<PolicySuggestion>> loadSuggestionMap(List<Long> policyIds) {
+        if (policyIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        LambdaQueryWrapper<PolicySuggestion> suggestionWrapper = new LambdaQueryWrapper<>();
+        suggestionWrapper.in(PolicySuggestion::getPolicyId, policyIds)
+                .orderByAsc(PolicySuggestion::getId);
+        return policySuggestionRepository.selectList(suggestionWrapper).stream()
+                .collect(Collectors.groupingBy(PolicySuggestion::getPolicyId));
+    }
+
     /**
      * 将政策实体转换为VO对象
+     *
+     * @param policyInfo 政策信息
+     * @param policyAnalysis 政策分析（可为空）
+     * @param policySuggestions 政策建议
      */
-    private PolicyVO convertToPolicyVO(PolicyInfo policyInfo) {
+    private PolicyVO convertToPolicyVO(PolicyInfo policyInfo, PolicyAnalysis policyAnalysis,
+                                       List<PolicySuggestion> policySuggestions) {
         PolicyVO policyVO = new PolicyVO();
         BeanUtils.copyProperties(policyInfo, policyVO);
         
@@ -228,12 +417,6 @@ public class PolicyServiceImpl implements PolicyService {
             policyVO.setAreas(new ArrayList<>());
         }
         
-        // 查询政策分析
-        LambdaQueryWrapper<PolicyAnalysis> analysisWrapper = new LambdaQueryWrapper<>();
-        analysisWrapper.eq(PolicyAnalysis::getPolicyId, policyInfo.getId());
-        analysisWrapper.last("LIMIT 1");
-        PolicyAnalysis policyAnalysis = policyAnalysisRepository.selectOne(analysisWrapper);
-        
         // 设置摘要、相关度和关键条款
         if (policyAnalysis != null) {
             policyVO.setSummary(policyAnalysis.getSummary());
@@ -254,11 +437,6 @@ public class PolicyServiceImpl implements PolicyService {
             }
         }
         
-        // 查询政策建议
-        LambdaQueryWrapper<PolicySuggestion> suggestionWrapper = new LambdaQueryWrapper<>();
-        suggestionWrapper.eq(PolicySuggestion::getPolicyId, policyInfo.getId());
-        List<PolicySuggestion> policySuggestions = policySuggestionRepository.selectList(suggestionWrapper);
-        
         // 转换建议列表
         List<PolicySuggestionVO> suggestionVOList = policySuggestions.stream()
                 .map(suggestion -> {
@@ -0,0 +1,270 @@
+package com.eagleeye.service.proxy;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * proxy-service 共享 HTTP 客户端
+ * 基于 JDK HttpClient：连接复用（keep-alive 连接池）、非阻塞 I/O，
+ * 支持全局连接超时以及按接口配置的响应超时。
+ * 爬虫服务、政策分析器、竞品分析器共用同一个实例。
+ *
+ * @author eagleeye
+ */
+@Component
+public class ProxyServiceClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ProxyServiceClient.class);
+
+    /**
+     * proxy-service 接口
+     */
+    public enum Endpoint {
+        CRAWL("/api/crawl"),
+        ANALYZE_POLICY("/analyze-policy"),
+        ANALYZE_COMPETITOR("/analyze-competitor"),
+        ANALYZE_POLICY_BATCH("/analyze-policy/batch"),
+        ANALYZE_COMPETITOR_BATCH("/analyze-competitor/batch");
+
+        private final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    @Value("${proxy.service.url:http://localhost:8000}")
+    private String proxyServiceUrl;
+
+    @Value("${proxy.service.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${proxy.service.timeouts.crawl:15m}")
+    private Duration crawlTimeout;
+
+    @Value("${proxy.service.timeouts.analyze-policy:5m}")
+    private Duration analyzePolicyTimeout;
+
+    @Value("${proxy.service.timeouts.analyze-competitor:5m}")
+    private Duration analyzeCompetitorTimeout;
+
+    /**
+     * 批量分析接口的响应超时：只约束收到响应头之前的等待，流式返回的逐篇结果由 proxy-service 按单篇超时控制
+     */
+    @Value("${proxy.service.timeouts.analyze-batch:5m}")
+    private Duration analyzeBatchTimeout;
+
+    private final ObjectMapper objectMapper;
+    private HttpClient httpClient;
+
+    public ProxyServiceClient(ObjectMapper objectMapper) {
+        // 响应中可能带有未映射的字段，忽略而不是失败
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @PostConstruct
+    public void init() {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        log.info("proxy-service 客户端已初始化: url={}, connectTimeout={}, crawlTimeout={}, analyzePolicyTimeout={}, analyzeCompetitorTimeout={}, analyzeBatchTimeout={}",
+                proxyServiceUrl, connectTimeout, crawlTimeout, analyzePolicyTimeout, analyzeCompetitorTimeout, analyzeBatchTimeout);
+    }
+
+    /**
+     * 异步 POST JSON 到 proxy-service 接口
+     *
+     * @param endpoint 接口
+     * @param body 请求体（序列化为 JSON）
+     * @param responseType 响应类型（String 时返回原始响应体）
+     * @return 响应结果的 CompletableFuture；非 2xx 时以 ProxyServiceException 异常完成
+     */
+    public <T> CompletableFuture<T> postAsync(Endpoint endpoint, Object body, Class<T> responseType) {
+        return postAsync(proxyServiceUrl + endpoint.getPath(), endpoint, body, responseType);
+    }
+
+    /**
+     * 异步 POST JSON 到指定 URL（使用该接口配置的响应超时）
+     */
+    public <T> CompletableFuture<T> postAsync(String url, Endpoint endpoint, Object body, Class<T> responseType) {
+        HttpRequest request;
+        try {
+            request = buildRequest(url, endpoint, body, "application/json");
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("请求体序列化失败: " + e.getMessage(), e));
+        }
+
+        log.debug("发送请求到 proxy-service: {}", url);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> readResponse(response, responseType));
+    }
+
+    /**
+     * 同步 POST（等待 postAsync 完成，并解开 CompletionException）
+     */
+    public <T> T post(Endpoint endpoint, Object body, Class<T> responseType) {
+        return join(postAsync(endpoint, body, responseType));
+    }
+
+    /**
+     * POST JSON 到返回 NDJSON 流的接口，每收到一行即解析并回调（在调用线程中执行，直到流结束才返回）
+     *
+     * @param endpoint 接口
+     * @param body 请求体（序列化为 JSON）
+     * @param lineType 每行的类型
+     * @param consumer 逐行回调
+     * @throws ProxyServiceException 非 2xx 状态码
+     * @throws RuntimeException 连接失败、超时、读取或解析失败
+     */
+    public <T> void postNdjson(Endpoint endpoint, Object body, Class<T> lineType, Consumer<T> consumer) {
+        postNdjson(endpoint, body, objectMapper.constructType(lineType), consumer);
+    }
+
+    /**
+     * POST JSON 到返回 NDJSON 流的接口，每行按泛型类型解析（如带泛型结果字段的行对象）
+     *
+     * @param endpoint 接口
+     * @param body 请求体（序列化为 JSON）
+     * @param lineType 每行的完整类型
+     * @param consumer 逐行回调
+     * @throws ProxyServiceException 非 2xx 状态码
+     * @throws RuntimeException 连接失败、超时、读取或解析失败
+     */
+    public <T> void postNdjson(Endpoint endpoint, Object body, JavaType lineType, Consumer<T> consumer) {
+        String url = proxyServiceUrl + endpoint.getPath();
+        HttpRequest request;
+        try {
+            request = buildRequest(url, endpoint, body, "application/x-ndjson");
+        } catch (IOException e) {
+            throw new RuntimeException("请求体序列化失败: " + e.getMessage(), e);
+        }
+
+        log.debug("发送流式请求到 proxy-service: {}", url);
+        HttpResponse<Stream<String>> response = join(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines()));
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                throw new ProxyServiceException(response.statusCode(), lines.collect(Collectors.joining("\n")));
+            }
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                try {
+                    consumer.accept(objectMapper.<T>readValue(line, lineType));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("解析 proxy-service 响应失败: " + e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 等待 CompletableFuture 完成，抛出原始异常而不是 CompletionException
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 从异常链中取出根本原因（去掉 CompletionException 包装）
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * 是否为连接失败（proxy-service 未启动或连接超时）
+     */
+    public static boolean isConnectFailure(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        return cause instanceof ConnectException || cause instanceof HttpConnectTimeoutException;
+    }
+
+    /**
+     * 是否为响应超时
+     */
+    public static boolean isTimeout(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        return cause instanceof HttpTimeoutException && !(cause instanceof HttpConnectTimeoutException);
+    }
+
+    private HttpRequest buildRequest(String url, Endpoint endpoint, Object body, String accept) throws IOException {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeoutOf(endpoint))
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .header("Accept", accept)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private Duration timeoutOf(Endpoint endpoint) {
+        switch (endpoint) {
+            case CRAWL:
+                return crawlTimeout;
+            case ANALYZE_POLICY:
+                return analyzePolicyTimeout;
+            case ANALYZE_COMPETITOR:
+                return analyzeCompetitorTimeout;
+            case ANALYZE_POLICY_BATCH:
+            case ANALYZE_COMPETITOR_BATCH:
+                return analyzeBatchTimeout;
+            default:
+                throw new IllegalArgumentException("未知的 proxy-service 接口: " + endpoint);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readResponse(HttpResponse<String> response, Class<T> responseType) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new ProxyServiceException(response.statusCode(), response.body());
+        }
+        if (responseType == String.class) {
+            return (T) response.body();
+        }
+        if (response.body() == null || response.body().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("解析 proxy-service 响应失败: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.eagleeye.service.proxy;
+
+/**
+ * proxy-service 返回非 2xx 状态码时抛出的异常
+ *
+ * @author eagleeye
+ */
+public class ProxyServiceException extends RuntimeException {
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public ProxyServiceException(int statusCode, String responseBody) {
+        super("proxy-service 返回错误: HTTP " + statusCode);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
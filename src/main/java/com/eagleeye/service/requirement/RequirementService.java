@@ -8,6 +8,8 @@ import com.eagleeye.model.entity.Requirement;
 import com.eagleeye.model.vo.RequirementDetailVO;
 import com.eagleeye.model.vo.RequirementVO;
 
+import java.util.List;
+
 /**
  * 需求服务接口
  */
@@ -21,6 +23,22 @@ public interface RequirementService {
      */
     Page<RequirementVO> listRequirements(RequirementQueryDTO queryDTO);
 
+    /**
+     * 统计符合条件的需求数（与列表使用相同的筛选条件，只执行 COUNT，忽略分页参数）
+     *
+     * @param queryDTO 查询条件
+     * @return 需求数
+     */
+    long count(RequirementQueryDTO queryDTO);
+
+    /**
+     * 按多组筛选条件分别统计需求数（一条语句完成）
+     *
+     * @param queryDTOs 查询条件
+     * @return 与 queryDTOs 顺序一致的需求数
+     */
+    List<Long> countMany(List<RequirementQueryDTO> queryDTOs);
+
     /**
      * 获取需求详情
      *
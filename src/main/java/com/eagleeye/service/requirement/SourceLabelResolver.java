@@ -0,0 +1,125 @@
+package com.eagleeye.service.requirement;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.eagleeye.model.entity.CompetitorInfo;
+import com.eagleeye.model.entity.PolicyInfo;
+import com.eagleeye.repository.CompetitorRepository;
+import com.eagleeye.repository.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 需求来源标签解析
+ * 需求列表中的来源详情只需要政策的发布机构或竞品的公司名：整页按来源类型各一条 IN 查询，只查询 id 和标签列，
+ * 不加载政策 / 竞品正文；解析结果短时间缓存，标签变化（重新分析）后最多延迟一个缓存周期生效。
+ *
+ * @author eagleeye
+ */
+@Component
+public class SourceLabelResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(SourceLabelResolver.class);
+
+    public static final String SOURCE_TYPE_POLICY = "POLICY";
+    public static final String SOURCE_TYPE_COMPETITOR = "COMPETITOR";
+
+    @Value("${eagleeye.requirement.source-label-cache.ttl:60s}")
+    private Duration cacheTtl;
+
+    @Value("${eagleeye.requirement.source-label-cache.size:2000}")
+    private int cacheSize;
+
+    private final PolicyRepository policyRepository;
+    private final CompetitorRepository competitorRepository;
+
+    /**
+     * 缓存键为 来源类型:来源ID；标签本身可能为空，用 Optional 区分“已查到但标签为空”
+     */
+    private LRUCache<String, Optional<String>> labels;
+
+    public SourceLabelResolver(PolicyRepository policyRepository, CompetitorRepository competitorRepository) {
+        this.policyRepository = policyRepository;
+        this.competitorRepository = competitorRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.labels = CacheUtil.newLRUCache(Math.max(1, cacheSize), cacheTtl.toMillis());
+    }
+
+    /**
+     * 批量解析同一来源类型的标签（未命中缓存的ID合并为一条 IN 查询）
+     *
+     * @param sourceType 来源类型：POLICY / COMPETITOR
+     * @param sourceIds 来源ID
+     * @return 来源ID -> 标签；来源记录不存在的ID不在结果中，标签可能为 null
+     */
+    public Map<Long, String> resolve(String sourceType, Collection<Long> sourceIds) {
+        Map<Long, String> result = new HashMap<>();
+        if (!SOURCE_TYPE_POLICY.equals(sourceType) && !SOURCE_TYPE_COMPETITOR.equals(sourceType)) {
+            return result;
+        }
+
+        List<Long> missingIds = new ArrayList<>();
+        for (Long sourceId : new LinkedHashSet<>(sourceIds)) {
+            if (sourceId == null) {
+                continue;
+            }
+            Optional<String> cached = labels.get(keyOf(sourceType, sourceId));
+            if (cached != null) {
+                result.put(sourceId, cached.orElse(null));
+            } else {
+                missingIds.add(sourceId);
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, String> loaded = SOURCE_TYPE_POLICY.equals(sourceType)
+                ? loadPolicySources(missingIds)
+                : loadCompetitorCompanies(missingIds);
+        loaded.forEach((sourceId, label) -> {
+            labels.put(keyOf(sourceType, sourceId), Optional.ofNullable(label));
+            result.put(sourceId, label);
+        });
+        log.debug("加载来源标签: sourceType={}, 查询 {} 个, 找到 {} 个", sourceType, missingIds.size(), loaded.size());
+        return result;
+    }
+
+    private Map<Long, String> loadPolicySources(List<Long> policyIds) {
+        Map<Long, String> sources = new HashMap<>();
+        policyRepository.selectList(Wrappers.lambdaQuery(PolicyInfo.class)
+                        .select(PolicyInfo::getId, PolicyInfo::getSource)
+                        .in(PolicyInfo::getId, policyIds))
+                .forEach(policy -> sources.put(policy.getId(), policy.getSource()));
+        return sources;
+    }
+
+    private Map<Long, String> loadCompetitorCompanies(List<Long> competitorIds) {
+        Map<Long, String> companies = new HashMap<>();
+        competitorRepository.selectList(Wrappers.lambdaQuery(CompetitorInfo.class)
+                        .select(CompetitorInfo::getId, CompetitorInfo::getCompany)
+                        .in(CompetitorInfo::getId, competitorIds))
+                .forEach(competitor -> companies.put(competitor.getId(), competitor.getCompany()));
+        return companies;
+    }
+
+    private static String keyOf(String sourceType, Long sourceId) {
+        return sourceType + ":" + sourceId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.eagleeye.service.requirement.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.eagleeye.model.dto.RequirementCreateDTO;
 import com.eagleeye.model.dto.RequirementQueryDTO;
@@ -22,7 +23,10 @@ import com.eagleeye.repository.PolicyAnalysisRepository;
 import com.eagleeye.repository.PolicySuggestionRepository;
 import com.eagleeye.repository.CompetitorRepository;
 import com.eagleeye.repository.CompetitorAnalysisRepository;
+import com.eagleeye.service.dashboard.DashboardRollupService;
 import com.eagleeye.service.requirement.RequirementService;
+import com.eagleeye.service.requirement.SourceLabelResolver;
+import com.eagleeye.service.search.ContentSearchIndex;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,7 +35,10 @@ import org.springframework.util.StringUtils;
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +47,11 @@ import java.util.stream.Collectors;
 @Service
 public class RequirementServiceImpl implements RequirementService {
 
+    /**
+     * 列表中简短描述的长度（字符）
+     */
+    private static final int BRIEF_DESCRIPTION_LENGTH = 100;
+
     @Resource
     private RequirementRepository requirementRepository;
 
@@ -61,37 +73,19 @@ public class RequirementServiceImpl implements RequirementService {
     @Resource
     private ObjectMapper objectMapper;
 
+    @Resource
+    private SourceLabelResolver sourceLabelResolver;
+
+    @Resource
+    private DashboardRollupService dashboardRollupService;
+
+    @Resource
+    private ContentSearchIndex contentSearchIndex;
+
     @Override
     public Page<RequirementVO> listRequirements(RequirementQueryDTO queryDTO) {
         // 构建查询条件
-        LambdaQueryWrapper<Requirement> queryWrapper = new LambdaQueryWrapper<>();
-        
-        // 关键词搜索（标题或描述）
-        if (StringUtils.hasText(queryDTO.getKeyword())) {
-            queryWrapper.like(Requirement::getTitle, queryDTO.getKeyword())
-                    .or()
-                    .like(Requirement::getDescription, queryDTO.getKeyword());
-        }
-        
-        // 状态筛选
-        if (StringUtils.hasText(queryDTO.getStatus())) {
-            queryWrapper.eq(Requirement::getStatus, queryDTO.getStatus());
-        }
-        
-        // 优先级筛选
-        if (StringUtils.hasText(queryDTO.getPriority())) {
-            queryWrapper.eq(Requirement::getPriority, queryDTO.getPriority());
-        }
-        
-        // 来源类型筛选
-        if (StringUtils.hasText(queryDTO.getSourceType())) {
-            queryWrapper.eq(Requirement::getSourceType, queryDTO.getSourceType());
-        }
-        
-        // 用户ID筛选
-        if (queryDTO.getUserId() != null) {
-            queryWrapper.eq(Requirement::getUserId, queryDTO.getUserId());
-        }
+        LambdaQueryWrapper<Requirement> queryWrapper = buildQueryWrapper(queryDTO, listProjection());
         
         // 默认按创建时间倒序排序
         queryWrapper.orderByDesc(Requirement::getCreateTime);
@@ -104,14 +98,36 @@ public class RequirementServiceImpl implements RequirementService {
         Page<RequirementVO> voPage = new Page<>();
         BeanUtils.copyProperties(resultPage, voPage, "records");
         
+        // 按来源类型分组，每种类型一条 IN 查询解析本页所有来源标签
+        Map<String, Map<Long, String>> sourceLabels = new HashMap<>();
+        resultPage.getRecords().stream()
+                .filter(requirement -> requirement.getSourceType() != null && requirement.getSourceId() != null)
+                .collect(Collectors.groupingBy(Requirement::getSourceType,
+                        Collectors.mapping(Requirement::getSourceId, Collectors.toSet())))
+                .forEach((sourceType, sourceIds) ->
+                        sourceLabels.put(sourceType, sourceLabelResolver.resolve(sourceType, sourceIds)));
+
         List<RequirementVO> voList = resultPage.getRecords().stream()
-                .map(this::convertToVO)
+                .map(requirement -> convertToVO(requirement,
+                        sourceLabels.getOrDefault(requirement.getSourceType(), Collections.emptyMap())))
                 .collect(Collectors.toList());
         
         voPage.setRecords(voList);
         return voPage;
     }
 
+    @Override
+    public long count(RequirementQueryDTO queryDTO) {
+        return requirementRepository.selectCount(buildQueryWrapper(queryDTO));
+    }
+
+    @Override
+    public List<Long> countMany(List<RequirementQueryDTO> queryDTOs) {
+        return requirementRepository.countEach(queryDTOs.stream()
+                .map(this::buildQueryWrapper)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public RequirementDetailVO getRequirementDetail(Long id) {
         Requirement requirement = requirementRepository.selectById(id);
@@ -129,7 +145,10 @@ public class RequirementServiceImpl implements RequirementService {
         setPriorityInfo(detailVO, requirement.getPriority());
         
         // 设置来源详情
-        setSourceDetail(detailVO, requirement.getSourceType(), requirement.getSourceId());
+        Map<Long, String> sourceLabels = requirement.getSourceId() != null
+                ? sourceLabelResolver.resolve(requirement.getSourceType(), Collections.singletonList(requirement.getSourceId()))
+                : Collections.emptyMap();
+        detailVO.setSourceDetail(sourceDetailOf(requirement.getSourceType(), requirement.getSourceId(), sourceLabels));
         
         // 模拟设置一些附件数据
         detailVO.setAttachments(getMockAttachments(requirement.getSourceType()));
@@ -157,6 +176,8 @@ public class RequirementServiceImpl implements RequirementService {
         requirement.setIsDeleted(false);
         
         requirementRepository.insert(requirement);
+        dashboardRollupService.requirementsChanged(Collections.emptyList(), Collections.singletonList(requirement));
+        indexAfterCommit(requirement);
         return requirement.getId();
     }
 
@@ -168,16 +189,35 @@ public class RequirementServiceImpl implements RequirementService {
             return false;
         }
         
+        Requirement before = new Requirement();
+        BeanUtils.copyProperties(requirement, before);
+
         BeanUtils.copyProperties(updateDTO, requirement);
         requirement.setUpdateTime(LocalDateTime.now());
         
-        return requirementRepository.updateById(requirement) > 0;
+        if (requirementRepository.updateById(requirement) == 0) {
+            return false;
+        }
+        // DTO 中为 null 的字段不会被更新，重新读取实际保存的状态来修正仪表盘汇总
+        Requirement after = requirementRepository.selectById(requirement.getId());
+        dashboardRollupService.requirementsChanged(Collections.singletonList(before),
+                after != null ? Collections.singletonList(after) : Collections.emptyList());
+        if (after != null) {
+            indexAfterCommit(after);
+        }
+        return true;
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean deleteRequirement(Long id) {
-        return requirementRepository.deleteById(id) > 0;
+        Requirement requirement = requirementRepository.selectById(id);
+        if (requirement == null || requirementRepository.deleteById(id) == 0) {
+            return false;
+        }
+        dashboardRollupService.requirementsChanged(Collections.singletonList(requirement), Collections.emptyList());
+        contentSearchIndex.deleteAfterCommit(ContentSearchIndex.TYPE_REQUIREMENT, Collections.singletonList(id));
+        return true;
     }
 
     @Override
@@ -335,10 +375,73 @@ public class RequirementServiceImpl implements RequirementService {
         return createRequirement(createDTO);
     }
 
+    /**
+     * 事务提交后更新需求的全文索引（标题 + 描述和背景）
+     */
+    private void indexAfterCommit(Requirement requirement) {
+        contentSearchIndex.indexAfterCommit(ContentSearchIndex.TYPE_REQUIREMENT, requirement.getId(), requirement.getTitle(),
+                ContentSearchIndex.joinText(requirement.getDescription(), requirement.getBackground()));
+    }
+
+    /**
+     * 构建需求列表 / 计数共用的筛选条件（不含排序）
+     */
+    private LambdaQueryWrapper<Requirement> buildQueryWrapper(RequirementQueryDTO queryDTO) {
+        return buildQueryWrapper(queryDTO, new LambdaQueryWrapper<>());
+    }
+
+    /**
+     * 列表查询的列：只查询 RequirementVO 需要的列，不加载背景全文，
+     * 描述只取生成简短描述所需的前 BRIEF_DESCRIPTION_LENGTH + 1 个字符（全文只由详情接口读取）
+     */
+    private static LambdaQueryWrapper<Requirement> listProjection() {
+        return Wrappers.<Requirement>query()
+                .select("id", "title", "priority", "status", "source_type", "source_id", "plan_time", "create_time",
+                        "LEFT(description, " + (BRIEF_DESCRIPTION_LENGTH + 1) + ") AS description")
+                .lambda();
+    }
+
+    /**
+     * 在给定的查询条件上追加列表 / 计数共用的筛选条件
+     */
+    private LambdaQueryWrapper<Requirement> buildQueryWrapper(RequirementQueryDTO queryDTO,
+                                                              LambdaQueryWrapper<Requirement> queryWrapper) {
+        // 关键词搜索（标题或描述），加括号避免 OR 与后续筛选条件错误组合
+        if (StringUtils.hasText(queryDTO.getKeyword())) {
+            queryWrapper.and(w -> w.like(Requirement::getTitle, queryDTO.getKeyword())
+                    .or()
+                    .like(Requirement::getDescription, queryDTO.getKeyword()));
+        }
+        
+        // 状态筛选
+        if (StringUtils.hasText(queryDTO.getStatus())) {
+            queryWrapper.eq(Requirement::getStatus, queryDTO.getStatus());
+        }
+        
+        // 优先级筛选
+        if (StringUtils.hasText(queryDTO.getPriority())) {
+            queryWrapper.eq(Requirement::getPriority, queryDTO.getPriority());
+        }
+        
+        // 来源类型筛选
+        if (StringUtils.hasText(queryDTO.getSourceType())) {
+            queryWrapper.eq(Requirement::getSourceType, queryDTO.getSourceType());
+        }
+        
+        // 用户ID筛选
+        if (queryDTO.getUserId() != null) {
+            queryWrapper.eq(Requirement::getUserId, queryDTO.getUserId());
+        }
+        return queryWrapper;
+    }
+
     /**
      * 将需求实体转换为VO对象
+     *
+     * @param requirement 需求
+     * @param sourceLabels 该需求来源类型下已解析的来源标签（来源ID -> 标签）
      */
-    private RequirementVO convertToVO(Requirement requirement) {
+    private RequirementVO convertToVO(Requirement requirement, Map<Long, String> sourceLabels) {
         RequirementVO vo = new RequirementVO();
         BeanUtils.copyProperties(requirement, vo);
         
@@ -349,12 +452,13 @@ public class RequirementServiceImpl implements RequirementService {
         setPriorityInfo(vo, requirement.getPriority());
         
         // 设置来源详情
-        setSourceDetail(vo, requirement.getSourceType(), requirement.getSourceId());
+        vo.setSourceDetail(sourceDetailOf(requirement.getSourceType(), requirement.getSourceId(), sourceLabels));
         
         // 截取简短描述
         if (StringUtils.hasText(requirement.getDescription())) {
             String desc = requirement.getDescription();
-            vo.setBriefDescription(desc.length() > 100 ? desc.substring(0, 100) + "..." : desc);
+            vo.setBriefDescription(desc.length() > BRIEF_DESCRIPTION_LENGTH
+                    ? desc.substring(0, BRIEF_DESCRIPTION_LENGTH) + "..." : desc);
         }
         
         // TODO: 设置负责人信息（需要用户服务）
@@ -446,56 +550,19 @@ public class RequirementServiceImpl implements RequirementService {
     }
     
     /**
-     * 设置来源详情 (RequirementVO版本)
-     */
-    private void setSourceDetail(RequirementVO vo, String sourceType, Long sourceId) {
-        if ("POLICY".equals(sourceType) && sourceId != null) {
-            // 获取政策信息
-            PolicyInfo policyInfo = policyRepository.selectById(sourceId);
-            if (policyInfo != null) {
-                vo.setSourceDetail(policyInfo.getSource());
-            } else {
-                vo.setSourceDetail("监管政策");
-            }
-        } else if ("COMPETITOR".equals(sourceType) && sourceId != null) {
-            // 获取竞品信息
-            CompetitorInfo competitorInfo = competitorRepository.selectById(sourceId);
-            if (competitorInfo != null) {
-                vo.setSourceDetail(competitorInfo.getCompany());
-            } else {
-                vo.setSourceDetail("竞品动态");
-            }
-        } else if ("MANUAL".equals(sourceType)) {
-            vo.setSourceDetail("");
-        } else {
-            vo.setSourceDetail("未知来源");
-        }
-    }
-    
-    /**
-     * 设置来源详情 (RequirementDetailVO版本)
+     * 来源详情：政策取发布机构、竞品取公司名，来源记录不存在时使用默认文案
+     *
+     * @param sourceLabels 已解析的来源标签（来源ID -> 标签）
      */
-    private void setSourceDetail(RequirementDetailVO vo, String sourceType, Long sourceId) {
-        if ("POLICY".equals(sourceType) && sourceId != null) {
-            // 获取政策信息
-            PolicyInfo policyInfo = policyRepository.selectById(sourceId);
-            if (policyInfo != null) {
-                vo.setSourceDetail(policyInfo.getSource());
-            } else {
-                vo.setSourceDetail("监管政策");
-            }
-        } else if ("COMPETITOR".equals(sourceType) && sourceId != null) {
-            // 获取竞品信息
-            CompetitorInfo competitorInfo = competitorRepository.selectById(sourceId);
-            if (competitorInfo != null) {
-                vo.setSourceDetail(competitorInfo.getCompany());
-            } else {
-                vo.setSourceDetail("竞品动态");
-            }
+    private String sourceDetailOf(String sourceType, Long sourceId, Map<Long, String> sourceLabels) {
+        if (SourceLabelResolver.SOURCE_TYPE_POLICY.equals(sourceType) && sourceId != null) {
+            return sourceLabels.containsKey(sourceId) ? sourceLabels.get(sourceId) : "监管政策";
+        } else if (SourceLabelResolver.SOURCE_TYPE_COMPETITOR.equals(sourceType) && sourceId != null) {
+            return sourceLabels.containsKey(sourceId) ? sourceLabels.get(sourceId) : "竞品动态";
         } else if ("MANUAL".equals(sourceType)) {
-            vo.setSourceDetail("");
+            return "";
         } else {
-            vo.setSourceDetail("未知来源");
+            return "未知来源";
         }
     }
     
@@ -0,0 +1,784 @@
+package com.eagleeye.service.search;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.eagleeye.model.entity.CompetitorInfo;
+import com.eagleeye.model.entity.PolicyInfo;
+import com.eagleeye.model.entity.Requirement;
+import com.eagleeye.repository.CompetitorRepository;
+import com.eagleeye.repository.PolicyRepository;
+import com.eagleeye.repository.RequirementRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 政策 / 竞品动态 / 需求全文索引（嵌入式 Lucene，三类数据共用一个倒排索引）
+ * 标题和正文按 CJKAnalyzer 做中日韩二元分词，关键词按短语查询匹配（与 LIKE '%关键词%' 的子串语义一致），
+ * 标题命中加权；列表的关键词查询在索引中按相关度分页，只按当前页ID回表查询，总数取索引的精确命中数；
+ * 统一检索直接读取索引中保存的标题和正文生成结果，不查询数据库。
+ * - 写入路径在事务提交后更新索引，每秒刷新一次可见性，定期提交到磁盘
+ * - 启动时某类数据在索引中为空或文档版本过旧则后台按数据库重建；重建期间及索引不可用时返回 null，调用方回退到 LIKE 查询
+ * - 重建期间提交的更新和删除会被记录，重建读完数据库后重放，避免重建读到的旧数据覆盖这些变更（如恢复已删除的记录）
+ *
+ * @author eagleeye
+ */
+@Component
+public class ContentSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentSearchIndex.class);
+
+    public static final String TYPE_POLICY = "policy";
+    public static final String TYPE_COMPETITOR = "competitor";
+    public static final String TYPE_REQUIREMENT = "requirement";
+
+    public static final List<String> TYPES = Collections.unmodifiableList(
+            Arrays.asList(TYPE_POLICY, TYPE_COMPETITOR, TYPE_REQUIREMENT));
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_VERSION = "version";
+
+    /**
+     * 索引文档结构版本：文档字段变化时递增，启动时没有当前版本文档的数据类型会被重建
+     */
+    private static final String INDEX_VERSION = "2";
+
+    /**
+     * 标题命中的权重（相对正文）
+     */
+    private static final float TITLE_BOOST = 3f;
+
+    /**
+     * 重建时每次从数据库读取的记录数
+     */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    @Value("${eagleeye.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${eagleeye.search.index-dir:./data/search-index}")
+    private String indexDir;
+
+    /**
+     * searchIds 返回的命中数上限：命中更多时返回 null，由调用方回退到 SQL 查询，保证计数不被截断
+     */
+    @Value("${eagleeye.search.max-hits:2000}")
+    private int maxHits;
+
+    private final PolicyRepository policyRepository;
+    private final CompetitorRepository competitorRepository;
+    private final RequirementRepository requirementRepository;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    /**
+     * 索引完整、可用于查询的数据类型
+     */
+    private final Set<String> readyTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 正在重建的数据类型 -> 重建期间提交的索引变更
+     */
+    private final Map<String, RebuildChanges> rebuildChanges = new ConcurrentHashMap<>();
+
+    /**
+     * 是否有后台重建在执行
+     */
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public ContentSearchIndex(PolicyRepository policyRepository, CompetitorRepository competitorRepository,
+                              RequirementRepository requirementRepository) {
+        this.policyRepository = policyRepository;
+        this.competitorRepository = competitorRepository;
+        this.requirementRepository = requirementRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("全文索引未启用，关键词查询使用 LIKE");
+            return;
+        }
+        try {
+            Path path = Paths.get(indexDir);
+            Files.createDirectories(path);
+            directory = FSDirectory.open(path);
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+            for (String type : TYPES) {
+                if (countDocuments(type) > 0) {
+                    readyTypes.add(type);
+                }
+            }
+            log.info("全文索引已打开: dir={}, 可用类型={}", path.toAbsolutePath(), readyTypes);
+        } catch (IOException e) {
+            // 索引目录不可写或被其他进程锁定时不影响启动，关键词查询回退到 LIKE
+            log.error("打开全文索引失败，关键词查询使用 LIKE: dir={}", indexDir, e);
+            close();
+        }
+    }
+
+    /**
+     * 启动后在后台重建索引中为空或文档版本过旧的数据类型（首次部署、索引目录被清空或文档结构变化）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildMissing() {
+        if (writer == null) {
+            return;
+        }
+        List<String> missing = new ArrayList<>(TYPES);
+        missing.removeAll(readyTypes);
+        if (missing.isEmpty()) {
+            return;
+        }
+        startRebuild(missing);
+    }
+
+    /**
+     * 数据类型的索引是否可用于查询
+     */
+    public boolean isReady(String type) {
+        return writer != null && readyTypes.contains(type);
+    }
+
+    /**
+     * 按关键词查询全部命中ID（用于和数据库筛选条件组合）
+     *
+     * @param type 数据类型：TYPE_POLICY / TYPE_COMPETITOR / TYPE_REQUIREMENT
+     * @param keyword 关键词
+     * @return 按相关度降序的全部命中ID；索引不可用、正在重建、关键词不足两个字符或命中数超过 max-hits 时返回 null，
+     *         调用方应回退到 LIKE 查询（不返回截断的结果）
+     */
+    public List<Long> searchIds(String type, String keyword) {
+        Query query = buildQuery(type, keyword);
+        if (query == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            int total = searcher.count(query);
+            if (total > maxHits) {
+                log.debug("全文检索命中数超过上限，回退到 LIKE 查询: type={}, keyword={}, 命中 {} 个, 上限={}",
+                        type, keyword, total, maxHits);
+                return null;
+            }
+            List<Long> ids = total == 0 ? new ArrayList<>() : readIds(searcher, searcher.search(query, total).scoreDocs, 0);
+            log.debug("全文检索: type={}, keyword={}, 命中 {} 个, 耗时={}μs",
+                    type, keyword, ids.size(), (System.nanoTime() - start) / 1000);
+            return ids;
+        } catch (IOException | RuntimeException e) {
+            log.warn("全文检索失败，回退到 LIKE 查询: type={}, keyword={}, error={}", type, keyword, e.getMessage());
+            return null;
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * 按关键词分页查询ID：在索引中按相关度取 [offset, offset + limit) 窗口，总数为精确命中数
+     *
+     * @return 当前页的ID和命中总数；索引不可用、正在重建或关键词不足两个字符时返回 null，调用方应回退到 LIKE 查询
+     */
+    public IdPage searchPage(String type, String keyword, long offset, int limit) {
+        Query query = buildQuery(type, keyword);
+        if (query == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            int total = searcher.count(query);
+            List<Long> ids = new ArrayList<>();
+            if (limit > 0 && offset < total) {
+                int window = (int) Math.min(total, offset + limit);
+                ids = readIds(searcher, searcher.search(query, window).scoreDocs, (int) offset);
+            }
+            log.debug("全文分页检索: type={}, keyword={}, offset={}, 命中 {} 个, 返回 {} 个, 耗时={}μs",
+                    type, keyword, offset, total, ids.size(), (System.nanoTime() - start) / 1000);
+            return new IdPage(ids, total);
+        } catch (IOException | RuntimeException e) {
+            log.warn("全文分页检索失败，回退到 LIKE 查询: type={}, keyword={}, error={}", type, keyword, e.getMessage());
+            return null;
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * 关键词的精确命中数
+     *
+     * @return 命中数；索引不可用、正在重建或关键词不足两个字符时返回 null，调用方应回退到 SQL 计数
+     */
+    public Long count(String type, String keyword) {
+        Query query = buildQuery(type, keyword);
+        if (query == null) {
+            return null;
+        }
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            return (long) searcher.count(query);
+        } catch (IOException | RuntimeException e) {
+            log.warn("全文检索计数失败，回退到 SQL 计数: type={}, keyword={}, error={}", type, keyword, e.getMessage());
+            return null;
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * 跨类型检索：所有类型的命中按相关度合并排序，并统计各类型的命中数（只读取索引，不查询数据库）
+     *
+     * @param keyword 关键词
+     * @param types 检索的数据类型，为空时检索全部类型；正在重建的类型不参与检索
+     * @param limit 返回的命中数
+     * @return 检索结果；索引不可用或关键词不足两个字符时返回 null
+     */
+    public SearchHits search(String keyword, Collection<String> types, int limit) {
+        List<String> searchTypes = (types == null || types.isEmpty() ? TYPES : types).stream()
+                .filter(this::isReady)
+                .distinct()
+                .collect(Collectors.toList());
+        if (searchTypes.isEmpty() || !isSearchable(keyword)) {
+            return null;
+        }
+        Query textQuery = buildTextQuery(keyword.trim());
+        if (textQuery == null) {
+            return null;
+        }
+        BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+        searchTypes.forEach(type -> typeFilter.add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.SHOULD));
+        Query query = new BooleanQuery.Builder()
+                .add(typeFilter.build(), BooleanClause.Occur.FILTER)
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .build();
+
+        long start = System.nanoTime();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (String type : searchTypes) {
+                counts.put(type, searcher.count(new BooleanQuery.Builder()
+                        .add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER)
+                        .add(textQuery, BooleanClause.Occur.MUST)
+                        .build()));
+            }
+            TopDocs topDocs = searcher.search(query, Math.max(1, limit));
+            StoredFields storedFields = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document document = storedFields.document(scoreDoc.doc);
+                hits.add(new Hit(document.get(FIELD_TYPE), document.getField(FIELD_ID).numericValue().longValue(),
+                        document.get(FIELD_TITLE), document.get(FIELD_CONTENT), scoreDoc.score));
+            }
+            long tookMicros = (System.nanoTime() - start) / 1000;
+            log.debug("统一检索: keyword={}, types={}, 命中={}, 耗时={}μs", keyword, searchTypes, counts, tookMicros);
+            return new SearchHits(counts, hits, tookMicros);
+        } catch (IOException | RuntimeException e) {
+            log.warn("统一检索失败: keyword={}, error={}", keyword, e.getMessage());
+            return null;
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * 关键词是否可以通过索引检索（二元分词不单独索引单字，单字关键词无法通过索引匹配）
+     */
+    public static boolean isSearchable(String keyword) {
+        if (keyword == null) {
+            return false;
+        }
+        String trimmed = keyword.trim();
+        return trimmed.codePointCount(0, trimmed.length()) >= 2;
+    }
+
+    /**
+     * 按ID顺序（如相关度顺序）重排回表查询到的记录，数据库中已不存在的ID被跳过
+     */
+    public static <T> List<T> orderByIds(List<T> records, List<Long> ids, Function<T, Long> idOf) {
+        Map<Long, T> recordMap = records.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        return ids.stream()
+                .map(recordMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 拼接多段正文（如需求的描述和背景），忽略空段
+     */
+    public static String joinText(String... parts) {
+        return Stream.of(parts)
+                .filter(part -> part != null && !part.isEmpty())
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * 事务提交后更新一条记录的索引（没有事务时立即更新）
+     */
+    public void indexAfterCommit(String type, Long id, String title, String content) {
+        if (writer == null || id == null) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                Document document = toDocument(type, id, title, content);
+                RebuildChanges changes = rebuildChanges.get(type);
+                if (changes == null) {
+                    writer.updateDocument(keyTerm(type, id), document);
+                    return;
+                }
+                // 写入与记录在同一把锁内，与重建结束时的重放互斥
+                synchronized (changes) {
+                    writer.updateDocument(keyTerm(type, id), document);
+                    changes.recordUpdate(id, document);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("更新全文索引失败，等待重建修正: type={}, id={}, error={}", type, id, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 事务提交后删除记录的索引（没有事务时立即删除）
+     */
+    public void deleteAfterCommit(String type, Collection<Long> ids) {
+        if (writer == null || ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<Long> deletedIds = new ArrayList<>(ids);
+        afterCommit(() -> {
+            try {
+                RebuildChanges changes = rebuildChanges.get(type);
+                if (changes == null) {
+                    writer.deleteDocuments(keyTerms(type, deletedIds));
+                    return;
+                }
+                synchronized (changes) {
+                    writer.deleteDocuments(keyTerms(type, deletedIds));
+                    changes.recordDelete(deletedIds);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("删除全文索引失败，等待重建修正: type={}, ids={}, error={}", type, deletedIds, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 在后台线程按数据库重建全部数据类型的索引
+     *
+     * @return 是否已开始；索引不可用或已有后台重建在执行时返回 false
+     */
+    public boolean rebuildAsync() {
+        return writer != null && startRebuild(TYPES);
+    }
+
+    /**
+     * 按数据库重建一种数据类型的索引（重建期间该类型的关键词查询回退到 LIKE）
+     *
+     * @return 索引的记录数；索引不可用或重建失败时返回 -1
+     */
+    public synchronized int rebuild(String type) {
+        if (writer == null) {
+            return -1;
+        }
+        long start = System.currentTimeMillis();
+        readyTypes.remove(type);
+        // 先开始记录变更再读取数据库：之后提交的更新和删除都会在重建结束时重放
+        RebuildChanges changes = new RebuildChanges();
+        rebuildChanges.put(type, changes);
+        try {
+            writer.deleteDocuments(new Term(FIELD_TYPE, type));
+            int count;
+            if (TYPE_POLICY.equals(type)) {
+                count = reindex(type, afterId -> policyRepository.selectList(Wrappers.lambdaQuery(PolicyInfo.class)
+                                .select(PolicyInfo::getId, PolicyInfo::getTitle, PolicyInfo::getContent)
+                                .gt(PolicyInfo::getId, afterId)
+                                .orderByAsc(PolicyInfo::getId)
+                                .last("LIMIT " + REBUILD_PAGE_SIZE)),
+                        PolicyInfo::getId, PolicyInfo::getTitle, PolicyInfo::getContent);
+            } else if (TYPE_COMPETITOR.equals(type)) {
+                count = reindex(type, afterId -> competitorRepository.selectList(Wrappers.lambdaQuery(CompetitorInfo.class)
+                                .select(CompetitorInfo::getId, CompetitorInfo::getTitle, CompetitorInfo::getContent)
+                                .gt(CompetitorInfo::getId, afterId)
+                                .orderByAsc(CompetitorInfo::getId)
+                                .last("LIMIT " + REBUILD_PAGE_SIZE)),
+                        CompetitorInfo::getId, CompetitorInfo::getTitle, CompetitorInfo::getContent);
+            } else if (TYPE_REQUIREMENT.equals(type)) {
+                count = reindex(type, afterId -> requirementRepository.selectList(Wrappers.lambdaQuery(Requirement.class)
+                                .select(Requirement::getId, Requirement::getTitle, Requirement::getDescription, Requirement::getBackground)
+                                .gt(Requirement::getId, afterId)
+                                .orderByAsc(Requirement::getId)
+                                .last("LIMIT " + REBUILD_PAGE_SIZE)),
+                        Requirement::getId, Requirement::getTitle,
+                        requirement -> joinText(requirement.getDescription(), requirement.getBackground()));
+            } else {
+                throw new IllegalArgumentException("未知的索引类型: " + type);
+            }
+            synchronized (changes) {
+                rebuildChanges.remove(type);
+                replay(type, changes);
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            readyTypes.add(type);
+            log.info("全文索引重建完成: type={}, 记录数={}, 耗时={}ms", type, count, System.currentTimeMillis() - start);
+            return count;
+        } catch (IOException | RuntimeException e) {
+            log.error("全文索引重建失败，关键词查询使用 LIKE: type={}", type, e);
+            return -1;
+        } finally {
+            rebuildChanges.remove(type);
+        }
+    }
+
+    /**
+     * 定期刷新查询视图，使已提交事务的索引更新可见
+     */
+    @Scheduled(fixedDelayString = "${eagleeye.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (searcherManager == null) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("刷新全文索引失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 定期将索引更新提交到磁盘（进程异常退出最多丢失一个周期的更新，重建可修正）
+     */
+    @Scheduled(fixedDelayString = "${eagleeye.search.commit-interval-ms:30000}")
+    public void commit() {
+        if (writer == null || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            log.warn("提交全文索引失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (writer != null) {
+                writer.close();
+            }
+            if (directory != null) {
+                directory.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("关闭全文索引失败: {}", e.getMessage());
+        } finally {
+            searcherManager = null;
+            writer = null;
+            directory = null;
+            readyTypes.clear();
+        }
+    }
+
+    /**
+     * 启动后台重建线程（同一时间只运行一个）
+     */
+    private boolean startRebuild(List<String> types) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                types.forEach(this::rebuild);
+            } finally {
+                rebuilding.set(false);
+            }
+        }, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 重放重建期间提交的变更，覆盖重建从数据库读到的旧数据
+     */
+    private void replay(String type, RebuildChanges changes) throws IOException {
+        for (Map.Entry<Long, Document> entry : changes.updated.entrySet()) {
+            writer.updateDocument(keyTerm(type, entry.getKey()), entry.getValue());
+        }
+        if (!changes.deleted.isEmpty()) {
+            writer.deleteDocuments(keyTerms(type, changes.deleted));
+        }
+        if (!changes.updated.isEmpty() || !changes.deleted.isEmpty()) {
+            log.info("重放重建期间的索引变更: type={}, 更新={}, 删除={}", type, changes.updated.size(), changes.deleted.size());
+        }
+    }
+
+    private <T> int reindex(String type, Function<Long, List<T>> pageAfter, Function<T, Long> idOf,
+                            Function<T, String> titleOf, Function<T, String> contentOf) throws IOException {
+        int count = 0;
+        long lastId = 0L;
+        List<T> page;
+        while (!(page = pageAfter.apply(lastId)).isEmpty()) {
+            for (T record : page) {
+                Long id = idOf.apply(record);
+                writer.updateDocument(keyTerm(type, id), toDocument(type, id, titleOf.apply(record), contentOf.apply(record)));
+            }
+            count += page.size();
+            lastId = idOf.apply(page.get(page.size() - 1));
+        }
+        return count;
+    }
+
+    /**
+     * 单一数据类型的关键词查询；索引不可用、正在重建、关键词不足两个字符或分词后没有词项时返回 null
+     */
+    private Query buildQuery(String type, String keyword) {
+        if (!isReady(type) || !isSearchable(keyword)) {
+            return null;
+        }
+        Query textQuery = buildTextQuery(keyword.trim());
+        if (textQuery == null) {
+            return null;
+        }
+        return new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER)
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .build();
+    }
+
+    private static List<Long> readIds(IndexSearcher searcher, ScoreDoc[] scoreDocs, int from) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Long> ids = new ArrayList<>(Math.max(0, scoreDocs.length - from));
+        for (int i = from; i < scoreDocs.length; i++) {
+            ids.add(storedFields.document(scoreDocs[i].doc).getField(FIELD_ID).numericValue().longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * 标题、正文各一个短语查询（任一命中即可，标题加权）；关键词分词后没有词项时返回 null
+     */
+    private Query buildTextQuery(String keyword) {
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        Query titleQuery = builder.createPhraseQuery(FIELD_TITLE, keyword);
+        Query contentQuery = builder.createPhraseQuery(FIELD_CONTENT, keyword);
+        if (titleQuery == null && contentQuery == null) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (titleQuery != null) {
+            query.add(new BoostQuery(titleQuery, TITLE_BOOST), BooleanClause.Occur.SHOULD);
+        }
+        if (contentQuery != null) {
+            query.add(contentQuery, BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    private Document toDocument(String type, Long id, String title, String content) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_KEY, keyOf(type, id), Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type, Field.Store.YES));
+        document.add(new StringField(FIELD_VERSION, INDEX_VERSION, Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, id));
+        // 保存标题和正文，统一检索直接从索引生成标题高亮和摘要
+        document.add(new TextField(FIELD_TITLE, title != null ? title : "", Field.Store.YES));
+        document.add(new TextField(FIELD_CONTENT, content != null ? content : "", Field.Store.YES));
+        return document;
+    }
+
+    private int countDocuments(String type) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER)
+                    .add(new TermQuery(new Term(FIELD_VERSION, INDEX_VERSION)), BooleanClause.Occur.FILTER)
+                    .build());
+        } finally {
+            release(searcher);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        SearcherManager manager = searcherManager;
+        if (searcher == null || manager == null) {
+            return;
+        }
+        try {
+            manager.release(searcher);
+        } catch (IOException e) {
+            log.warn("释放全文索引查询器失败: {}", e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Term keyTerm(String type, Long id) {
+        return new Term(FIELD_KEY, keyOf(type, id));
+    }
+
+    private static Term[] keyTerms(String type, Collection<Long> ids) {
+        return ids.stream().map(id -> keyTerm(type, id)).toArray(Term[]::new);
+    }
+
+    private static String keyOf(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    /**
+     * 重建期间提交的索引变更（访问时需持有该对象的锁）
+     */
+    private static class RebuildChanges {
+        private final Map<Long, Document> updated = new HashMap<>();
+        private final Set<Long> deleted = new HashSet<>();
+
+        void recordUpdate(Long id, Document document) {
+            deleted.remove(id);
+            updated.put(id, document);
+        }
+
+        void recordDelete(Collection<Long> ids) {
+            ids.forEach(updated::remove);
+            deleted.addAll(ids);
+        }
+    }
+
+    /**
+     * 一页关键词命中
+     */
+    public static class IdPage {
+        private final List<Long> ids; // 当前页按相关度排序的ID
+        private final long total;     // 精确命中总数
+
+        public IdPage(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public long getTotal() { return total; }
+    }
+
+    /**
+     * 统一检索结果
+     */
+    public static class SearchHits {
+        private final Map<String, Integer> counts; // 数据类型 -> 命中数
+        private final List<Hit> hits;              // 按相关度排序的命中
+        private final long tookMicros;             // 检索耗时(微秒)
+
+        public SearchHits(Map<String, Integer> counts, List<Hit> hits, long tookMicros) {
+            this.counts = counts;
+            this.hits = hits;
+            this.tookMicros = tookMicros;
+        }
+
+        public Map<String, Integer> getCounts() { return counts; }
+        public List<Hit> getHits() { return hits; }
+        public long getTookMicros() { return tookMicros; }
+    }
+
+    /**
+     * 单条命中（标题和正文取自索引）
+     */
+    public static class Hit {
+        private final String type;
+        private final Long id;
+        private final String title;
+        private final String content;
+        private final float score;
+
+        public Hit(String type, Long id, String title, String content, float score) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.content = content;
+            this.score = score;
+        }
+
+        public String getType() { return type; }
+        public Long getId() { return id; }
+        public String getTitle() { return title; }
+        public String getContent() { return content; }
+        public float getScore() { return score; }
+    }
+}
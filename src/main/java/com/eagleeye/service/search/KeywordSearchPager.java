@@ -0,0 +1,117 @@
+package com.eagleeye.service.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * 列表关键词检索：用全文索引按相关度分页 / 计数，只回表查询当前页的记录
+ * 政策和竞品列表共用，按索引类型、Mapper 和ID列区分；不持有状态，可按需创建
+ *
+ * @param <E> 实体类型
+ * @author eagleeye
+ */
+public class KeywordSearchPager<E> {
+
+    private final ContentSearchIndex contentSearchIndex;
+    private final String type;
+    private final BaseMapper<E> mapper;
+    private final SFunction<E, Long> idColumn;
+    private final UnaryOperator<LambdaQueryWrapper<E>> listColumns;
+
+    /**
+     * @param type 索引类型（ContentSearchIndex.TYPE_*）
+     * @param idColumn 实体ID列
+     * @param listColumns 回表查询当前页时选择的列表列
+     */
+    public KeywordSearchPager(ContentSearchIndex contentSearchIndex, String type, BaseMapper<E> mapper,
+                              SFunction<E, Long> idColumn, UnaryOperator<LambdaQueryWrapper<E>> listColumns) {
+        this.contentSearchIndex = contentSearchIndex;
+        this.type = type;
+        this.mapper = mapper;
+        this.idColumn = idColumn;
+        this.listColumns = listColumns;
+    }
+
+    /**
+     * 关键词在全文索引中命中的全部ID（按相关度排序）；没有关键词、索引不可用或命中数超过上限时返回 null
+     */
+    public List<Long> searchIds(String keyword) {
+        return StringUtils.isNotBlank(keyword) ? contentSearchIndex.searchIds(type, keyword) : null;
+    }
+
+    /**
+     * 按全文索引的相关度分页，只回表查询当前页的记录：
+     * 没有其他筛选条件时在索引中取当前页ID，总数为索引命中数；
+     * 带其他筛选条件时先查出满足筛选的命中ID（命中数不超过上限），再在内存中按相关度分页。
+     * 没有关键词、索引不可用或命中数超过上限时返回 null，调用方回退到 LIKE 查询
+     *
+     * @param filters 除关键词外的筛选条件（不含排序和列选择）
+     */
+    public Page<E> searchPage(String keyword, LambdaQueryWrapper<E> filters, Page<E> page) {
+        if (StringUtils.isBlank(keyword)) {
+            return null;
+        }
+        List<Long> pageIds;
+        if (!filters.nonEmptyOfWhere()) {
+            ContentSearchIndex.IdPage idPage = contentSearchIndex.searchPage(type, keyword, page.offset(), (int) page.getSize());
+            if (idPage == null) {
+                return null;
+            }
+            pageIds = idPage.getIds();
+            page.setTotal(idPage.getTotal());
+        } else {
+            List<Long> matchedIds = searchIds(keyword);
+            if (matchedIds == null) {
+                return null;
+            }
+            List<Long> filteredIds = filterMatchedIds(filters, matchedIds);
+            pageIds = filteredIds.stream()
+                    .skip(page.offset())
+                    .limit(page.getSize())
+                    .collect(Collectors.toList());
+            page.setTotal(filteredIds.size());
+        }
+        if (pageIds.isEmpty()) {
+            page.setRecords(Collections.emptyList());
+        } else {
+            LambdaQueryWrapper<E> queryWrapper = listColumns.apply(new LambdaQueryWrapper<E>().in(idColumn, pageIds));
+            page.setRecords(ContentSearchIndex.orderByIds(mapper.selectList(queryWrapper), pageIds, idColumn));
+        }
+        return page;
+    }
+
+    /**
+     * 只有关键词（没有其他筛选条件）时直接取索引的精确命中数；否则返回 null，由 SQL 计数
+     *
+     * @param filters 除关键词外的筛选条件
+     */
+    public Long countFromIndex(String keyword, LambdaQueryWrapper<E> filters) {
+        return StringUtils.isNotBlank(keyword) && !filters.nonEmptyOfWhere()
+                ? contentSearchIndex.count(type, keyword)
+                : null;
+    }
+
+    /**
+     * 保留满足其他筛选条件的命中ID（只查询ID列），保持相关度顺序
+     */
+    private List<Long> filterMatchedIds(LambdaQueryWrapper<E> filters, List<Long> matchedIds) {
+        if (matchedIds.isEmpty()) {
+            return matchedIds;
+        }
+        Set<Long> filteredIds = mapper.selectObjs(filters.in(idColumn, matchedIds).select(idColumn)).stream()
+                .map(id -> ((Number) id).longValue())
+                .collect(Collectors.toSet());
+        return matchedIds.stream()
+                .filter(filteredIds::contains)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,21 @@
+package com.eagleeye.service.search;
+
+import com.eagleeye.model.vo.SearchResultVO;
+
+import java.util.List;
+
+/**
+ * 统一检索服务
+ */
+public interface SearchService {
+
+    /**
+     * 跨政策、竞品动态、需求的统一检索
+     *
+     * @param keyword 关键词（至少两个字符）
+     * @param types 数据类型（policy / competitor / requirement），为空时检索全部类型
+     * @param limit 返回的命中数
+     * @return 检索结果；全文索引不可用时返回 null
+     */
+    SearchResultVO search(String keyword, List<String> types, Integer limit);
+}
@@ -0,0 +1,110 @@
+package com.eagleeye.service.search.impl;
+
+import com.eagleeye.model.vo.SearchHitVO;
+import com.eagleeye.model.vo.SearchResultVO;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.eagleeye.service.search.SearchService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import javax.annotation.Resource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 统一检索服务实现
+ * 排序、计数、标题高亮和摘要都基于全文索引中保存的字段，不查询数据库。
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    /**
+     * 摘要长度（字符），命中位置前保留四分之一的上下文
+     */
+    private static final int SNIPPET_LENGTH = 160;
+
+    private static final String HIGHLIGHT_OPEN = "<em>";
+    private static final String HIGHLIGHT_CLOSE = "</em>";
+
+    @Resource
+    private ContentSearchIndex contentSearchIndex;
+
+    @Override
+    public SearchResultVO search(String keyword, List<String> types, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        ContentSearchIndex.SearchHits result = contentSearchIndex.search(keyword, types, size);
+        if (result == null) {
+            return null;
+        }
+
+        String trimmed = keyword.trim();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        result.getCounts().forEach((type, count) -> counts.put(type, count.longValue()));
+
+        SearchResultVO vo = new SearchResultVO();
+        vo.setKeyword(trimmed);
+        vo.setCounts(counts);
+        vo.setTotal(counts.values().stream().mapToLong(Long::longValue).sum());
+        vo.setHits(result.getHits().stream().map(hit -> toHitVO(hit, trimmed)).collect(Collectors.toList()));
+        vo.setTookMillis(result.getTookMicros() / 1000D);
+        return vo;
+    }
+
+    private SearchHitVO toHitVO(ContentSearchIndex.Hit hit, String keyword) {
+        SearchHitVO vo = new SearchHitVO();
+        vo.setType(hit.getType());
+        vo.setId(hit.getId());
+        vo.setTitle(highlight(hit.getTitle() != null ? hit.getTitle() : "", keyword));
+        vo.setSnippet(snippet(hit.getContent(), keyword));
+        vo.setScore(hit.getScore());
+        return vo;
+    }
+
+    /**
+     * 截取正文中第一处命中附近的片段并高亮；正文未命中（只命中标题）时取开头
+     */
+    private static String snippet(String content, String keyword) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String text = content.replaceAll("\\s+", " ").trim();
+        int hit = indexOfIgnoreCase(text, keyword, 0);
+        int start = hit < 0 ? 0 : Math.max(0, hit - SNIPPET_LENGTH / 4);
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        if (hit >= 0 && end < hit + keyword.length()) {
+            end = Math.min(text.length(), hit + keyword.length());
+        }
+        return (start > 0 ? "…" : "") + highlight(text.substring(start, end), keyword) + (end < text.length() ? "…" : "");
+    }
+
+    /**
+     * HTML 转义并用 <em> 标记关键词（不区分大小写，与索引的匹配语义一致）
+     */
+    private static String highlight(String text, String keyword) {
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        int from = 0;
+        int hit;
+        while ((hit = indexOfIgnoreCase(text, keyword, from)) >= 0) {
+            result.append(HtmlUtils.htmlEscape(text.substring(from, hit)))
+                    .append(HIGHLIGHT_OPEN)
+                    .append(HtmlUtils.htmlEscape(text.substring(hit, hit + keyword.length())))
+                    .append(HIGHLIGHT_CLOSE);
+            from = hit + keyword.length();
+        }
+        return result.append(HtmlUtils.htmlEscape(text.substring(from))).toString();
+    }
+
+    private static int indexOfIgnoreCase(String text, String keyword, int from) {
+        for (int i = from, last = text.length() - keyword.length(); i <= last; i++) {
+            if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,181 @@
+package com.eagleeye.service.settings;
+
+import cn.hutool.crypto.SecureUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.eagleeye.model.entity.UserProduct;
+import com.eagleeye.repository.UserProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AI 分析的产品上下文提供者
+ * 按用户缓存产品列表序列化后的 JSON 及其哈希，政策 / 竞品分析共用；
+ * 批次分析在开始时获取一次快照并传给各篇文章，产品增删改后由 SettingsService 使缓存失效。
+ * 每个用户维护一个版本号，失效时递增；缓存条目记录加载前的版本，版本不一致的条目视为失效，
+ * 避免失效前开始加载的旧数据在失效之后写回缓存。
+ *
+ * @author eagleeye
+ */
+@Component
+public class ProductContextProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductContextProvider.class);
+
+    private final UserProductRepository userProductRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, CachedContext> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * userId -> 产品上下文版本号（每次失效递增）
+     */
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public ProductContextProvider(UserProductRepository userProductRepository, ObjectMapper objectMapper) {
+        this.userProductRepository = userProductRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 获取用户的产品上下文（首次访问时从数据库加载）
+     *
+     * @param userId 用户ID
+     * @return 产品上下文；加载失败时返回空上下文（不缓存，下次重新加载）
+     */
+    public ProductContext get(Long userId) {
+        if (userId == null) {
+            return ProductContext.EMPTY;
+        }
+        AtomicLong version = versionOf(userId);
+        long loadVersion = version.get();
+        CachedContext cached = contexts.get(userId);
+        if (cached != null && cached.version == loadVersion) {
+            return cached.context;
+        }
+        ProductContext context;
+        try {
+            context = load(userId);
+        } catch (Exception e) {
+            log.warn("获取用户产品列表失败: userId={}", userId, e);
+            return ProductContext.EMPTY;
+        }
+        // 加载期间被失效时不写入缓存；即使写入与失效交错，读取时版本不一致也不会使用该条目
+        if (version.get() == loadVersion) {
+            contexts.put(userId, new CachedContext(loadVersion, context));
+        }
+        return context;
+    }
+
+    /**
+     * 使用户的产品上下文失效；在事务中调用时，提交后再清除一次，避免并发请求在提交前重新加载到旧数据
+     *
+     * @param userId 用户ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+        log.debug("产品上下文已失效: userId={}", userId);
+    }
+
+    private void evict(Long userId) {
+        versionOf(userId).incrementAndGet();
+        contexts.remove(userId);
+    }
+
+    private AtomicLong versionOf(Long userId) {
+        return versions.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private ProductContext load(Long userId) throws Exception {
+        // 按 ID 排序，保证产品未变化时 JSON（以及分析结果缓存键）不变
+        List<UserProduct> products = userProductRepository.selectList(Wrappers.lambdaQuery(UserProduct.class)
+                .eq(UserProduct::getUserId, userId)
+                .orderByAsc(UserProduct::getId));
+        if (products.isEmpty()) {
+            log.debug("用户没有产品信息: userId={}", userId);
+            return ProductContext.EMPTY;
+        }
+
+        List<Map<String, String>> productList = new ArrayList<>();
+        for (UserProduct product : products) {
+            Map<String, String> productInfo = new LinkedHashMap<>();
+            productInfo.put("name", product.getName());
+            productInfo.put("type", product.getType());
+            productInfo.put("features", product.getFeatures());
+            productList.add(productInfo);
+        }
+        String json = objectMapper.writeValueAsString(productList);
+        log.debug("加载产品上下文: userId={}, 产品数={}", userId, products.size());
+        return new ProductContext(json, SecureUtil.sha256(json), products.size());
+    }
+
+    /**
+     * 缓存条目：产品上下文及加载前读取的版本号
+     */
+    private static final class CachedContext {
+        private final long version;
+        private final ProductContext context;
+
+        CachedContext(long version, ProductContext context) {
+            this.version = version;
+            this.context = context;
+        }
+    }
+
+    /**
+     * 产品上下文快照
+     */
+    public static final class ProductContext {
+
+        static final ProductContext EMPTY = new ProductContext(null, null, 0);
+
+        private final String json;
+        private final String hash;
+        private final int productCount;
+
+        ProductContext(String json, String hash, int productCount) {
+            this.json = json;
+            this.hash = hash;
+            this.productCount = productCount;
+        }
+
+        /**
+         * 产品列表 JSON（[{name, type, features}]），没有产品时为 null
+         */
+        public String getJson() {
+            return json;
+        }
+
+        /**
+         * 产品列表 JSON 的 SHA-256，没有产品时为 null
+         */
+        public String getHash() {
+            return hash;
+        }
+
+        public int getProductCount() {
+            return productCount;
+        }
+    }
+}
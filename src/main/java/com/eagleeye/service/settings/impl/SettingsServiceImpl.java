@@ -12,6 +12,7 @@ import com.eagleeye.model.vo.SettingsDataVO;
 import com.eagleeye.model.vo.SourceVO;
 import com.eagleeye.repository.UserProductRepository;
 import com.eagleeye.repository.UserSettingsRepository;
+import com.eagleeye.service.settings.ProductContextProvider;
 import com.eagleeye.service.settings.SettingsService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,6 +41,9 @@ public class SettingsServiceImpl implements SettingsService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductContextProvider productContextProvider;
+
     @Override
     public SettingsDataVO getSettingsData(Long userId) {
         SettingsDataVO settingsDataVO = new SettingsDataVO();
@@ -125,6 +129,7 @@ public class SettingsServiceImpl implements SettingsService {
         userProduct.setIsDeleted(false);
 
         userProductRepository.insert(userProduct);
+        productContextProvider.invalidate(userId);
 
         ProductVO productVO = new ProductVO();
         BeanUtils.copyProperties(userProduct, productVO);
@@ -150,7 +155,9 @@ public class SettingsServiceImpl implements SettingsService {
         BeanUtils.copyProperties(productDTO, userProduct);
         userProduct.setUpdateTime(LocalDateTime.now());
 
-        return userProductRepository.updateById(userProduct) > 0;
+        boolean updated = userProductRepository.updateById(userProduct) > 0;
+        productContextProvider.invalidate(userId);
+        return updated;
     }
 
     @Override
@@ -165,7 +172,9 @@ public class SettingsServiceImpl implements SettingsService {
         userProduct.setIsDeleted(true);
         userProduct.setUpdateTime(LocalDateTime.now());
 
-        return userProductRepository.updateById(userProduct) > 0;
+        boolean deleted = userProductRepository.updateById(userProduct) > 0;
+        productContextProvider.invalidate(userId);
+        return deleted;
     }
 
     @Override
@@ -0,0 +1,6 @@
+-- 爬虫配置执行优先级
+-- 用于爬虫任务执行器的优先级队列排序（数值越大越先执行）
+-- 日期: 2026-10-18
+
+ALTER TABLE `crawler_config`
+ADD COLUMN `priority` int NOT NULL DEFAULT 0 COMMENT '执行优先级 (数值越大越先执行)' AFTER `trigger_schedule`;
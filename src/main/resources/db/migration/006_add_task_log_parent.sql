@@ -0,0 +1,7 @@
+-- 多 URL 爬虫任务拆分
+-- 一个配置的每个 sourceUrl 拆分为独立子任务，父任务汇总 article_count / category_stats
+-- 日期: 2026-10-18
+
+ALTER TABLE `crawler_task_log`
+ADD COLUMN `parent_log_id` bigint DEFAULT NULL COMMENT '父任务日志ID (多 URL 拆分出的子任务指向父任务，顶层任务为空)' AFTER `config_id`,
+ADD INDEX `idx_parent_log_id` (`parent_log_id`);
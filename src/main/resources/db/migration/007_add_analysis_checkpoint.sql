@@ -0,0 +1,17 @@
+-- 批次分析断点表
+-- 每篇文章在独立的短事务中入库，并同时写入一条断点记录；中断或失败的批次续跑时只分析未完成的文章
+-- 断点属于过程数据，重新分析时直接物理删除，不使用逻辑删除
+-- 日期: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS `analysis_checkpoint` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `task_log_id` bigint NOT NULL COMMENT '爬虫任务日志ID',
+  `category` varchar(32) NOT NULL COMMENT '文章分类: policy|competitor',
+  `article_key` varchar(512) NOT NULL COMMENT '文章标识（文章 URL，无 URL 时为文件路径）',
+  `status` varchar(16) NOT NULL COMMENT '处理状态: completed|failed',
+  `error_message` varchar(512) DEFAULT NULL COMMENT '失败原因',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_task_category_article` (`task_log_id`, `category`, `article_key`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='批次分析断点表';
@@ -0,0 +1,18 @@
+-- AI 分析结果缓存表
+-- 以 SHA-256(分析器 + 分析器版本 + Markdown 内容 + 产品上下文 JSON) 为键缓存 proxy-service 的分析结果，
+-- 内容和产品上下文都未变化时再次分析直接命中缓存，不再调用 AI；修改分析器版本号即可让旧缓存整体失效
+-- 缓存属于可再生数据，直接物理删除，不使用逻辑删除
+-- 日期: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS `analysis_result_cache` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `cache_key` char(64) NOT NULL COMMENT '缓存键（SHA-256 十六进制）',
+  `analyzer` varchar(32) NOT NULL COMMENT '分析器: policy|competitor',
+  `analyzer_version` varchar(32) NOT NULL COMMENT '分析器版本',
+  `result_json` mediumtext NOT NULL COMMENT '分析结果 JSON',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_cache_key` (`cache_key`),
+  KEY `idx_analyzer_version` (`analyzer`, `analyzer_version`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='AI 分析结果缓存表';
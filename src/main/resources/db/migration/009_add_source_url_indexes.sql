@@ -0,0 +1,10 @@
+-- 原文链接索引
+-- 批次分析按 URL 集合做存在性探测（policy_info.source_url IN (...)）和再分析前的批量删除
+-- （competitor_source.url IN (...)），没有索引时每条 IN 查询都是全表扫描
+-- 日期: 2026-10-18
+
+ALTER TABLE `policy_info`
+ADD KEY `idx_source_url` (`source_url`);
+
+ALTER TABLE `competitor_source`
+ADD KEY `idx_url` (`url`);
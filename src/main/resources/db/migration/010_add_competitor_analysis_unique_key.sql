@@ -0,0 +1,14 @@
+-- 竞品分析唯一键
+-- 竞品分析结果按 (competitor_id, sort_order) 自然键写入：INSERT ... ON DUPLICATE KEY UPDATE，
+-- 替代原来的“先查询再更新或插入”
+-- 日期: 2026-10-18
+
+-- 清理重复记录：同一竞品同一排序只保留一条（优先保留未删除的记录，其次保留最新的记录）
+DELETE a FROM `competitor_analysis` a
+JOIN `competitor_analysis` b
+  ON a.`competitor_id` = b.`competitor_id`
+ AND a.`sort_order` <=> b.`sort_order`
+ AND (a.`is_deleted` > b.`is_deleted` OR (a.`is_deleted` = b.`is_deleted` AND a.`id` < b.`id`));
+
+ALTER TABLE `competitor_analysis`
+ADD UNIQUE KEY `uk_competitor_sort` (`competitor_id`, `sort_order`);
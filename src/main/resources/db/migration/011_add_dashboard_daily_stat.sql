@@ -0,0 +1,23 @@
+-- 仪表盘按日汇总表
+-- 按 实体 + 维度 + 维度值 + 日期 记录未删除的记录数，仪表盘分布和趋势只读取该表，不再扫描明细表：
+--   policy      : policy_type / source / importance，日期取 publish_time
+--   competitor  : company / type，日期取 capture_time
+--   requirement : priority / status / source_type，日期取 create_time
+--   每个实体另有 dimension = 'total' 的合计行（维度值为空串）
+-- 写入路径在同一事务内增减计数；重建任务可按明细表整体重新计算
+-- 维度值为 NULL 时记为空串，日期为 NULL 时记为 1000-01-01
+-- 汇总属于可再生数据，重建时直接物理删除，不使用逻辑删除
+-- 日期: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS `dashboard_daily_stat` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `entity` varchar(32) NOT NULL COMMENT '实体: policy|competitor|requirement',
+  `dimension` varchar(32) NOT NULL COMMENT '维度: total|policy_type|source|importance|company|type|priority|status|source_type',
+  `dim_value` varchar(255) NOT NULL DEFAULT '' COMMENT '维度值（NULL 记为空串）',
+  `stat_date` date NOT NULL COMMENT '统计日期（NULL 记为 1000-01-01）',
+  `cnt` int NOT NULL DEFAULT 0 COMMENT '记录数',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_entity_dimension_value_date` (`entity`, `dimension`, `dim_value`, `stat_date`),
+  KEY `idx_entity_dimension_date` (`entity`, `dimension`, `stat_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='仪表盘按日汇总表';
@@ -0,0 +1,16 @@
+-- 游标分页索引
+-- 列表的游标分页按 (排序时间 DESC, 主键 DESC) 定位下一页，索引以逻辑删除标记开头、排序时间结尾
+-- （InnoDB 二级索引隐含主键列），翻页时按索引倒序扫描并在取满一页后停止，代价与页码无关：
+--   policy_info      : publish_time
+--   competitor_info  : capture_time
+--   crawler_task_log : 只列出顶层任务（parent_log_id IS NULL），按 end_time
+-- 日期: 2026-10-18
+
+ALTER TABLE `policy_info`
+ADD KEY `idx_deleted_publish_time` (`is_deleted`, `publish_time`);
+
+ALTER TABLE `competitor_info`
+ADD KEY `idx_deleted_capture_time` (`is_deleted`, `capture_time`);
+
+ALTER TABLE `crawler_task_log`
+ADD KEY `idx_parent_deleted_end_time` (`parent_log_id`, `is_deleted`, `end_time`);
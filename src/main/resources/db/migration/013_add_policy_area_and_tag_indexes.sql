@@ -0,0 +1,49 @@
+-- 相关领域 / 标签规范化存储
+-- policy_info.areas 和 competitor_info.tags 是 JSON 数组，按 LIKE 筛选和统计时每次都要扫描整张明细表：
+--   policy_area   : 政策相关领域，每个政策每个领域一行，由政策分析入库 / 删除路径维护
+--   competitor_tag: 竞品标签表已由竞品分析入库路径维护，补充按标签查询的索引，并补齐缺失的历史标签
+-- 列表按领域 / 标签筛选和分面计数只读取这两张表的索引（is_deleted, 值, 记录ID）
+-- 日期: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS `policy_area` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `policy_id` bigint NOT NULL COMMENT '政策ID',
+  `area` varchar(64) NOT NULL COMMENT '相关领域',
+  `is_deleted` tinyint(1) NOT NULL DEFAULT '0' COMMENT '是否删除：0-未删除，1-已删除',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_policy_id` (`policy_id`),
+  KEY `idx_deleted_area_policy` (`is_deleted`, `area`, `policy_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='政策相关领域表';
+
+-- 按现有政策的 areas JSON 回填（跳过非法 JSON，避免 JSON_TABLE 报错中断迁移）
+INSERT INTO `policy_area` (`policy_id`, `area`)
+SELECT DISTINCT p.`id`, LEFT(j.`area`, 64)
+FROM `policy_info` p,
+     JSON_TABLE(p.`areas`, '$[*]' COLUMNS (`area` varchar(255) PATH '$')) j
+WHERE p.`is_deleted` = 0
+  AND p.`areas` IS NOT NULL
+  AND JSON_VALID(p.`areas`)
+  AND j.`area` IS NOT NULL
+  AND j.`area` <> '';
+
+ALTER TABLE `competitor_tag`
+ADD KEY `idx_deleted_label_competitor` (`is_deleted`, `label`, `competitor_id`);
+
+-- 按现有竞品的 tags JSON 补齐标签表，已存在的 (competitor_id, label) 不重复写入
+INSERT INTO `competitor_tag` (`competitor_id`, `label`)
+SELECT DISTINCT c.`id`, LEFT(j.`label`, 64)
+FROM `competitor_info` c,
+     JSON_TABLE(c.`tags`, '$[*]' COLUMNS (`label` varchar(255) PATH '$')) j
+WHERE c.`is_deleted` = 0
+  AND c.`tags` IS NOT NULL
+  AND JSON_VALID(c.`tags`)
+  AND j.`label` IS NOT NULL
+  AND j.`label` <> ''
+  AND NOT EXISTS (
+    SELECT 1 FROM `competitor_tag` t
+    WHERE t.`competitor_id` = c.`id`
+      AND t.`label` = LEFT(j.`label`, 64)
+      AND t.`is_deleted` = 0
+  );
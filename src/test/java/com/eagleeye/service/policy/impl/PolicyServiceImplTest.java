@@ -0,0 +1,145 @@
+package com.eagleeye.service.policy.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.eagleeye.common.api.CommonPage;
+import com.eagleeye.model.dto.PolicyQueryDTO;
+import com.eagleeye.model.entity.PolicyAnalysis;
+import com.eagleeye.model.entity.PolicyInfo;
+import com.eagleeye.model.entity.PolicySuggestion;
+import com.eagleeye.model.vo.PolicyVO;
+import com.eagleeye.repository.PolicyAnalysisRepository;
+import com.eagleeye.repository.PolicyAreaRepository;
+import com.eagleeye.repository.PolicyRepository;
+import com.eagleeye.repository.PolicySuggestionRepository;
+import com.eagleeye.service.requirement.RequirementService;
+import com.eagleeye.service.search.ContentSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 政策列表查询次数测试：每页条数变化时，列表只执行一次分页查询，分析和建议各一次批量查询
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyServiceImplTest {
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private PolicyAnalysisRepository policyAnalysisRepository;
+
+    @Mock
+    private PolicySuggestionRepository policySuggestionRepository;
+
+    @Mock
+    private PolicyAreaRepository policyAreaRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private RequirementService requirementService;
+
+    @Mock
+    private ContentSearchIndex contentSearchIndex;
+
+    @InjectMocks
+    private PolicyServiceImpl policyService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 解析列名依赖实体的表信息，单元测试中没有 MyBatis-Plus 启动流程，手动注册
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, PolicyInfo.class);
+        TableInfoHelper.initTableInfo(assistant, PolicyAnalysis.class);
+        TableInfoHelper.initTableInfo(assistant, PolicySuggestion.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50})
+    void listPoliciesRunsFixedNumberOfQueriesPerPage(int pageSize) {
+        List<PolicyInfo> policies = policies(pageSize);
+        when(policyRepository.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<PolicyInfo> page = invocation.getArgument(0);
+            page.setRecords(policies);
+            page.setTotal(100);
+            return page;
+        });
+        when(policyAnalysisRepository.selectList(any())).thenReturn(analyses(policies));
+        when(policySuggestionRepository.selectList(any())).thenReturn(suggestions(policies));
+
+        PolicyQueryDTO queryDTO = new PolicyQueryDTO();
+        queryDTO.setPageNum(1);
+        queryDTO.setPageSize(pageSize);
+        CommonPage<PolicyVO> result = policyService.listPolicies(queryDTO);
+
+        assertEquals(pageSize, result.getList().size());
+        assertEquals(100L, result.getTotal());
+        for (PolicyVO policyVO : result.getList()) {
+            assertEquals("摘要" + policyVO.getId(), policyVO.getSummary());
+            assertEquals(2, policyVO.getSuggestions().size());
+        }
+
+        verify(policyRepository, times(1)).selectPage(any(), any());
+        verify(policyAnalysisRepository, times(1)).selectList(any());
+        verify(policySuggestionRepository, times(1)).selectList(any());
+        verifyNoMoreInteractions(policyRepository, policyAnalysisRepository, policySuggestionRepository);
+    }
+
+    private static List<PolicyInfo> policies(int count) {
+        List<PolicyInfo> policies = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            PolicyInfo policyInfo = new PolicyInfo();
+            policyInfo.setId(id);
+            policyInfo.setTitle("政策" + id);
+            policies.add(policyInfo);
+        }
+        return policies;
+    }
+
+    private static List<PolicyAnalysis> analyses(List<PolicyInfo> policies) {
+        List<PolicyAnalysis> analyses = new ArrayList<>();
+        for (PolicyInfo policyInfo : policies) {
+            PolicyAnalysis analysis = new PolicyAnalysis();
+            analysis.setId(policyInfo.getId());
+            analysis.setPolicyId(policyInfo.getId());
+            analysis.setSummary("摘要" + policyInfo.getId());
+            analyses.add(analysis);
+        }
+        return analyses;
+    }
+
+    private static List<PolicySuggestion> suggestions(List<PolicyInfo> policies) {
+        List<PolicySuggestion> suggestions = new ArrayList<>();
+        long id = 1;
+        for (PolicyInfo policyInfo : policies) {
+            for (int i = 0; i < 2; i++) {
+                PolicySuggestion suggestion = new PolicySuggestion();
+                suggestion.setId(id++);
+                suggestion.setPolicyId(policyInfo.getId());
+                suggestion.setSuggestion("建议" + i);
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+}